@@ -0,0 +1,109 @@
+package chungus.bench;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.Todo;
+import chungus.storage.TaskCodec;
+
+/**
+ * Generates synthetic task lists and data files for the benchmarks. Output is
+ * deterministic for a given size, so results are comparable between runs.
+ * Descriptions are drawn from a small vocabulary plus a per-task number, which
+ * gives {@code find} a mix of very common, rare and unique keywords.
+ *
+ * <p>Run directly to write a data file, e.g. through
+ * {@code ./gradlew generateTaskFile -Pout=tasks.txt -Pcount=100000}; a
+ * {@code .bin} output name selects the binary format.
+ */
+public final class TaskFileGenerator {
+    /** Fixed seed so that every run generates the same tasks. */
+    public static final long SEED = 42L;
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "buy", "groceries", "meeting", "project", "report", "call", "email",
+        "budget", "review", "gym", "dinner", "laundry", "dentist", "assignment", "lecture", "tutorial", "exam"
+    };
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+    private static final int DATE_SPREAD_DAYS = 730;
+    private static final int MAX_EVENT_DAYS = 5;
+
+    private TaskFileGenerator() {}
+
+    /**
+     * Generates tasks in memory, cycling through todos, deadlines and events.
+     *
+     * @param count number of tasks
+     * @return generated tasks
+     */
+    public static ArrayList<Task> tasks(int count) {
+        Random random = new Random(SEED);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(i, random));
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a data file with the given number of tasks, in the format
+     * {@link TaskCodec#forPath(String)} picks for the file name.
+     *
+     * @param file  file to create or overwrite
+     * @param count number of tasks
+     * @throws IOException if writing fails
+     */
+    public static void writeFile(Path file, int count) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            TaskCodec.forPath(file.toString()).write(tasks(count), out);
+        }
+    }
+
+    /**
+     * Writes a data file; see the class comment for the arguments.
+     *
+     * @param args output file and task count
+     * @throws IOException if writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TaskFileGenerator <output-file> <task-count>");
+            System.exit(1);
+        }
+        writeFile(Paths.get(args[0]), Integer.parseInt(args[1]));
+    }
+
+    private static Task task(int i, Random random) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " item" + i;
+        LocalDate date = BASE_DATE.plusDays(random.nextInt(DATE_SPREAD_DAYS));
+        Task task;
+        switch (i % 3) {
+        case 0:
+            task = new Todo(description);
+            break;
+        case 1:
+            task = new Deadline(description, date);
+            break;
+        default:
+            task = new Event(description, date, date.plusDays(random.nextInt(MAX_EVENT_DAYS)));
+            break;
+        }
+        if (random.nextInt(4) == 0) {
+            task.markAsDone();
+        }
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        return task;
+    }
+}
@@ -0,0 +1,57 @@
+package chungus.common;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link DateParser} with the previous approach of building three
+ * formatters per call and trying each until one does not throw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateParserBenchmark {
+    @Param({"2025-12-31", "31/12/2025", "31-12-2025", "tomorrow"})
+    private String input;
+
+    @Benchmark
+    public LocalDate dateParser() {
+        return DateParser.parse(input);
+    }
+
+    /**
+     * Parses the way Deadline and Event did before DateParser existed.
+     */
+    @Benchmark
+    public LocalDate formattersPerCall() {
+        String trimmed = input.trim();
+        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
+                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+                DateTimeFormatter.ofPattern("d/M/yyyy"),
+                DateTimeFormatter.ofPattern("d-M-yyyy")
+        };
+        for (DateTimeFormatter f : formatters) {
+            try {
+                return LocalDate.parse(trimmed, f);
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String formatDisplay() {
+        return DateParser.formatDisplay(LocalDate.of(2025, 12, 31));
+    }
+}
@@ -0,0 +1,56 @@
+package chungus.logic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures recognising the command word of one input line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandDispatchBenchmark {
+    /** Inputs that hit early, late and no command in declaration order, plus an alias and a prefix. */
+    @Param({"list", "mark 12", "bye", "export tasks.bin", "not a command at all", "dl report /by 2025-12-31",
+        "dead report /by 2025-12-31"})
+    private String commandInput;
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public CommandType fromInput() {
+        return CommandType.fromInput(commandInput);
+    }
+
+    /**
+     * Resolves the command the way {@code CommandType.fromInput} did before
+     * {@link CommandDispatcher}: trim, then two scans over every constant.
+     */
+    @Benchmark
+    public CommandType fromInputLinearScan() {
+        String trimmedInput = commandInput.trim();
+        for (CommandType cmd : CommandType.values()) {
+            if (trimmedInput.equals(cmd.getCommand())) {
+                return cmd;
+            }
+        }
+        for (CommandType cmd : CommandType.values()) {
+            if (trimmedInput.startsWith(cmd.getCommand() + " ")) {
+                return cmd;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public CommandType parseCommandType() {
+        return parser.parseCommandType(commandInput);
+    }
+}
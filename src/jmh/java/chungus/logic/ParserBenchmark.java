@@ -0,0 +1,34 @@
+package chungus.logic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import chungus.common.ChungusException;
+
+/**
+ * Measures parsing a whole input line into a command; see
+ * {@link CommandDispatchBenchmark} for recognising the command word alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    /** One line per kind of argument: text, dates, a task number, a range and a priority. */
+    @Param({"todo read book", "deadline return book /by 2025-12-31",
+        "event project meeting /from 2025-01-01 /to 2025-01-03", "mark 12", "delete 5-900", "priority 3 high"})
+    private String line;
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public Command parse() throws ChungusException {
+        return parser.parse(line);
+    }
+}
@@ -0,0 +1,116 @@
+package chungus.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import chungus.bench.TaskFileGenerator;
+
+/**
+ * Measures reads of a {@link TaskList} while one thread keeps changing it,
+ * as the GUI, a background save and the command worker would. Each group
+ * pairs a writer that marks and unmarks tasks with three readers doing one
+ * kind of read; compare a group's reader score with the same read in the
+ * {@code *Alone} groups, which have no writer. Marking does not invalidate
+ * the shared snapshot, so the snapshot writer instead removes and re-adds
+ * the last task, forcing a fresh copy after every change.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListContentionBenchmark {
+    @Param({"10000", "100000"})
+    private int size;
+
+    private TaskList tasks;
+    private int next;
+
+    /**
+     * Builds the list and runs one filter so that the attribute index is in place.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tasks = new TaskList(TaskFileGenerator.tasks(size));
+        tasks.filter(TaskStatus.DONE, Priority.HIGH);
+        next = 0;
+    }
+
+    @Benchmark
+    @Group("get")
+    @GroupThreads(1)
+    public void getWriter() {
+        toggleNext();
+    }
+
+    @Benchmark
+    @Group("get")
+    @GroupThreads(3)
+    public Task getReader() {
+        return randomTask();
+    }
+
+    @Benchmark
+    @Group("getAlone")
+    @GroupThreads(3)
+    public Task getReaderAlone() {
+        return randomTask();
+    }
+
+    @Benchmark
+    @Group("filter")
+    @GroupThreads(1)
+    public void filterWriter() {
+        toggleNext();
+    }
+
+    @Benchmark
+    @Group("filter")
+    @GroupThreads(3)
+    public ArrayList<Task> filterReader() {
+        return tasks.filter(TaskStatus.DONE, Priority.HIGH);
+    }
+
+    @Benchmark
+    @Group("filterAlone")
+    @GroupThreads(3)
+    public ArrayList<Task> filterReaderAlone() {
+        return tasks.filter(TaskStatus.DONE, Priority.HIGH);
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotWriter() {
+        tasks.add(tasks.remove(size - 1));
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(3)
+    public List<Task> snapshotReader() {
+        return tasks.snapshot();
+    }
+
+    private void toggleNext() {
+        int index = next;
+        next = next + 1 == size ? 0 : next + 1;
+        tasks.setDone(index, !tasks.get(index).isDone());
+    }
+
+    private Task randomTask() {
+        return tasks.get(ThreadLocalRandom.current().nextInt(size));
+    }
+}
@@ -0,0 +1,46 @@
+package chungus.model;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import chungus.bench.TaskFileGenerator;
+
+/**
+ * Measures {@link TaskList#findByKeyword(String)} for keywords of different
+ * selectivity: unique, rare, common, absent and too short for the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListFindBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"item1234", "item99", "budget", "xyz", "re"})
+    private String keyword;
+
+    private TaskList tasks;
+
+    /**
+     * Builds the list and runs one search so that the keyword index is in place.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(TaskFileGenerator.tasks(size));
+        tasks.findByKeyword(keyword);
+    }
+
+    @Benchmark
+    public ArrayList<Task> findByKeyword() {
+        return tasks.findByKeyword(keyword);
+    }
+}
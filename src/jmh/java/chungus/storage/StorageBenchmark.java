@@ -0,0 +1,100 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import chungus.bench.TaskFileGenerator;
+import chungus.model.Task;
+import chungus.model.TaskList;
+
+/**
+ * Measures {@link Storage#load()} and {@link Storage#save(java.util.List)} for data
+ * files of different sizes in each snapshot format, and the cost of recording a
+ * single change, including the compactions it eventually triggers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int lines;
+
+    @Param({"txt", "bin", "db"})
+    private String format;
+
+    private Path dir;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private ArrayList<Task> tasks;
+    private Storage markStorage;
+    private long[] markedId;
+    private boolean done;
+
+    /**
+     * Writes a synthetic data file to load and generates the tasks to save.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("chungus-bench-");
+        Path loadFile = dir.resolve("load." + format);
+        TaskFileGenerator.writeFile(loadFile, lines);
+        loadStorage = new Storage(loadFile.toString());
+        saveStorage = new Storage(dir.resolve("save." + format).toString());
+        tasks = TaskFileGenerator.tasks(lines);
+        TaskList.assignIds(tasks);
+        markStorage = new Storage(dir.resolve("mark." + format).toString());
+        markStorage.save(tasks);
+        markedId = new long[] {tasks.get(tasks.size() / 2).getId()};
+    }
+
+    /**
+     * Removes the benchmark directory and everything written into it.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public ArrayList<Task> load() throws IOException {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        saveStorage.save(tasks);
+    }
+
+    /**
+     * Toggles one task the way {@code mark} and {@code unmark} record it,
+     * compacting when the storage asks to.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void markOne() throws IOException {
+        done = !done;
+        markStorage.appendMark(markedId, done);
+        if (markStorage.needsCompaction()) {
+            markStorage.save(tasks);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package chungus.ui;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import chungus.bench.TaskFileGenerator;
+import chungus.logic.CommandResult;
+import chungus.model.TaskList;
+
+/**
+ * Measures rendering the full task list as the GUI's text and as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UiRenderBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private final ResultRenderer text = new TextRenderer();
+    private final ResultRenderer json = new JsonRenderer();
+    private CommandResult listing;
+
+    @Setup
+    public void setUp() {
+        TaskList tasks = new TaskList(TaskFileGenerator.tasks(size));
+        listing = new CommandResult.Listing(tasks, 0, tasks.size());
+    }
+
+    @Benchmark
+    public String renderText() {
+        return text.render(listing);
+    }
+
+    @Benchmark
+    public String renderJson() {
+        return json.render(listing);
+    }
+}
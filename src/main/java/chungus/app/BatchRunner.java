@@ -0,0 +1,116 @@
+package chungus.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import chungus.logic.CommandExecutor;
+import chungus.logic.CommandResult;
+import chungus.logic.CommandType;
+import chungus.logic.Parser;
+import chungus.model.TaskList;
+import chungus.storage.Storage;
+import chungus.ui.ResultRenderer;
+
+/**
+ * Runs a script of commands, one per line, without the interactive banners.
+ * Changes are not journalled one by one; the task list is saved once at the
+ * end of the script, and additionally every {@code checkpointInterval}
+ * commands if one is set. A {@code bye} line ends the script early.
+ */
+public class BatchRunner {
+    private final TaskList tasks;
+    private final CommandExecutor executor;
+    private final ResultRenderer renderer;
+    private final boolean quiet;
+    private final int checkpointInterval;
+
+    /**
+     * Creates a runner over the given task list and storage.
+     *
+     * @param tasks              task list loaded from {@code storage}
+     * @param storage            storage saved at checkpoints and at the end
+     * @param renderer           renderer for each command's result
+     * @param quiet              true to print only failed commands
+     * @param checkpointInterval commands between saves, or 0 to save only at the end
+     * @param warnings           receives storage failures
+     */
+    public BatchRunner(TaskList tasks, Storage storage, ResultRenderer renderer, boolean quiet,
+            int checkpointInterval, Consumer<String> warnings) {
+        assert checkpointInterval >= 0 : "checkpoint interval must not be negative";
+        this.tasks = tasks;
+        this.executor = new CommandExecutor(tasks, storage, new Parser(), warnings);
+        this.executor.setJournalling(false);
+        this.renderer = renderer;
+        this.quiet = quiet;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Executes every command read from {@code in} and writes the results to
+     * {@code out}, one per line. Blank lines are skipped.
+     *
+     * @param in  script to run
+     * @param out destination for results; flushed at checkpoints and at the end
+     * @return counts and timing for the run
+     * @throws IOException if reading the script or writing results fails
+     */
+    public Summary run(BufferedReader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+        int commands = 0;
+        int failures = 0;
+        String line = in.readLine();
+        while (line != null && !isExit(line)) {
+            if (!line.isBlank()) {
+                CommandResult result = executor.execute(line);
+                commands++;
+                boolean failed = result instanceof CommandResult.Failure;
+                if (failed) {
+                    failures++;
+                }
+                if (failed || !quiet) {
+                    renderer.render(result, out);
+                    out.write(System.lineSeparator());
+                }
+                if (checkpointInterval > 0 && commands % checkpointInterval == 0) {
+                    out.flush();
+                    executor.save();
+                }
+            }
+            line = in.readLine();
+        }
+        executor.save();
+        out.flush();
+        return new Summary(commands, failures, tasks.size(), System.nanoTime() - start);
+    }
+
+    private static boolean isExit(String line) {
+        return line.trim().equals(CommandType.BYE.getCommand());
+    }
+
+    /**
+     * Outcome of a batch run.
+     *
+     * @param commands     commands executed, excluding blank lines
+     * @param failures     commands that failed
+     * @param tasks        tasks in the list afterwards
+     * @param elapsedNanos time spent running the script and saving
+     */
+    public record Summary(int commands, int failures, int tasks, long elapsedNanos) {
+        /**
+         * Returns the number of commands executed per second.
+         *
+         * @return throughput, or 0 if no time elapsed
+         */
+        public long commandsPerSecond() {
+            return elapsedNanos > 0 ? (long) (commands * 1e9 / elapsedNanos) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Ran %d commands (%d failed) in %d ms, %d commands/s. %d tasks saved.",
+                    commands, failures, elapsedNanos / 1_000_000, commandsPerSecond(), tasks);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package chungus.app;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import chungus.common.ChungusException;
 import chungus.common.Constants;
+import chungus.logic.CommandExecutor;
 import chungus.logic.CommandType;
 import chungus.logic.Parser;
-import chungus.model.Deadline;
-import chungus.model.Event;
-import chungus.model.Priority;
-import chungus.model.Task;
 import chungus.model.TaskList;
-import chungus.model.Todo;
+import chungus.storage.AutoSaver;
 import chungus.storage.Storage;
+import chungus.ui.JsonRenderer;
+import chungus.ui.ResultRenderer;
+import chungus.ui.TextRenderer;
 import chungus.ui.Ui;
 
 /**
@@ -21,10 +30,21 @@ import chungus.ui.Ui;
  */
 
 public class Chungus {
+    private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     private final Ui ui;
     private final Storage storage;
-    private final Parser parser;
+    private final CommandExecutor executor;
+    private final ResultRenderer guiRenderer = new TextRenderer();
+    /** Runs GUI commands one at a time, in the order they were submitted; its thread starts on first use. */
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread worker = new Thread(runnable, "chungus-commands");
+        worker.setDaemon(true);
+        return worker;
+    });
     private TaskList tasks;
+    private AutoSaver autoSaver;
 
     /**
      * Creates a new Chungus application instance and loads tasks from storage.
@@ -34,17 +54,16 @@ public class Chungus {
     public Chungus(String filePath) {
         assert filePath != null && !filePath.trim().isEmpty() : "filePath must be non-empty";
         this.ui = new Ui();
-        this.parser = new Parser();
         this.storage = new Storage(filePath);
         try {
-            this.tasks = new TaskList(storage.load());
+            this.tasks = new TaskList(storage.load(), storage.getNextId());
             ui.showTasksLoaded();
         } catch (IOException e) {
             ui.showLoadingError();
             this.tasks = new TaskList();
         }
+        this.executor = new CommandExecutor(tasks, storage, new Parser(), ui::showError);
         assert this.ui != null : "Ui must be initialized";
-        assert this.parser != null : "Parser must be initialized";
         assert this.storage != null : "Storage must be initialized";
         assert this.tasks != null : "TaskList must be initialized";
     }
@@ -61,190 +80,55 @@ public class Chungus {
                 input = ui.readCommand();
                 continue;
             }
-            try {
-                CommandType command = parser.parseCommandType(input);
-                if (command == null) {
-                    throw new ChungusException(Constants.MSG_UNKNOWN);
-                }
-                processCommand(command, input);
-            } catch (ChungusException e) {
-                ui.showError(e.getMessage());
-            } catch (Exception e) {
-                ui.showError("Something went wrong: " + e.getMessage());
-            }
+            ui.show(executor.execute(input));
             input = ui.readCommand();
         }
-        saveTasksToStorage();
+        save();
         ui.showBye();
         ui.close();
     }
 
     /**
-     * Persists the current task list to storage, showing an error via UI on
-     * failure.
+     * Starts saving snapshots in the background, so commands only append to
+     * the journal and never wait for a full write. Pending changes are also
+     * saved on {@code bye}, on {@link #shutdown()} and when the JVM exits.
      */
-    private void saveTasksToStorage() {
-        try {
-            storage.save(tasks.asArrayList());
-        } catch (IOException e) {
-            ui.showError("Warning: Could not save tasks to storage: " + e.getMessage());
+    public void startAutoSave() {
+        if (autoSaver != null) {
+            return;
         }
-        assert tasks != null : "tasks should remain initialized after save";
+        autoSaver = new AutoSaver(tasks, storage, Constants.AUTOSAVE_INTERVAL_MILLIS, ui::showError);
+        executor.setCompactingInline(false);
+        autoSaver.start();
     }
 
     /**
-     * Dispatches a parsed command to the appropriate handler.
-     *
-     * @param command Parsed command type.
-     * @param input   Raw user input.
-     * @throws ChungusException if validation fails or the command is invalid.
+     * Lets queued commands finish, then saves any pending changes and stops
+     * the background saver. Call when the app closes, with or without {@code bye}.
      */
-    private void processCommand(CommandType command, String input) throws ChungusException {
-        switch (command) {
-        case LIST:
-            ui.showTaskList(tasks);
-            break;
-        case FIND:
-            requireStartsWith(input, CommandType.FIND.getCommand() + Constants.SPACE, Constants.MSG_PROVIDE_KEYWORD);
-            findTasks(input);
-            break;
-        case MARK:
-            requireStartsWith(input, CommandType.MARK.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            markTask(input, true);
-            break;
-        case UNMARK:
-            requireStartsWith(input, CommandType.UNMARK.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            markTask(input, false);
-            break;
-        case DELETE:
-            requireStartsWith(input, CommandType.DELETE.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            deleteTask(input);
-            break;
-        case TODO:
-            requireStartsWith(input, CommandType.TODO.getCommand() + Constants.SPACE,
-                Constants.MSG_TODO_EMPTY);
-            addTodo(input);
-            break;
-        case DEADLINE:
-            requireStartsWith(input, CommandType.DEADLINE.getCommand() + Constants.SPACE,
-                Constants.MSG_DEADLINE_NEEDS_BY);
-            addDeadline(input);
-            break;
-        case EVENT:
-            requireStartsWith(input, CommandType.EVENT.getCommand() + Constants.SPACE,
-                Constants.MSG_EVENT_NEEDS_FROM_TO);
-            addEvent(input);
-            break;
-        case PRIORITY:
-            requireStartsWith(input, CommandType.PRIORITY.getCommand() + Constants.SPACE,
-                "Please provide a task number and priority level.");
-            setPriority(input);
-            break;
-        case HELP:
-            ui.showHelp();
-            break;
-        default:
-            throw new ChungusException(Constants.MSG_UNKNOWN);
-        }
-    }
-
-    /**
-     * Marks or unmarks a task based on the provided command input.
-     *
-     * @param input      Raw user input containing the task index.
-     * @param markAsDone True to mark as done; false to mark as not done.
-     * @throws ChungusException if the task index is invalid.
-     */
-    private void markTask(String input, boolean markAsDone) throws ChungusException {
-        int idx = parser.parseTaskIndex(input,
-                markAsDone ? CommandType.MARK.getCommand() : CommandType.UNMARK.getCommand());
-        if (idx < 0 || idx >= tasks.size()) {
-            throw new ChungusException("Invalid task number. Please enter a number between 1 and " + tasks.size());
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        assert idx >= 0 && idx < tasks.size() : "Index out of bounds";
-        Task task = tasks.get(idx);
-        if (markAsDone) {
-            task.markAsDone();
-            ui.showMarked(task);
+        if (autoSaver != null) {
+            autoSaver.close();
         } else {
-            task.markAsNotDone();
-            ui.showUnmarked(task);
+            executor.save();
         }
-        assert task != null : "Task retrieved should not be null";
-    }
-
-    private void findTasks(String input) throws ChungusException {
-        String keyword = parser.parseDescription(input, CommandType.FIND.getCommand());
-        requireNotBlank(keyword, Constants.MSG_PROVIDE_KEYWORD);
-        ArrayList<Task> matches = tasks.findByKeyword(keyword);
-        ui.showFindResults(matches);
-    }
-
-    /**
-     * Deletes a task at the index specified in the input.
-     *
-     * @param input Raw user input containing the task index.
-     * @throws ChungusException if the task index is invalid.
-     */
-    private void deleteTask(String input) throws ChungusException {
-        int idx = parser.parseTaskIndex(input, CommandType.DELETE.getCommand());
-        validateIndex(idx);
-        Task deleted = tasks.remove(idx);
-        ui.showTaskDeleted(deleted, tasks.size());
-        assert deleted != null : "Deleted task should not be null";
     }
 
     /**
-     * Adds a Todo task from the provided input.
+     * Returns the live task list, e.g. for a view to listen to. Listeners run
+     * on the thread executing the command, which for
+     * {@link #getResponseAsync(String)} is the command worker.
      *
-     * @param input Raw user input containing the description.
-     * @throws ChungusException if the description is empty.
+     * @return Task list mutated by commands.
      */
-    private void addTodo(String input) throws ChungusException {
-        String description = parser.parseDescription(input, CommandType.TODO.getCommand());
-        requireNotBlank(description, Constants.MSG_TODO_EMPTY);
-        Task t = new Todo(description);
-        tasks.add(t);
-        ui.showTaskAdded(t, tasks.size());
-    }
-
-    /**
-     * Adds a Deadline task from the provided input.
-     *
-     * @param input Raw user input containing description and /by date.
-     * @throws ChungusException if parts are missing.
-     */
-    private void addDeadline(String input) throws ChungusException {
-        requireContains(input, Constants.TOKEN_BY, Constants.MSG_DEADLINE_NEEDS_BY);
-        String[] parts = parser.parseDeadline(input);
-        requireNotBlank(parts[0], Constants.MSG_DEADLINE_DESC_EMPTY);
-        requireNotBlank(parts[1], Constants.MSG_DEADLINE_DATE_EMPTY);
-        Task t = new Deadline(parts[0], parts[1]);
-        tasks.add(t);
-        ui.showTaskAdded(t, tasks.size());
-        assert tasks.size() > 0 : "Tasks size should increase after add";
-    }
-
-    /**
-     * Adds an Event task from the provided input.
-     *
-     * @param input Raw user input containing description, /from and /to.
-     * @throws ChungusException if parts are missing.
-     */
-    private void addEvent(String input) throws ChungusException {
-        requireContains(input, Constants.TOKEN_FROM, Constants.MSG_EVENT_NEEDS_FROM_TO);
-        requireContains(input, Constants.TOKEN_TO, Constants.MSG_EVENT_NEEDS_FROM_TO);
-        String[] parts = parser.parseEvent(input);
-        requireNotBlank(parts[0], Constants.MSG_EVENT_DESC_EMPTY);
-        requireNotBlank(parts[1], Constants.MSG_EVENT_START_EMPTY);
-        requireNotBlank(parts[2], Constants.MSG_EVENT_END_EMPTY);
-        Task t = new Event(parts[0], parts[1], parts[2]);
-        tasks.add(t);
-        ui.showTaskAdded(t, tasks.size());
-        assert tasks.size() > 0 : "Tasks size should increase after add";
+    public TaskList getTasks() {
+        return tasks;
     }
 
     /**
@@ -255,194 +139,38 @@ public class Chungus {
      * @return Formatted response string
      */
     public String getResponse(String input) {
-        if (isExitCommand(input)) {
-            saveTasksToStorage();
-            return ui.getByeMessage();
-        }
-        try {
-            CommandType command = parser.parseCommandType(input);
-            if (isBlank(input)) {
-                return "";
-            }
-            if (command == null) {
-                throw new ChungusException(Constants.MSG_UNKNOWN);
-            }
-            return processCommandForGui(command, input);
-        } catch (ChungusException e) {
-            return ui.getErrorMessage(e.getMessage());
-        } catch (Exception e) {
-            return ui.getErrorMessage("Something went wrong: " + e.getMessage());
-        }
+        return getResponse(input, guiRenderer);
     }
 
     /**
-     * Dispatches a parsed command to the appropriate handler for GUI.
-     * Returns formatted response strings instead of printing to console.
+     * Processes a user input and renders the result with the given renderer,
+     * e.g. a {@link chungus.ui.JsonRenderer} for machine-readable output.
      *
-     * @param command Parsed command type.
-     * @param input   Raw user input.
-     * @return Formatted response string
-     * @throws ChungusException if validation fails or the command is invalid.
-     */
-    private String processCommandForGui(CommandType command, String input) throws ChungusException {
-        switch (command) {
-        case LIST:
-            return ui.getTaskListMessage(tasks);
-        case FIND:
-            requireStartsWith(input, CommandType.FIND.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_KEYWORD);
-            return findTasksForGui(input);
-        case MARK:
-            requireStartsWith(input, CommandType.MARK.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            return markTaskForGui(input, true);
-        case UNMARK:
-            requireStartsWith(input, CommandType.UNMARK.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            return markTaskForGui(input, false);
-        case DELETE:
-            requireStartsWith(input, CommandType.DELETE.getCommand() + Constants.SPACE,
-                Constants.MSG_PROVIDE_TASK_NUMBER);
-            return deleteTaskForGui(input);
-        case TODO:
-            requireStartsWith(input, CommandType.TODO.getCommand() + Constants.SPACE,
-                Constants.MSG_TODO_EMPTY);
-            return addTodoForGui(input);
-        case DEADLINE:
-            requireStartsWith(input, CommandType.DEADLINE.getCommand() + Constants.SPACE,
-                Constants.MSG_DEADLINE_NEEDS_BY);
-            return addDeadlineForGui(input);
-        case EVENT:
-            requireStartsWith(input, CommandType.EVENT.getCommand() + Constants.SPACE,
-                Constants.MSG_EVENT_NEEDS_FROM_TO);
-            return addEventForGui(input);
-        case PRIORITY:
-            requireStartsWith(input, CommandType.PRIORITY.getCommand() + Constants.SPACE,
-                "Please provide a task number and priority level.");
-            return setPriorityForGui(input);
-        case HELP:
-            return ui.getHelpMessage();
-        default:
-            throw new ChungusException(Constants.MSG_UNKNOWN);
-        }
-    }
-
-    private void setPriority(String input) throws ChungusException {
-        Object[] parsed = parser.parsePriorityCommand(input);
-        int idx = (Integer) parsed[0];
-        validateIndex(idx);
-        String level = (String) parsed[1];
-        Priority p = Priority.parseOrDefault(level);
-        Task t = tasks.get(idx);
-        t.setPriority(p);
-        ui.showPrioritySet(t, idx + 1);
-    }
-
-    private String setPriorityForGui(String input) throws ChungusException {
-        Object[] parsed = parser.parsePriorityCommand(input);
-        int idx = (Integer) parsed[0];
-        validateIndex(idx);
-        String level = (String) parsed[1];
-        Priority p = Priority.parseOrDefault(level);
-        Task t = tasks.get(idx);
-        t.setPriority(p);
-        return ui.getPrioritySetMessage(t, idx + 1);
-    }
-
-    /**
-     * Marks or unmarks a task based on the provided command input for GUI.
-     *
-     * @param input      Raw user input containing the task index.
-     * @param markAsDone True to mark as done; false to mark as not done.
-     * @return Formatted response string
-     * @throws ChungusException if the task index is invalid.
+     * @param input    User input command
+     * @param renderer Renderer for the command's result
+     * @return Rendered response, or an empty string for blank input
      */
-    private String markTaskForGui(String input, boolean markAsDone) throws ChungusException {
-        int idx = parser.parseTaskIndex(input,
-                markAsDone ? CommandType.MARK.getCommand() : CommandType.UNMARK.getCommand());
-        if (idx < 0 || idx >= tasks.size()) {
-            throw new ChungusException("Invalid task number. Please enter a number between 1 and " + tasks.size());
+    public String getResponse(String input, ResultRenderer renderer) {
+        if (isExitCommand(input)) {
+            save();
+            return ui.getByeMessage();
         }
-        Task task = tasks.get(idx);
-        if (markAsDone) {
-            task.markAsDone();
-            return ui.getMarkedMessage(task);
-        } else {
-            task.markAsNotDone();
-            return ui.getUnmarkedMessage(task);
+        if (isBlank(input)) {
+            return "";
         }
-    }
-
-    private String findTasksForGui(String input) throws ChungusException {
-        String keyword = parser.parseDescription(input, CommandType.FIND.getCommand());
-        requireNotBlank(keyword, Constants.MSG_PROVIDE_KEYWORD);
-        java.util.ArrayList<Task> matches = tasks.findByKeyword(keyword);
-        return ui.getFindResultsMessage(matches);
-    }
-
-    /**
-     * Deletes a task at the index specified in the input for GUI.
-     *
-     * @param input Raw user input containing the task index.
-     * @return Formatted response string
-     * @throws ChungusException if the task index is invalid.
-     */
-    private String deleteTaskForGui(String input) throws ChungusException {
-        int idx = parser.parseTaskIndex(input, CommandType.DELETE.getCommand());
-        validateIndex(idx);
-        Task deleted = tasks.remove(idx);
-        return ui.getTaskDeletedMessage(deleted, tasks.size());
-    }
-
-    /**
-     * Adds a Todo task from the provided input for GUI.
-     *
-     * @param input Raw user input containing the description.
-     * @return Formatted response string
-     * @throws ChungusException if the description is empty.
-     */
-    private String addTodoForGui(String input) throws ChungusException {
-        String description = parser.parseDescription(input, CommandType.TODO.getCommand());
-        requireNotBlank(description, Constants.MSG_TODO_EMPTY);
-        Task t = new Todo(description);
-        tasks.add(t);
-        return ui.getTaskAddedMessage(t, tasks.size());
-    }
-
-    /**
-     * Adds a Deadline task from the provided input for GUI.
-     *
-     * @param input Raw user input containing description and /by date.
-     * @return Formatted response string
-     * @throws ChungusException if parts are missing.
-     */
-    private String addDeadlineForGui(String input) throws ChungusException {
-        requireContains(input, Constants.TOKEN_BY, Constants.MSG_DEADLINE_NEEDS_BY);
-        String[] parts = parser.parseDeadline(input);
-        requireNotBlank(parts[0], Constants.MSG_DEADLINE_DESC_EMPTY);
-        requireNotBlank(parts[1], Constants.MSG_DEADLINE_DATE_EMPTY);
-        Task t = new Deadline(parts[0], parts[1]);
-        tasks.add(t);
-        return ui.getTaskAddedMessage(t, tasks.size());
+        return renderer.render(executor.execute(input));
     }
 
     /**
-     * Adds an Event task from the provided input for GUI.
+     * Processes a user input on the command worker thread, so a slow command
+     * does not block the caller. Commands submitted while another is running
+     * are queued and run in order; all state changes happen on that one worker.
      *
-     * @param input Raw user input containing description, /from and /to.
-     * @return Formatted response string
-     * @throws ChungusException if parts are missing.
+     * @param input User input command
+     * @return Future completed with the same response {@link #getResponse(String)} gives
      */
-    private String addEventForGui(String input) throws ChungusException {
-        requireContains(input, Constants.TOKEN_FROM, Constants.MSG_EVENT_NEEDS_FROM_TO);
-        requireContains(input, Constants.TOKEN_TO, Constants.MSG_EVENT_NEEDS_FROM_TO);
-        String[] parts = parser.parseEvent(input);
-        requireNotBlank(parts[0], Constants.MSG_EVENT_DESC_EMPTY);
-        requireNotBlank(parts[1], Constants.MSG_EVENT_START_EMPTY);
-        requireNotBlank(parts[2], Constants.MSG_EVENT_END_EMPTY);
-        Task t = new Event(parts[0], parts[1], parts[2]);
-        tasks.add(t);
-        return ui.getTaskAddedMessage(t, tasks.size());
+    public CompletableFuture<String> getResponseAsync(String input) {
+        return CompletableFuture.supplyAsync(() -> getResponse(input), commandExecutor);
     }
 
     /**
@@ -456,41 +184,104 @@ public class Chungus {
     }
 
     /**
-     * App entry point.
+     * App entry point. Without arguments, starts the interactive console;
+     * {@code --batch <file>} (or {@code --batch -} for standard input) runs a
+     * script of commands instead, see {@link BatchRunner}.
      *
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
-        new Chungus(Constants.DEFAULT_STORAGE_PATH).run();
+        String dataFile = System.getProperty(Constants.PROP_STORAGE_PATH, Constants.DEFAULT_STORAGE_PATH);
+        if (args.length == 0) {
+            Chungus chungus = new Chungus(dataFile);
+            chungus.startAutoSave();
+            chungus.run();
+            return;
+        }
+        System.exit(runBatch(args, dataFile));
     }
 
-    // Small helpers to follow SLAP and reduce nesting/duplication
-    private static boolean isBlank(String s) {
-        return s == null || s.trim().isEmpty();
-    }
+    /**
+     * Parses the batch options, runs the script and prints a summary to
+     * standard error, keeping standard output for the results.
+     *
+     * @return process exit status
+     */
+    private static int runBatch(String[] args, String dataFile) {
+        String script = null;
+        boolean quiet = false;
+        boolean json = false;
+        int checkpointInterval = 0;
+        boolean valid = true;
+        for (int i = 0; i < args.length && valid; i++) {
+            boolean hasValue = i + 1 < args.length;
+            switch (args[i]) {
+            case Constants.OPTION_BATCH:
+                script = hasValue ? args[++i] : null;
+                valid = hasValue;
+                break;
+            case Constants.OPTION_QUIET:
+                quiet = true;
+                break;
+            case Constants.OPTION_JSON:
+                json = true;
+                break;
+            case Constants.OPTION_CHECKPOINT:
+                checkpointInterval = hasValue ? parseCount(args[++i]) : -1;
+                valid = checkpointInterval >= 0;
+                break;
+            default:
+                valid = false;
+                break;
+            }
+        }
+        if (!valid || script == null) {
+            System.err.println(Constants.MSG_BATCH_USAGE);
+            return 2;
+        }
 
-    private static void requireNotBlank(String s, String message) throws ChungusException {
-        if (isBlank(s)) {
-            throw new ChungusException(message);
+        Storage storage = new Storage(dataFile);
+        TaskList tasks;
+        try {
+            tasks = new TaskList(storage.load(), storage.getNextId());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not load tasks from storage. Starting with empty list.");
+            tasks = new TaskList();
+        }
+        ResultRenderer renderer = json
+                ? new JsonRenderer()
+                : new TextRenderer(System.lineSeparator(), Integer.MAX_VALUE);
+        BatchRunner runner = new BatchRunner(tasks, storage, renderer, quiet, checkpointInterval, System.err::println);
+        try (BufferedReader in = Constants.STDIN_FILE.equals(script)
+                ? new BufferedReader(new InputStreamReader(System.in), BATCH_BUFFER_SIZE)
+                : Files.newBufferedReader(Paths.get(script))) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out), BATCH_BUFFER_SIZE);
+            System.err.println(runner.run(in, out));
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Could not run batch script: " + e.getMessage());
+            return 1;
         }
     }
 
-    private static void requireStartsWith(String input, String prefix, String message) throws ChungusException {
-        if (isBlank(input) || !input.startsWith(prefix)) {
-            throw new ChungusException(message);
+    private static int parseCount(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
-    private static void requireContains(String input, String token, String message) throws ChungusException {
-        if (isBlank(input) || !input.contains(token)) {
-            throw new ChungusException(message);
+    // Small helpers to follow SLAP and reduce nesting/duplication
+    private void save() {
+        if (autoSaver != null) {
+            autoSaver.flush();
+        } else {
+            executor.save();
         }
     }
 
-    private void validateIndex(int idx) throws ChungusException {
-        if (idx < 0 || idx >= tasks.size()) {
-            throw new ChungusException("Invalid task number. Please enter a number between 1 and " + tasks.size());
-        }
+    private static boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
     }
 }
-
-
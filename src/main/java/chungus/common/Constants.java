@@ -9,12 +9,53 @@ public final class Constants {
     public static final String TOKEN_BY = "/by";
     public static final String TOKEN_FROM = "/from";
     public static final String TOKEN_TO = "/to";
+    public static final String WORD_PREFIX_WILDCARD = "*";
+    public static final String OPTION_FROM = "--from";
+    public static final String OPTION_LIMIT = "--limit";
+    public static final String OPTION_BATCH = "--batch";
+    public static final String OPTION_QUIET = "--quiet";
+    public static final String OPTION_JSON = "--json";
+    public static final String OPTION_CHECKPOINT = "--checkpoint";
+    public static final String SELECTOR_DONE = "done";
+    public static final String SELECTOR_UNDONE = "undone";
+    public static final String SELECTOR_FIND = "find:";
+    public static final String SELECTOR_ID = "#";
+    public static final String TOKEN_BEFORE = "before";
+    /** Batch file name that stands for standard input. */
+    public static final String STDIN_FILE = "-";
+
+    /** Number of tasks per page for {@code list <page>} and a bare {@code list} in the GUI. */
+    public static final int LIST_PAGE_SIZE = 50;
+    /** Number of changes {@code undo} can step back through. */
+    public static final int UNDO_HISTORY_SIZE = 100;
+    /** Milliseconds between background checks for unsaved changes. */
+    public static final long AUTOSAVE_INTERVAL_MILLIS = 5_000;
+    /** Number of tasks an open archive keeps decoded. */
+    public static final int ARCHIVE_CACHE_SIZE = 1024;
 
     public static final String DEFAULT_STORAGE_PATH = "data/chungus.txt";
+    /** System property that overrides the data file; {@code .bin} and {@code .db} extensions select binary formats. */
+    public static final String PROP_STORAGE_PATH = "chungus.dataFile";
+    /** System property naming a {@code .db} file for the GUI to show read-only instead of the live list. */
+    public static final String PROP_ARCHIVE_PATH = "chungus.archive";
 
+    public static final String MSG_BATCH_USAGE = "Usage: chungus --batch <file|-> [--quiet] [--json] "
+            + "[--checkpoint <commands>]";
     public static final String MSG_UNKNOWN = "I'm sorry, but I don't know what that means :-(";
     public static final String MSG_PROVIDE_KEYWORD = "Please provide a keyword to find.";
     public static final String MSG_PROVIDE_TASK_NUMBER = "Please provide a task number.";
+    public static final String MSG_PROVIDE_FILE_PATH = "Please provide a file path.";
+    public static final String MSG_ALIAS_USAGE = "Please use: alias <name> <command>, e.g. alias dl deadline.";
+    public static final String MSG_LIST_USAGE = "Invalid list range. Use: list, list <page>, "
+            + "list --from <task number> --limit <count>, or list [done|undone] [high|medium|low].";
+    public static final String MSG_DUE_USAGE = "Please use: due before <date>, e.g. due before 2026-11-01.";
+    public static final String MSG_ON_USAGE = "Please use: on <date>, e.g. on 2026-10-20.";
+    public static final String MSG_BETWEEN_USAGE = "Please use: between <start date> <end date>, "
+            + "e.g. between 2026-10-19 2026-10-25.";
+    public static final String MSG_RANGE_REVERSED = "The end date cannot be before the start date.";
+    public static final String MSG_INVALID_PRIORITY = "Unknown priority level. Please use high, medium, or low.";
+    public static final String MSG_NOTHING_TO_UNDO = "There is nothing to undo.";
+    public static final String MSG_NOTHING_TO_REDO = "There is nothing to redo.";
     public static final String MSG_TODO_EMPTY = "The description of a todo cannot be empty.";
     public static final String MSG_DEADLINE_NEEDS_BY = "Deadline command must include '/by' followed by the due date.";
     public static final String MSG_DEADLINE_DESC_EMPTY = "The description of a deadline cannot be empty.";
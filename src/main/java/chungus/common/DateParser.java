@@ -0,0 +1,170 @@
+package chungus.common;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses and formats the dates accepted by deadlines and events.
+ * Accepts {@code yyyy-MM-dd}, {@code d/M/yyyy} and {@code d-M-yyyy}, with the
+ * same results as parsing with those patterns in order. The common shapes are
+ * recognised by a character scan and built directly; only unusual field
+ * widths fall back to the shared formatters, which check the shape without
+ * throwing, so input that cannot be a date is rejected without an exception.
+ */
+public final class DateParser {
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DAY_MONTH_YEAR_SLASH = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final DateTimeFormatter DAY_MONTH_YEAR_DASH = DateTimeFormatter.ofPattern("d-M-yyyy");
+    private static final DateTimeFormatter[] FORMATTERS = {ISO, DAY_MONTH_YEAR_SLASH, DAY_MONTH_YEAR_DASH};
+    private static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final int ISO_LENGTH = 10;
+
+    private DateParser() {}
+
+    /**
+     * Parses a date in any supported format.
+     *
+     * @param input raw date text; surrounding whitespace is ignored
+     * @return parsed date, or null if the input is not a supported date
+     */
+    public static LocalDate parse(String input) {
+        if (input == null) {
+            return null;
+        }
+        String s = input.trim();
+        if (isIsoShape(s)) {
+            return build(digits(s, 0, 4), digits(s, 5, 7), digits(s, 8, 10));
+        }
+        LocalDate dayMonthYear = parseDayMonthYear(s);
+        if (dayMonthYear != null) {
+            return dayMonthYear;
+        }
+        return containsOnlyDateChars(s) ? parseWithFormatters(s) : null;
+    }
+
+    /**
+     * Formats a date as {@code yyyy-MM-dd}.
+     *
+     * @param date date to format
+     * @return ISO date string
+     */
+    public static String formatIso(LocalDate date) {
+        return date.toString();
+    }
+
+    /**
+     * Formats a date for display, e.g. {@code Dec 31 2025}.
+     *
+     * @param date date to format
+     * @return display string
+     */
+    public static String formatDisplay(LocalDate date) {
+        return DISPLAY.format(date);
+    }
+
+    private static boolean isIsoShape(String s) {
+        return s.length() == ISO_LENGTH && s.charAt(4) == '-' && s.charAt(7) == '-'
+                && allDigits(s, 0, 4) && allDigits(s, 5, 7) && allDigits(s, 8, 10);
+    }
+
+    /**
+     * Handles {@code d/M/yyyy} and {@code d-M-yyyy} with one- or two-digit day
+     * and month and a four-digit year.
+     */
+    private static LocalDate parseDayMonthYear(String s) {
+        int firstSep = indexOfSeparator(s, 0);
+        if (firstSep < 1 || firstSep > 2) {
+            return null;
+        }
+        char sep = s.charAt(firstSep);
+        int secondSep = s.indexOf(sep, firstSep + 1);
+        int monthLength = secondSep - firstSep - 1;
+        if (monthLength < 1 || monthLength > 2 || s.length() - secondSep - 1 != 4) {
+            return null;
+        }
+        if (!allDigits(s, 0, firstSep) || !allDigits(s, firstSep + 1, secondSep)
+                || !allDigits(s, secondSep + 1, s.length())) {
+            return null;
+        }
+        return build(digits(s, secondSep + 1, s.length()), digits(s, firstSep + 1, secondSep),
+                digits(s, 0, firstSep));
+    }
+
+    /**
+     * Builds a date the way the formatters' smart resolver does: a day-of-month
+     * up to 31 that is past the end of the month resolves to its last day.
+     */
+    private static LocalDate build(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int lastDay = YearMonth.of(year, month).lengthOfMonth();
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Tries each formatter, checking the shape with a non-throwing parse first
+     * so that input in no supported format costs no exception.
+     */
+    private static LocalDate parseWithFormatters(String s) {
+        for (DateTimeFormatter f : FORMATTERS) {
+            ParsePosition position = new ParsePosition(0);
+            if (f.parseUnresolved(s, position) == null || position.getIndex() != s.length()) {
+                continue;
+            }
+            try {
+                return LocalDate.parse(s, f);
+            } catch (DateTimeParseException ignored) {
+                // the right shape but not a valid date; continue
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfSeparator(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '/' || c == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsOnlyDateChars(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c) && c != '/' && c != '-' && c != '+') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,253 @@
+package chungus.logic;
+
+import java.time.LocalDate;
+
+import chungus.model.Priority;
+import chungus.model.TaskStatus;
+
+/**
+ * A fully parsed user command. {@link Parser#parse(String)} reads an input
+ * line once and produces one of the immutable records below, with indices
+ * made zero-based and dates and priorities already parsed, so executing a
+ * command never goes back to the raw text.
+ */
+public interface Command {
+    /**
+     * Returns the kind of command, for dispatching with a switch.
+     *
+     * @return command type
+     */
+    CommandType type();
+
+    /**
+     * Shows the tasks in {@code [offset, offset + limit)}.
+     *
+     * @param offset zero-based index of the first task
+     * @param limit  number of tasks to show, or {@link #UNSPECIFIED} to let the caller choose
+     */
+    record ListTasks(int offset, int limit) implements Command {
+        /** Limit used when the user gave neither a page nor {@code --limit}. */
+        public static final int UNSPECIFIED = 0;
+
+        @Override
+        public CommandType type() {
+            return CommandType.LIST;
+        }
+    }
+
+    /**
+     * Lists the tasks with a given status and priority, e.g. {@code list done high}.
+     *
+     * @param status   status to match, or null for any
+     * @param priority priority to match, or null for any
+     */
+    record ListWhere(TaskStatus status, Priority priority) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.LIST;
+        }
+    }
+
+    /**
+     * Lists deadlines due before a date and events starting before it.
+     *
+     * @param date exclusive upper bound
+     */
+    record DueBefore(LocalDate date) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.DUE;
+        }
+    }
+
+    /**
+     * Lists the events taking place on at least one day of a range; {@code on}
+     * is a range of one day.
+     *
+     * @param from first day of the range
+     * @param to   last day of the range, not before {@code from}
+     */
+    record EventsDuring(LocalDate from, LocalDate to) implements Command {
+        @Override
+        public CommandType type() {
+            return from.equals(to) ? CommandType.ON : CommandType.BETWEEN;
+        }
+    }
+
+    /**
+     * Lists every pair of events whose dates overlap.
+     */
+    record Conflicts() implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.CONFLICTS;
+        }
+    }
+
+    /**
+     * Finds tasks by keyword.
+     *
+     * @param keyword    non-blank search text, without a trailing wildcard
+     * @param wordPrefix true to match word starts only ({@code find rep*})
+     */
+    record Find(String keyword, boolean wordPrefix) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.FIND;
+        }
+    }
+
+    /**
+     * Marks tasks as done or not done.
+     *
+     * @param tasks tasks to change, not yet checked against the list
+     * @param done  true for {@code mark}, false for {@code unmark}
+     */
+    record Mark(TaskSelector tasks, boolean done) implements Command {
+        @Override
+        public CommandType type() {
+            return done ? CommandType.MARK : CommandType.UNMARK;
+        }
+    }
+
+    /**
+     * Deletes tasks.
+     *
+     * @param tasks tasks to delete, not yet checked against the list
+     */
+    record Delete(TaskSelector tasks) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.DELETE;
+        }
+    }
+
+    /**
+     * Adds a todo.
+     *
+     * @param description non-blank description
+     */
+    record AddTodo(String description) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.TODO;
+        }
+    }
+
+    /**
+     * Adds a deadline.
+     *
+     * @param description non-blank description
+     * @param by          due date
+     */
+    record AddDeadline(String description, LocalDate by) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.DEADLINE;
+        }
+    }
+
+    /**
+     * Adds an event.
+     *
+     * @param description non-blank description
+     * @param from        start date
+     * @param to          end date
+     */
+    record AddEvent(String description, LocalDate from, LocalDate to) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.EVENT;
+        }
+    }
+
+    /**
+     * Sets the priority of tasks.
+     *
+     * @param tasks    tasks to change, not yet checked against the list
+     * @param priority new priority
+     */
+    record SetPriority(TaskSelector tasks, Priority priority) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.PRIORITY;
+        }
+    }
+
+    /**
+     * Appends the tasks stored in a file.
+     *
+     * @param path non-blank file path
+     */
+    record Import(String path) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.IMPORT;
+        }
+    }
+
+    /**
+     * Writes all tasks to a file.
+     *
+     * @param path non-blank file path
+     */
+    record Export(String path) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.EXPORT;
+        }
+    }
+
+    /**
+     * Lists the aliases when {@code name} is null, otherwise defines one.
+     *
+     * @param name   new alias, or null
+     * @param target command name or alias it stands for, or null
+     */
+    record Alias(String name, String target) implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.ALIAS;
+        }
+    }
+
+    /**
+     * Reverses the most recent change that has not been undone.
+     */
+    record Undo() implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.UNDO;
+        }
+    }
+
+    /**
+     * Makes the most recently undone change again.
+     */
+    record Redo() implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.REDO;
+        }
+    }
+
+    /**
+     * Shows the help message.
+     */
+    record Help() implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.HELP;
+        }
+    }
+
+    /**
+     * Ends the session.
+     */
+    record Exit() implements Command {
+        @Override
+        public CommandType type() {
+            return CommandType.BYE;
+        }
+    }
+}
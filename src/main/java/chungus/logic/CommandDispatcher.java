@@ -0,0 +1,262 @@
+package chungus.logic;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import chungus.common.ChungusException;
+
+/**
+ * Resolves the first word of an input line to a {@link CommandType}.
+ * Command names and aliases are stored in a small character trie, so a lookup
+ * walks the word once and allocates nothing. Besides exact names, a word
+ * resolves if it is an alias (e.g. {@code dl} for {@code deadline}) or an
+ * unambiguous prefix of at least {@value #MIN_PREFIX_LENGTH} characters
+ * (e.g. {@code dead}). Commands that end the session, reverse a change or
+ * touch many tasks or files at once must be typed in full, and a prefix they
+ * share with another command is ambiguous, so {@code de} runs neither
+ * {@code delete} nor {@code deadline}.
+ */
+public class CommandDispatcher {
+    /** Shortest prefix that may stand for a longer command name. */
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final String[][] DEFAULT_ALIASES = {
+        {"dl", "deadline"},
+        {"ls", "list"},
+        {"rm", "delete"}
+    };
+
+    private static final Set<CommandType> WHOLE_WORD_ONLY = EnumSet.of(CommandType.BYE, CommandType.UNDO,
+            CommandType.REDO, CommandType.DELETE, CommandType.IMPORT, CommandType.EXPORT);
+
+    private final Node root = new Node();
+    private final Map<String, CommandType> aliases = new TreeMap<>();
+
+    /**
+     * Creates a dispatcher that knows every command name and the default aliases.
+     */
+    public CommandDispatcher() {
+        for (CommandType type : CommandType.values()) {
+            if (WHOLE_WORD_ONLY.contains(type)) {
+                insert(type.getCommand(), type, false);
+                blockPrefixes(type.getCommand());
+            } else {
+                insert(type.getCommand(), type, true);
+            }
+        }
+        for (String[] alias : DEFAULT_ALIASES) {
+            CommandType target = resolveWord(alias[1], 0, alias[1].length());
+            assert target != null : "default alias must name a command";
+            aliases.put(alias[0], target);
+            insert(alias[0], target, false);
+        }
+    }
+
+    /**
+     * Returns the dispatcher behind {@link CommandType#fromInput(String)},
+     * which has no user-defined aliases.
+     *
+     * @return shared default dispatcher
+     */
+    public static CommandDispatcher defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Resolves the command named by the first word of the input.
+     *
+     * @param input raw input line; surrounding whitespace is ignored
+     * @return matching command, or null if the word names no command or is ambiguous
+     */
+    public CommandType resolve(String input) {
+        int start = skipLeadingWhitespace(input);
+        int end = trimmedEnd(input, start);
+        return resolveWord(input, start, wordEnd(input, start, end));
+    }
+
+    /**
+     * Defines an alias for a command.
+     *
+     * @param alias  new name; a single word that is not already a command name
+     * @param target command name, or an existing alias, to stand for
+     * @return the command the alias now stands for
+     * @throws ChungusException if the alias or target is not acceptable
+     */
+    public CommandType addAlias(String alias, String target) throws ChungusException {
+        if (alias.isEmpty() || alias.indexOf(' ') >= 0) {
+            throw new ChungusException("An alias must be a single word.");
+        }
+        if (isCommandName(alias)) {
+            throw new ChungusException("'" + alias + "' is already a command.");
+        }
+        CommandType command = resolveExact(target);
+        if (command == null) {
+            throw new ChungusException("'" + target + "' is not a command or alias.");
+        }
+        if (command == CommandType.BYE) {
+            throw new ChungusException("'" + CommandType.BYE.getCommand() + "' cannot have an alias.");
+        }
+        if (aliases.containsKey(alias)) {
+            throw new ChungusException("'" + alias + "' is already an alias for "
+                    + aliases.get(alias).getCommand() + ".");
+        }
+        aliases.put(alias, command);
+        insert(alias, command, false);
+        return command;
+    }
+
+    /**
+     * Returns every alias and the command it stands for, sorted by alias.
+     *
+     * @return read-only view of the aliases
+     */
+    public Map<String, CommandType> getAliases() {
+        return Collections.unmodifiableMap(aliases);
+    }
+
+    private static boolean isCommandName(String word) {
+        for (CommandType type : CommandType.values()) {
+            if (type.getCommand().equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CommandType resolveExact(String word) {
+        Node node = find(word, 0, word.length());
+        return node != null ? node.exact : null;
+    }
+
+    private CommandType resolveWord(String s, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        Node node = find(s, start, end);
+        if (node == null) {
+            return null;
+        }
+        if (node.exact != null) {
+            return node.exact;
+        }
+        if (end - start >= MIN_PREFIX_LENGTH && !node.ambiguous) {
+            return node.reachable;
+        }
+        return null;
+    }
+
+    private Node find(String s, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.child(s.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Adds a word to the trie. When {@code prefixable} is set, every node on
+     * the way records the command so that prefixes of the word can resolve to it.
+     */
+    private void insert(String word, CommandType target, boolean prefixable) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+            if (prefixable) {
+                node.reach(target);
+            }
+        }
+        node.exact = target;
+    }
+
+    /**
+     * Makes every proper prefix of a word ambiguous, so it resolves to no command.
+     */
+    private void blockPrefixes(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+            node.ambiguous = true;
+        }
+    }
+
+    private static int skipLeadingWhitespace(String s) {
+        int i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimmedEnd(String s, int start) {
+        int end = s.length();
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int wordEnd(String s, int start, int end) {
+        int i = start;
+        while (i < end && s.charAt(i) != ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * A trie node. Children are kept in parallel arrays, which for the handful
+     * of command names is faster and smaller than a map.
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private CommandType exact;
+        private CommandType reachable;
+        private boolean ambiguous;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            int n = keys.length;
+            char[] newKeys = new char[n + 1];
+            Node[] newChildren = new Node[n + 1];
+            System.arraycopy(keys, 0, newKeys, 0, n);
+            System.arraycopy(children, 0, newChildren, 0, n);
+            newKeys[n] = c;
+            newChildren[n] = created;
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void reach(CommandType target) {
+            if (reachable == null) {
+                reachable = target;
+            } else if (reachable != target) {
+                ambiguous = true;
+            }
+        }
+    }
+
+    /**
+     * Creates the default dispatcher on first use, after CommandType is initialised.
+     */
+    private static final class DefaultHolder {
+        private static final CommandDispatcher INSTANCE = new CommandDispatcher();
+    }
+}
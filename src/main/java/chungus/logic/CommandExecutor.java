@@ -0,0 +1,469 @@
+package chungus.logic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import chungus.common.ChungusException;
+import chungus.common.Constants;
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskList;
+import chungus.model.TaskStatus;
+import chungus.model.Todo;
+import chungus.storage.Storage;
+
+/**
+ * Executes commands against the task list and storage. This is the one
+ * place where commands take effect; the console and the GUI both call it and
+ * differ only in how they render the returned {@link CommandResult}. Every
+ * change is also recorded in an {@link UndoHistory} so that {@code undo} and
+ * {@code redo} can step through it.
+ */
+public class CommandExecutor {
+    private final TaskList tasks;
+    private final Storage storage;
+    private final Parser parser;
+    private final Consumer<String> warnings;
+    private final UndoHistory history = new UndoHistory(Constants.UNDO_HISTORY_SIZE);
+    private boolean journalling = true;
+    private boolean compactingInline = true;
+
+    /**
+     * Creates an executor.
+     *
+     * @param tasks    task list commands operate on
+     * @param storage  storage that records every change
+     * @param parser   parser used for text input, which also holds the aliases
+     * @param warnings receives storage failures that do not stop the command
+     */
+    public CommandExecutor(TaskList tasks, Storage storage, Parser parser, Consumer<String> warnings) {
+        this.tasks = tasks;
+        this.storage = storage;
+        this.parser = parser;
+        this.warnings = warnings;
+    }
+
+    /**
+     * Parses and executes one line of input. Errors are returned as a
+     * {@link CommandResult.Failure} rather than thrown.
+     *
+     * @param input raw user input; must not be {@code bye}, which callers handle
+     * @return result to render
+     */
+    public CommandResult execute(String input) {
+        try {
+            return execute(parser.parse(input));
+        } catch (ChungusException e) {
+            return new CommandResult.Failure(e.getMessage());
+        } catch (RuntimeException e) {
+            return new CommandResult.Failure("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executes a parsed command.
+     *
+     * @param command parsed command other than {@link Command.Exit}
+     * @return result to render
+     * @throws ChungusException if the command refers to a missing task or file
+     */
+    public CommandResult execute(Command command) throws ChungusException {
+        switch (command.type()) {
+        case LIST:
+            if (command instanceof Command.ListWhere where) {
+                return new CommandResult.Matches(tasks.filter(where.status(), where.priority()));
+            }
+            Command.ListTasks list = (Command.ListTasks) command;
+            validateListOffset(list.offset());
+            return new CommandResult.Listing(tasks, list.offset(), list.limit());
+        case FIND:
+            return new CommandResult.Matches(searchTasks((Command.Find) command));
+        case DUE:
+            return new CommandResult.Matches(tasks.findDueBefore(((Command.DueBefore) command).date()));
+        case ON:
+        case BETWEEN:
+            Command.EventsDuring during = (Command.EventsDuring) command;
+            return new CommandResult.Matches(tasks.findEventsBetween(during.from(), during.to()));
+        case CONFLICTS:
+            return new CommandResult.Conflicts(tasks.findConflicts());
+        case MARK:
+        case UNMARK:
+            return markTasks((Command.Mark) command);
+        case DELETE:
+            return deleteTasks((Command.Delete) command);
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            Task added = addTask(command);
+            List<Task> conflicts = added instanceof Event ? tasks.findConflicting((Event) added) : List.of();
+            return new CommandResult.Added(added, tasks.size(), conflicts);
+        case PRIORITY:
+            return setPriority((Command.SetPriority) command);
+        case IMPORT:
+            int imported = importTasks((Command.Import) command);
+            return new CommandResult.Imported(imported, tasks.size());
+        case EXPORT:
+            return new CommandResult.Exported(tasks.size(), exportTasks((Command.Export) command));
+        case UNDO:
+            return undo();
+        case REDO:
+            return redo();
+        case ALIAS:
+            Command.Alias alias = (Command.Alias) command;
+            if (alias.name() == null) {
+                return new CommandResult.Aliases(parser.getAliases());
+            }
+            return new CommandResult.AliasAdded(alias.name(), parser.defineAlias(alias.name(), alias.target()));
+        case HELP:
+            return new CommandResult.Help();
+        default:
+            throw new ChungusException(Constants.MSG_UNKNOWN);
+        }
+    }
+
+    /**
+     * Turns per-change journalling on or off. While it is off, changes are
+     * only kept in memory until the next {@link #save()}, which is much faster
+     * for long scripts that save at the end or at checkpoints anyway.
+     *
+     * @param journalling true to journal every change, the default
+     */
+    public void setJournalling(boolean journalling) {
+        this.journalling = journalling;
+    }
+
+    /**
+     * Turns compaction after a journal append on or off. Turn it off when
+     * something else, such as an {@link chungus.storage.AutoSaver}, saves
+     * snapshots in the background, so commands never wait for a full write.
+     *
+     * @param compactingInline true to compact as part of the command, the default
+     */
+    public void setCompactingInline(boolean compactingInline) {
+        this.compactingInline = compactingInline;
+    }
+
+    /**
+     * Writes the whole task list to storage as a fresh snapshot.
+     */
+    public void save() {
+        try {
+            storage.save(tasks.snapshot());
+        } catch (IOException e) {
+            warnings.accept("Warning: Could not save tasks to storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a mutation to the storage journal so it survives a crash, and
+     * folds the journal into a fresh snapshot once it grows too large.
+     *
+     * @param write Journal append to perform.
+     */
+    private void recordChange(JournalWrite write) {
+        if (!journalling) {
+            return;
+        }
+        try {
+            write.run();
+            if (compactingInline && storage.needsCompaction()) {
+                storage.save(tasks.snapshot());
+            }
+        } catch (IOException e) {
+            warnings.accept("Warning: Could not record change to storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marks or unmarks the selected tasks, journalled as one change.
+     *
+     * @param command Parsed mark or unmark command.
+     * @return The updated task, or a count if several were selected.
+     * @throws ChungusException if the selection is invalid or matches nothing.
+     */
+    private CommandResult markTasks(Command.Mark command) throws ChungusException {
+        int[] indices = command.tasks().resolve(tasks);
+        boolean markAsDone = command.done();
+        TaskStatus[] previous = new TaskStatus[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            previous[i] = tasks.get(indices[i]).getStatus();
+        }
+        tasks.setDone(indices, markAsDone);
+        history.record(new Edit.StatusChanged(indices, previous, markAsDone));
+        recordChange(() -> storage.appendMark(idsOf(indices), markAsDone));
+        if (indices.length == 1) {
+            return new CommandResult.Marked(tasks.get(indices[0]), markAsDone);
+        }
+        return new CommandResult.MarkedAll(indices.length, markAsDone);
+    }
+
+    /**
+     * Checks that a list range starts within the list.
+     *
+     * @param offset Zero-based index of the first task to show.
+     * @throws ChungusException if the range starts past the last task.
+     */
+    private void validateListOffset(int offset) throws ChungusException {
+        if (offset > 0 && offset >= tasks.size()) {
+            throw new ChungusException("There are only " + tasks.size() + " tasks in the list.");
+        }
+    }
+
+    /**
+     * Runs a find query: {@code word*} matches tasks with a word starting with
+     * {@code word}; anything else matches descriptions containing the text.
+     *
+     * @param command Parsed find command.
+     * @return Matching tasks in list order.
+     */
+    private ArrayList<Task> searchTasks(Command.Find command) {
+        if (command.wordPrefix()) {
+            return tasks.findByWordPrefix(command.keyword());
+        }
+        return tasks.findByKeyword(command.keyword());
+    }
+
+    /**
+     * Deletes the selected tasks in one pass, journalled as one change.
+     *
+     * @param command Parsed delete command.
+     * @return The removed task, or a count if several were selected.
+     * @throws ChungusException if the selection is invalid or matches nothing.
+     */
+    private CommandResult deleteTasks(Command.Delete command) throws ChungusException {
+        int[] indices = command.tasks().resolve(tasks);
+        long[] ids = idsOf(indices);
+        List<Task> deleted = tasks.remove(indices);
+        history.record(new Edit.Deleted(indices, deleted));
+        recordChange(() -> storage.appendDelete(ids));
+        assert deleted.size() == indices.length : "every selected task should be deleted";
+        if (indices.length == 1) {
+            return new CommandResult.Deleted(deleted.get(0), tasks.size());
+        }
+        return new CommandResult.DeletedAll(indices.length, tasks.size());
+    }
+
+    /**
+     * Adds the todo, deadline or event described by a parsed add command.
+     *
+     * @param command Parsed todo, deadline or event command.
+     * @return The added task.
+     */
+    private Task addTask(Command command) {
+        Task t;
+        switch (command.type()) {
+        case TODO:
+            t = new Todo(((Command.AddTodo) command).description());
+            break;
+        case DEADLINE:
+            Command.AddDeadline deadline = (Command.AddDeadline) command;
+            t = new Deadline(deadline.description(), deadline.by());
+            break;
+        case EVENT:
+            Command.AddEvent event = (Command.AddEvent) command;
+            t = new Event(event.description(), event.from(), event.to());
+            break;
+        default:
+            throw new AssertionError("not an add command: " + command);
+        }
+        tasks.add(t);
+        history.record(new Edit.Added(command.type(), List.of(t)));
+        recordChange(() -> storage.appendAdd(t));
+        assert tasks.size() > 0 : "Tasks size should increase after add";
+        return t;
+    }
+
+    /**
+     * Appends every task stored in the given file, converting from its format,
+     * and writes a fresh snapshot rather than journalling each task.
+     *
+     * @param command Parsed import command.
+     * @return Number of tasks imported.
+     * @throws ChungusException if the file cannot be read.
+     */
+    private int importTasks(Command.Import command) throws ChungusException {
+        ArrayList<Task> imported;
+        try {
+            imported = storage.importFrom(command.path());
+        } catch (IOException e) {
+            throw new ChungusException("Could not import tasks: " + e.getMessage());
+        }
+        for (Task t : imported) {
+            tasks.add(t);
+        }
+        if (!imported.isEmpty()) {
+            history.record(new Edit.Added(CommandType.IMPORT, imported));
+        }
+        save();
+        return imported.size();
+    }
+
+    /**
+     * Writes all tasks to the given file in the format chosen by its extension.
+     *
+     * @param command Parsed export command.
+     * @return The destination path.
+     * @throws ChungusException if the file cannot be written.
+     */
+    private String exportTasks(Command.Export command) throws ChungusException {
+        try {
+            storage.exportTo(tasks.snapshot(), command.path());
+        } catch (IOException e) {
+            throw new ChungusException("Could not export tasks: " + e.getMessage());
+        }
+        return command.path();
+    }
+
+    /**
+     * Sets the priority of the selected tasks, journalled as one change.
+     *
+     * @param command Parsed priority command.
+     * @return The updated task, or a count if several were selected.
+     * @throws ChungusException if the selection is invalid or matches nothing.
+     */
+    private CommandResult setPriority(Command.SetPriority command) throws ChungusException {
+        int[] indices = command.tasks().resolve(tasks);
+        Priority p = command.priority();
+        Priority[] previous = new Priority[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            previous[i] = tasks.get(indices[i]).getPriority();
+        }
+        tasks.setPriority(indices, p);
+        history.record(new Edit.PriorityChanged(indices, previous, p));
+        recordChange(() -> storage.appendPriority(idsOf(indices), p));
+        if (indices.length == 1) {
+            return new CommandResult.PrioritySet(tasks.get(indices[0]), indices[0]);
+        }
+        return new CommandResult.PrioritySetAll(indices.length, p);
+    }
+
+    /**
+     * Reverses the newest change that has not been undone yet, journalling
+     * the reversal like any other change.
+     *
+     * @return What was undone.
+     * @throws ChungusException if there is nothing left to undo.
+     */
+    private CommandResult undo() throws ChungusException {
+        Edit edit = history.undo();
+        if (edit == null) {
+            throw new ChungusException(Constants.MSG_NOTHING_TO_UNDO);
+        }
+        if (edit instanceof Edit.Added added) {
+            int[] indices = new int[added.tasks().size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = tasks.indexOf(added.tasks().get(i).getId());
+            }
+            long[] ids = idsOf(indices);
+            tasks.remove(indices);
+            recordChange(() -> storage.appendDelete(ids));
+        } else if (edit instanceof Edit.Deleted deleted) {
+            tasks.insert(deleted.indices(), deleted.tasks());
+            recordChange(() -> appendRestore(deleted.tasks()));
+        } else if (edit instanceof Edit.StatusChanged changed) {
+            for (TaskStatus status : TaskStatus.values()) {
+                int[] indices = selectWhere(changed.indices(), changed.previous(), status);
+                boolean done = status == TaskStatus.DONE;
+                if (indices.length > 0) {
+                    tasks.setDone(indices, done);
+                    recordChange(() -> storage.appendMark(idsOf(indices), done));
+                }
+            }
+        } else if (edit instanceof Edit.PriorityChanged changed) {
+            for (Priority p : Priority.values()) {
+                int[] indices = selectWhere(changed.indices(), changed.previous(), p);
+                if (indices.length > 0) {
+                    tasks.setPriority(indices, p);
+                    recordChange(() -> storage.appendPriority(idsOf(indices), p));
+                }
+            }
+        }
+        return new CommandResult.Undone(edit.command(), edit.count(), tasks.size(), false);
+    }
+
+    /**
+     * Makes the most recently undone change again. Tasks whose addition is
+     * redone get back the IDs they had.
+     *
+     * @return What was redone.
+     * @throws ChungusException if nothing has been undone since the last change.
+     */
+    private CommandResult redo() throws ChungusException {
+        Edit edit = history.redo();
+        if (edit == null) {
+            throw new ChungusException(Constants.MSG_NOTHING_TO_REDO);
+        }
+        if (edit instanceof Edit.Added added) {
+            int[] indices = new int[added.tasks().size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = tasks.size() + i;
+            }
+            tasks.insert(indices, added.tasks());
+            recordChange(() -> appendRestore(added.tasks()));
+        } else if (edit instanceof Edit.Deleted deleted) {
+            long[] ids = idsOf(deleted.indices());
+            tasks.remove(deleted.indices());
+            recordChange(() -> storage.appendDelete(ids));
+        } else if (edit instanceof Edit.StatusChanged changed) {
+            tasks.setDone(changed.indices(), changed.done());
+            recordChange(() -> storage.appendMark(idsOf(changed.indices()), changed.done()));
+        } else if (edit instanceof Edit.PriorityChanged changed) {
+            tasks.setPriority(changed.indices(), changed.priority());
+            recordChange(() -> storage.appendPriority(idsOf(changed.indices()), changed.priority()));
+        }
+        return new CommandResult.Undone(edit.command(), edit.count(), tasks.size(), true);
+    }
+
+    /**
+     * Returns the positions whose recorded value equals the given one.
+     *
+     * @param indices Positions in increasing order.
+     * @param values  Value recorded for each position.
+     * @param value   Value to select.
+     * @return Matching positions, still in increasing order.
+     */
+    private static <T> int[] selectWhere(int[] indices, T[] values, T value) {
+        int[] selected = new int[indices.length];
+        int n = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (values[i] == value) {
+                selected[n++] = indices[i];
+            }
+        }
+        return Arrays.copyOf(selected, n);
+    }
+
+    private void appendRestore(List<Task> restored) throws IOException {
+        for (Task t : restored) {
+            storage.appendRestore(t);
+        }
+    }
+
+    /**
+     * Returns the IDs of the tasks at the given positions, which the journal
+     * records instead of positions.
+     *
+     * @param indices Zero-based positions in increasing order.
+     * @return Task IDs, also in increasing order.
+     */
+    private long[] idsOf(int[] indices) {
+        long[] ids = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ids[i] = tasks.get(indices[i]).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * A single journal append that may fail with an I/O error.
+     */
+    @FunctionalInterface
+    private interface JournalWrite {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,166 @@
+package chungus.logic;
+
+import java.util.List;
+import java.util.Map;
+
+import chungus.model.EventConflict;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskList;
+
+/**
+ * The outcome of executing a command. {@link CommandExecutor} returns one of
+ * the records below and leaves the wording and layout to a renderer, so the
+ * console, the GUI and machine-readable output all share one execution path.
+ */
+public interface CommandResult {
+    /**
+     * A range of the task list.
+     *
+     * @param tasks  live task list; render before running the next command
+     * @param offset zero-based index of the first task to show
+     * @param limit  number of tasks to show, or {@link Command.ListTasks#UNSPECIFIED} to let the renderer choose
+     */
+    record Listing(TaskList tasks, int offset, int limit) implements CommandResult {
+    }
+
+    /**
+     * Tasks matching a find query, in list order.
+     *
+     * @param tasks matching tasks
+     */
+    record Matches(List<Task> tasks) implements CommandResult {
+    }
+
+    /**
+     * A task was added.
+     *
+     * @param task      added task
+     * @param size      list size afterwards
+     * @param conflicts other events overlapping an added event, ordered by start date; empty otherwise
+     */
+    record Added(Task task, int size, List<Task> conflicts) implements CommandResult {
+    }
+
+    /**
+     * Pairs of events whose dates overlap.
+     *
+     * @param conflicts overlapping pairs
+     */
+    record Conflicts(List<EventConflict> conflicts) implements CommandResult {
+    }
+
+    /**
+     * A task was deleted.
+     *
+     * @param task removed task
+     * @param size list size afterwards
+     */
+    record Deleted(Task task, int size) implements CommandResult {
+    }
+
+    /**
+     * Several tasks were deleted by one command.
+     *
+     * @param count number of tasks removed
+     * @param size  list size afterwards
+     */
+    record DeletedAll(int count, int size) implements CommandResult {
+    }
+
+    /**
+     * A task was marked as done or not done.
+     *
+     * @param task updated task
+     * @param done true if the task is now done
+     */
+    record Marked(Task task, boolean done) implements CommandResult {
+    }
+
+    /**
+     * Several tasks were marked as done or not done by one command.
+     *
+     * @param count number of tasks changed
+     * @param done  true if the tasks are now done
+     */
+    record MarkedAll(int count, boolean done) implements CommandResult {
+    }
+
+    /**
+     * A task's priority was set.
+     *
+     * @param task  updated task
+     * @param index zero-based index of the task
+     */
+    record PrioritySet(Task task, int index) implements CommandResult {
+    }
+
+    /**
+     * The priority of several tasks was set by one command.
+     *
+     * @param count    number of tasks changed
+     * @param priority new priority
+     */
+    record PrioritySetAll(int count, Priority priority) implements CommandResult {
+    }
+
+    /**
+     * A change was undone or redone.
+     *
+     * @param command command that made the change
+     * @param count   number of tasks it affected
+     * @param size    list size afterwards
+     * @param redo    true if the change was made again rather than reversed
+     */
+    record Undone(CommandType command, int count, int size, boolean redo) implements CommandResult {
+    }
+
+    /**
+     * Tasks were imported from a file.
+     *
+     * @param count number of tasks read
+     * @param size  list size afterwards
+     */
+    record Imported(int count, int size) implements CommandResult {
+    }
+
+    /**
+     * Tasks were exported to a file.
+     *
+     * @param count number of tasks written
+     * @param path  destination file
+     */
+    record Exported(int count, String path) implements CommandResult {
+    }
+
+    /**
+     * The defined command aliases.
+     *
+     * @param aliases map from alias to command, sorted by alias
+     */
+    record Aliases(Map<String, CommandType> aliases) implements CommandResult {
+    }
+
+    /**
+     * An alias was defined.
+     *
+     * @param alias   new alias
+     * @param command command it stands for
+     */
+    record AliasAdded(String alias, CommandType command) implements CommandResult {
+    }
+
+    /**
+     * The help message was requested.
+     */
+    record Help() implements CommandResult {
+    }
+
+    /**
+     * The command could not be parsed or executed.
+     *
+     * @param message user-facing reason
+     */
+    record Failure(String message) implements CommandResult {
+    }
+}
@@ -9,10 +9,19 @@ public enum CommandType {
     UNMARK("unmark"),
     DELETE("delete"),
     FIND("find"),
+    DUE("due"),
+    ON("on"),
+    BETWEEN("between"),
+    CONFLICTS("conflicts"),
     TODO("todo"),
     DEADLINE("deadline"),
     EVENT("event"),
     PRIORITY("priority"),
+    IMPORT("import"),
+    EXPORT("export"),
+    ALIAS("alias"),
+    UNDO("undo"),
+    REDO("redo"),
     HELP("help"),
     BYE("bye");
 
@@ -32,29 +41,14 @@ public enum CommandType {
     }
 
     /**
-     * Attempts to infer the command from user input.
+     * Attempts to infer the command from user input, accepting the default
+     * aliases and unambiguous prefixes; see {@link CommandDispatcher}.
      *
      * @param input raw input line
      * @return matching {@link CommandType} or null
      */
     public static CommandType fromInput(String input) {
-        String trimmedInput = input.trim();
-
-        // Handle exact matches first
-        for (CommandType cmd : values()) {
-            if (trimmedInput.equals(cmd.command)) {
-                return cmd;
-            }
-        }
-
-        // Handle commands with arguments
-        for (CommandType cmd : values()) {
-            if (trimmedInput.startsWith(cmd.command + " ")) {
-                return cmd;
-            }
-        }
-
-        return null;
+        return CommandDispatcher.defaults().resolve(input);
     }
 
     /**
@@ -64,8 +58,7 @@ public enum CommandType {
      * @return true if matches
      */
     public boolean matches(String input) {
-        return input.startsWith(this.command + " ") || input.equals(this.command);
+        return input.startsWith(command)
+                && (input.length() == command.length() || input.charAt(command.length()) == ' ');
     }
 }
-
-
@@ -0,0 +1,99 @@
+package chungus.logic;
+
+import java.util.List;
+
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskStatus;
+
+/**
+ * A change made by one command, recorded with just enough to reverse it:
+ * the tasks a delete removed and where they were, or the status or priority
+ * each changed task had before. A bulk command is one edit, so it is undone
+ * as a unit. Positions are those at the time of the change, which is the
+ * state the list is back in whenever the edit is undone or redone.
+ */
+interface Edit {
+    /**
+     * Returns the command that made the change.
+     *
+     * @return command type
+     */
+    CommandType command();
+
+    /**
+     * Returns the number of tasks the change affected.
+     *
+     * @return task count
+     */
+    int count();
+
+    /**
+     * Tasks appended to the end of the list by an add or an import.
+     *
+     * @param command command that added them
+     * @param tasks   added tasks, in list order
+     */
+    record Added(CommandType command, List<Task> tasks) implements Edit {
+        @Override
+        public int count() {
+            return tasks.size();
+        }
+    }
+
+    /**
+     * Tasks removed by a delete.
+     *
+     * @param indices positions the tasks were removed from, in increasing order
+     * @param tasks   removed tasks, in the same order
+     */
+    record Deleted(int[] indices, List<Task> tasks) implements Edit {
+        @Override
+        public CommandType command() {
+            return CommandType.DELETE;
+        }
+
+        @Override
+        public int count() {
+            return indices.length;
+        }
+    }
+
+    /**
+     * Tasks marked as done or not done.
+     *
+     * @param indices  positions of the tasks
+     * @param previous status of each task before the change
+     * @param done     true if the tasks were marked as done
+     */
+    record StatusChanged(int[] indices, TaskStatus[] previous, boolean done) implements Edit {
+        @Override
+        public CommandType command() {
+            return done ? CommandType.MARK : CommandType.UNMARK;
+        }
+
+        @Override
+        public int count() {
+            return indices.length;
+        }
+    }
+
+    /**
+     * Tasks whose priority was set.
+     *
+     * @param indices  positions of the tasks
+     * @param previous priority of each task before the change
+     * @param priority new priority
+     */
+    record PriorityChanged(int[] indices, Priority[] previous, Priority priority) implements Edit {
+        @Override
+        public CommandType command() {
+            return CommandType.PRIORITY;
+        }
+
+        @Override
+        public int count() {
+            return indices.length;
+        }
+    }
+}
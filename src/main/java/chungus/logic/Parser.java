@@ -1,116 +1,383 @@
 package chungus.logic;
 
+import java.time.LocalDate;
+import java.util.Map;
+
 import chungus.common.ChungusException;
+import chungus.common.Constants;
+import chungus.common.DateParser;
+import chungus.model.Priority;
+import chungus.model.TaskStatus;
 
 /**
  * Responsible for parsing raw user input into structured command data.
  */
 
 public class Parser {
+    private final CommandDispatcher dispatcher = new CommandDispatcher();
+
     /**
-     * Parses the command type from a raw input line.
+     * Parses the command type from a raw input line. The first word may also
+     * be an alias or an unambiguous prefix of a command name.
      *
      * @param input Raw user input line.
      * @return The {@link CommandType} or null if not recognized.
      */
     public CommandType parseCommandType(String input) {
-        return CommandType.fromInput(input);
+        return dispatcher.resolve(input);
     }
 
     /**
-     * Parses a priority command of the form: "priority index level".
+     * Parses a whole input line into a typed command. The line is resolved to
+     * a command once and its arguments are then read in a single left-to-right
+     * pass; dates, numbers and priority levels are parsed here, so the result
+     * needs no further string handling.
      *
-     * @param input raw user input
-     * @return array [taskIndex, levelString]
-     * @throws ChungusException if invalid
+     * @param input Raw user input line.
+     * @return Parsed command.
+     * @throws ChungusException if the command is unknown or its arguments are invalid.
      */
-    public Object[] parsePriorityCommand(String input) throws ChungusException {
-        String rest = input.substring(CommandType.PRIORITY.getCommand().length()).trim();
-        if (rest.isEmpty()) {
-            throw new ChungusException("Please provide a task number and priority level.");
+    public Command parse(String input) throws ChungusException {
+        CommandType type = dispatcher.resolve(input);
+        if (type == null) {
+            throw new ChungusException(Constants.MSG_UNKNOWN);
         }
-        String[] tokens = rest.split(" ", 2);
-        if (tokens.length < 2) {
-            throw new ChungusException("Please provide a priority level: high, medium, or low.");
+        String args = argumentsAfterFirstWord(input);
+        switch (type) {
+        case LIST:
+            if (isListFilter(args)) {
+                return parseListFilter(args);
+            }
+            return parseListRange(args);
+        case DUE:
+            return parseDueArguments(args);
+        case ON:
+            requireArgument(args, Constants.MSG_ON_USAGE);
+            LocalDate day = parseDate(args);
+            return new Command.EventsDuring(day, day);
+        case BETWEEN:
+            return parseBetweenArguments(args);
+        case CONFLICTS:
+            return new Command.Conflicts();
+        case FIND:
+            requireArgument(args, Constants.MSG_PROVIDE_KEYWORD);
+            if (args.length() > 1 && args.endsWith(Constants.WORD_PREFIX_WILDCARD)) {
+                return new Command.Find(args.substring(0, args.length() - 1), true);
+            }
+            return new Command.Find(args, false);
+        case MARK:
+        case UNMARK:
+            return new Command.Mark(parseSelectorArgument(args), type == CommandType.MARK);
+        case DELETE:
+            return new Command.Delete(parseSelectorArgument(args));
+        case TODO:
+            requireArgument(args, Constants.MSG_TODO_EMPTY);
+            return new Command.AddTodo(args);
+        case DEADLINE:
+            return parseDeadlineArguments(args);
+        case EVENT:
+            return parseEventArguments(args);
+        case PRIORITY:
+            return parsePriorityArguments(args);
+        case IMPORT:
+            requireArgument(args, Constants.MSG_PROVIDE_FILE_PATH);
+            return new Command.Import(args);
+        case EXPORT:
+            requireArgument(args, Constants.MSG_PROVIDE_FILE_PATH);
+            return new Command.Export(args);
+        case ALIAS:
+            return parseAliasArguments(args);
+        case UNDO:
+            return new Command.Undo();
+        case REDO:
+            return new Command.Redo();
+        case HELP:
+            return new Command.Help();
+        case BYE:
+            return new Command.Exit();
+        default:
+            throw new ChungusException(Constants.MSG_UNKNOWN);
+        }
+    }
+
+    /**
+     * Defines an alias for the rest of the session.
+     *
+     * @param alias  New alias.
+     * @param target Command name or existing alias it should stand for.
+     * @return Command the alias now stands for.
+     * @throws ChungusException if the alias is not acceptable.
+     */
+    public CommandType defineAlias(String alias, String target) throws ChungusException {
+        return dispatcher.addAlias(alias, target);
+    }
+
+    /**
+     * Returns the aliases currently defined, sorted by alias.
+     *
+     * @return read-only map from alias to command
+     */
+    public Map<String, CommandType> getAliases() {
+        return dispatcher.getAliases();
+    }
+
+    /**
+     * Parses the range of a list command: nothing, a page number, or
+     * {@code --from <task number> --limit <count>}, where either option may be left out.
+     */
+    private static Command parseListRange(String args) throws ChungusException {
+        if (args.isEmpty()) {
+            return new Command.ListTasks(0, Command.ListTasks.UNSPECIFIED);
+        }
+        String[] tokens = args.split("\\s+");
+        if (tokens.length == 1) {
+            int page = parsePositive(tokens[0]);
+            long offset = (long) (page - 1) * Constants.LIST_PAGE_SIZE;
+            return new Command.ListTasks((int) Math.min(offset, Integer.MAX_VALUE), Constants.LIST_PAGE_SIZE);
         }
-        int index;
+        int from = 1;
+        int limit = Command.ListTasks.UNSPECIFIED;
+        if (tokens.length % 2 != 0) {
+            throw new ChungusException(Constants.MSG_LIST_USAGE);
+        }
+        for (int i = 0; i < tokens.length; i += 2) {
+            switch (tokens[i]) {
+            case Constants.OPTION_FROM:
+                from = parsePositive(tokens[i + 1]);
+                break;
+            case Constants.OPTION_LIMIT:
+                limit = parsePositive(tokens[i + 1]);
+                break;
+            default:
+                throw new ChungusException(Constants.MSG_LIST_USAGE);
+            }
+        }
+        return new Command.ListTasks(from - 1, limit);
+    }
+
+    private static int parsePositive(String token) throws ChungusException {
+        int value;
         try {
-            index = Integer.parseInt(tokens[0]) - 1;
+            value = Integer.parseInt(token);
         } catch (NumberFormatException e) {
-            throw new ChungusException("Please provide a valid number for the task.");
+            throw new ChungusException(Constants.MSG_LIST_USAGE);
         }
-        String level = tokens[1].trim();
-        if (level.isEmpty()) {
-            throw new ChungusException("Please provide a priority level: high, medium, or low.");
+        if (value < 1) {
+            throw new ChungusException(Constants.MSG_LIST_USAGE);
         }
-        return new Object[]{index, level};
+        return value;
+    }
+
+    private static void requireArgument(String args, String message) throws ChungusException {
+        if (args.isEmpty()) {
+            throw new ChungusException(message);
+        }
+    }
+
+    private static TaskSelector parseSelectorArgument(String args) throws ChungusException {
+        requireArgument(args, Constants.MSG_PROVIDE_TASK_NUMBER);
+        return TaskSelector.parse(args);
     }
 
     /**
-     * Parses a 1-based task index following a command keyword.
-     *
-     * @param input   Raw user input.
-     * @param command Command keyword used as prefix.
-     * @return Zero-based index.
-     * @throws ChungusException if index is missing or invalid.
+     * Returns whether list arguments are filters rather than a page or range,
+     * which start with a digit or an option.
      */
-    public int parseTaskIndex(String input, String command) throws ChungusException {
-        try {
-            String indexStr = input.substring(command.length()).trim();
-            if (indexStr.isEmpty()) {
-                throw new ChungusException("Please provide a task number.");
+    private static boolean isListFilter(String args) {
+        return !args.isEmpty() && !Character.isDigit(args.charAt(0)) && !args.startsWith("--");
+    }
+
+    /**
+     * Parses {@code list} filters: at most one of {@code done} and
+     * {@code undone} and at most one priority level, in either order.
+     */
+    private static Command parseListFilter(String args) throws ChungusException {
+        TaskStatus status = null;
+        Priority priority = null;
+        for (String token : args.split("\\s+")) {
+            Priority level = Priority.parseOrNull(token);
+            if (token.equals(Constants.SELECTOR_DONE) && status == null) {
+                status = TaskStatus.DONE;
+            } else if (token.equals(Constants.SELECTOR_UNDONE) && status == null) {
+                status = TaskStatus.NOT_DONE;
+            } else if (level != null && priority == null) {
+                priority = level;
+            } else {
+                throw new ChungusException(Constants.MSG_LIST_USAGE);
             }
-            return Integer.parseInt(indexStr) - 1;
-        } catch (NumberFormatException e) {
-            throw new ChungusException("Please provide a valid number for the task.");
         }
+        return new Command.ListWhere(status, priority);
+    }
+
+    private static Command parseDueArguments(String args) throws ChungusException {
+        int space = args.indexOf(' ');
+        if (space < 0 || !args.substring(0, space).equals(Constants.TOKEN_BEFORE)) {
+            throw new ChungusException(Constants.MSG_DUE_USAGE);
+        }
+        return new Command.DueBefore(parseDate(args.substring(space + 1)));
+    }
+
+    private static Command parseBetweenArguments(String args) throws ChungusException {
+        String[] dates = args.split("\\s+");
+        if (dates.length != 2) {
+            throw new ChungusException(Constants.MSG_BETWEEN_USAGE);
+        }
+        LocalDate from = parseDate(dates[0]);
+        LocalDate to = parseDate(dates[1]);
+        if (to.isBefore(from)) {
+            throw new ChungusException(Constants.MSG_RANGE_REVERSED);
+        }
+        return new Command.EventsDuring(from, to);
+    }
+
+    private static LocalDate parseDate(String text) throws ChungusException {
+        LocalDate date = DateParser.parse(text);
+        if (date == null) {
+            throw new ChungusException(Constants.MSG_INVALID_DATE_FORMAT);
+        }
+        return date;
+    }
+
+    private static Command parseDeadlineArguments(String args) throws ChungusException {
+        String[] fields = splitAtMarkers(args, Constants.TOKEN_BY);
+        if (fields[1] == null) {
+            throw new ChungusException(Constants.MSG_DEADLINE_NEEDS_BY);
+        }
+        requireArgument(fields[0], Constants.MSG_DEADLINE_DESC_EMPTY);
+        requireArgument(fields[1], Constants.MSG_DEADLINE_DATE_EMPTY);
+        LocalDate by = DateParser.parse(fields[1]);
+        if (by == null) {
+            throw new ChungusException(Constants.MSG_INVALID_DATE_FORMAT);
+        }
+        return new Command.AddDeadline(fields[0], by);
+    }
+
+    private static Command parseEventArguments(String args) throws ChungusException {
+        String[] fields = splitAtMarkers(args, Constants.TOKEN_FROM, Constants.TOKEN_TO);
+        if (fields[1] == null || fields[2] == null) {
+            throw new ChungusException(Constants.MSG_EVENT_NEEDS_FROM_TO);
+        }
+        requireArgument(fields[0], Constants.MSG_EVENT_DESC_EMPTY);
+        requireArgument(fields[1], Constants.MSG_EVENT_START_EMPTY);
+        requireArgument(fields[2], Constants.MSG_EVENT_END_EMPTY);
+        LocalDate from = DateParser.parse(fields[1]);
+        if (from == null) {
+            throw new ChungusException(Constants.MSG_INVALID_START_DATE);
+        }
+        LocalDate to = DateParser.parse(fields[2]);
+        if (to == null) {
+            throw new ChungusException(Constants.MSG_INVALID_END_DATE);
+        }
+        if (to.isBefore(from)) {
+            throw new ChungusException(Constants.MSG_RANGE_REVERSED);
+        }
+        return new Command.AddEvent(fields[0], from, to);
+    }
+
+    private static Command parsePriorityArguments(String args) throws ChungusException {
+        requireArgument(args, "Please provide a task number and priority level.");
+        int space = args.indexOf(' ');
+        if (space < 0) {
+            throw new ChungusException("Please provide a priority level: high, medium, or low.");
+        }
+        Priority leading = Priority.parseOrNull(args.substring(0, space));
+        if (leading != null) {
+            return new Command.SetPriority(parseSelectorArgument(args.substring(space + 1).trim()), leading);
+        }
+        int lastSpace = args.lastIndexOf(' ');
+        Priority level = Priority.parseOrNull(args.substring(lastSpace + 1));
+        if (level == null) {
+            throw new ChungusException(Constants.MSG_INVALID_PRIORITY);
+        }
+        return new Command.SetPriority(parseSelectorArgument(args.substring(0, lastSpace).trim()), level);
+    }
+
+    private static Command parseAliasArguments(String args) throws ChungusException {
+        if (args.isEmpty()) {
+            return new Command.Alias(null, null);
+        }
+        int space = args.indexOf(' ');
+        if (space < 0) {
+            throw new ChungusException(Constants.MSG_ALIAS_USAGE);
+        }
+        String target = args.substring(space + 1).trim();
+        if (target.indexOf(' ') >= 0) {
+            throw new ChungusException(Constants.MSG_ALIAS_USAGE);
+        }
+        return new Command.Alias(args.substring(0, space), target);
     }
 
     /**
-     * Extracts the description following a command keyword.
-     *
-     * @param input   Raw user input.
-     * @param command Command keyword used as prefix.
-     * @return Trimmed description string (may be empty).
+     * Returns the trimmed text after the command word, however the word was spelled.
      */
-    public String parseDescription(String input, String command) {
-        return input.substring(command.length()).trim();
+    private static String argumentsAfterFirstWord(String input) {
+        int start = 0;
+        int length = input.length();
+        while (start < length && input.charAt(start) <= ' ') {
+            start++;
+        }
+        int wordEnd = input.indexOf(' ', start);
+        return wordEnd < 0 ? "" : trimmedSubstring(input, wordEnd, length);
     }
 
     /**
-     * Parses a deadline command line into description and due date (/by).
-     *
-     * @param input Raw user input.
-     * @return Array [description, byDate].
-     * @throws ChungusException for malformed input.
+     * Same as {@code s.substring(from, to).trim()}, but copies the text only once.
      */
-    public String[] parseDeadline(String input) throws ChungusException {
-        try {
-            String description = input.substring(9, input.indexOf("/by")).trim();
-            String by = input.substring(input.indexOf("/by") + 4).trim();
-            return new String[]{description, by};
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new ChungusException("Invalid deadline format. Use: deadline <description> /by <date>");
+    private static String trimmedSubstring(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') {
+            from++;
         }
+        while (to > from && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return s.substring(from, to);
     }
 
     /**
-     * Parses an event command line into description, from (/from) and to (/to).
+     * Splits arguments into the text before the first marker and the text
+     * after each marker. A marker only counts as a whole word and only the
+     * first time it appears; later occurrences are kept as text.
      *
-     * @param input Raw user input.
-     * @return Array [description, from, to].
-     * @throws ChungusException for malformed input.
+     * @return Array [leading text, text after markers[0], ...]; null for markers not present.
      */
-    public String[] parseEvent(String input) throws ChungusException {
-        try {
-            String description = input.substring(6, input.indexOf("/from")).trim();
-            String from = input.substring(input.indexOf("/from") + 6, input.indexOf("/to")).trim();
-            String to = input.substring(input.indexOf("/to") + 4).trim();
-            return new String[]{description, from, to};
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new ChungusException("Invalid event format. Use: event <description> /from <start> /to <end>");
+    private static String[] splitAtMarkers(String args, String... markers) {
+        int[] starts = new int[markers.length];
+        int first = args.length();
+        for (int m = 0; m < markers.length; m++) {
+            starts[m] = indexOfWord(args, markers[m]);
+            if (starts[m] >= 0) {
+                first = Math.min(first, starts[m]);
+            }
         }
+        String[] fields = new String[markers.length + 1];
+        fields[0] = trimmedSubstring(args, 0, first);
+        for (int m = 0; m < markers.length; m++) {
+            if (starts[m] < 0) {
+                continue;
+            }
+            int from = starts[m] + markers[m].length();
+            int to = args.length();
+            for (int start : starts) {
+                if (start > starts[m] && start < to) {
+                    to = start;
+                }
+            }
+            fields[m + 1] = trimmedSubstring(args, from, to);
+        }
+        return fields;
     }
-}
-
 
+    private static int indexOfWord(String s, String word) {
+        int i = s.indexOf(word);
+        while (i >= 0) {
+            int end = i + word.length();
+            boolean startsWord = i == 0 || s.charAt(i - 1) == ' ';
+            boolean endsWord = end == s.length() || s.charAt(end) == ' ';
+            if (startsWord && endsWord) {
+                return i;
+            }
+            i = s.indexOf(word, i + 1);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,251 @@
+package chungus.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+import chungus.common.ChungusException;
+import chungus.common.Constants;
+import chungus.model.Task;
+import chungus.model.TaskList;
+import chungus.model.TaskStatus;
+
+/**
+ * The tasks a {@code mark}, {@code unmark}, {@code delete} or {@code priority}
+ * command applies to. Accepts a task number ({@code 5}), a range
+ * ({@code 5-900}), a task ID ({@code #42}), a comma-separated list of any of
+ * these ({@code 1,4,9-12,#42}), {@code done}, {@code undone}, or
+ * {@code find:<text>} for tasks whose description contains the text. Task
+ * numbers change when earlier tasks are deleted; IDs do not. {@link #resolve(TaskList)} turns a selector
+ * into sorted positions with at most one pass over the list, so a bulk
+ * command can then apply all changes in a single pass as well.
+ */
+public final class TaskSelector {
+    private enum Kind { NUMBERS, DONE, UNDONE, KEYWORD }
+
+    private final Kind kind;
+    /** For NUMBERS: pairs of zero-based start (inclusive) and end (exclusive) positions. */
+    private final int[] ranges;
+    /** For NUMBERS: task IDs given with {@code #}. */
+    private final long[] ids;
+    private final String keyword;
+
+    private TaskSelector(Kind kind, int[] ranges, long[] ids, String keyword) {
+        this.kind = kind;
+        this.ranges = ranges;
+        this.ids = ids;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns a selector for a single task.
+     *
+     * @param index zero-based task index
+     * @return selector for that task
+     */
+    public static TaskSelector index(int index) {
+        return new TaskSelector(Kind.NUMBERS, new int[] {index, index + 1}, new long[0], null);
+    }
+
+    /**
+     * Returns a selector for the task with the given ID.
+     *
+     * @param id task ID
+     * @return selector for that task
+     */
+    public static TaskSelector id(long id) {
+        return new TaskSelector(Kind.NUMBERS, new int[0], new long[] {id}, null);
+    }
+
+    /**
+     * Parses a selector as typed by the user.
+     *
+     * @param text non-blank selector text
+     * @return parsed selector
+     * @throws ChungusException if the text is not a valid selector
+     */
+    public static TaskSelector parse(String text) throws ChungusException {
+        if (text.equals(Constants.SELECTOR_DONE)) {
+            return new TaskSelector(Kind.DONE, null, null, null);
+        }
+        if (text.equals(Constants.SELECTOR_UNDONE)) {
+            return new TaskSelector(Kind.UNDONE, null, null, null);
+        }
+        if (text.startsWith(Constants.SELECTOR_FIND)) {
+            String keyword = text.substring(Constants.SELECTOR_FIND.length()).trim();
+            if (keyword.isEmpty()) {
+                throw new ChungusException(Constants.MSG_PROVIDE_KEYWORD);
+            }
+            return new TaskSelector(Kind.KEYWORD, null, null, keyword);
+        }
+        String[] parts = text.split(",", -1);
+        int[] ranges = new int[parts.length * 2];
+        long[] ids = new long[parts.length];
+        int rangeCount = 0;
+        int idCount = 0;
+        for (String p : parts) {
+            String part = p.trim();
+            if (part.startsWith(Constants.SELECTOR_ID)) {
+                ids[idCount++] = parseTaskId(part.substring(Constants.SELECTOR_ID.length()));
+                continue;
+            }
+            int dash = part.indexOf('-', 1);
+            int first = parseTaskNumber(dash < 0 ? part : part.substring(0, dash));
+            int last = dash < 0 ? first : parseTaskNumber(part.substring(dash + 1));
+            if (last < first) {
+                throw new ChungusException("Invalid range " + part + ": the first task number must come first.");
+            }
+            ranges[rangeCount++] = first - 1;
+            ranges[rangeCount++] = last;
+        }
+        return new TaskSelector(Kind.NUMBERS, Arrays.copyOf(ranges, rangeCount), Arrays.copyOf(ids, idCount), null);
+    }
+
+    /**
+     * Finds the positions of the selected tasks.
+     *
+     * @param tasks list to select from
+     * @return zero-based positions in increasing order, without duplicates; never empty
+     * @throws ChungusException if a task number is out of range or nothing matches
+     */
+    public int[] resolve(TaskList tasks) throws ChungusException {
+        int[] selected;
+        switch (kind) {
+        case NUMBERS:
+            selected = resolveNumbers(tasks);
+            break;
+        case DONE:
+        case UNDONE:
+            selected = resolveStatus(tasks, kind == Kind.DONE);
+            break;
+        default:
+            selected = resolveKeyword(tasks);
+            break;
+        }
+        if (selected.length == 0) {
+            throw new ChungusException("No tasks match '" + this + "'.");
+        }
+        return selected;
+    }
+
+    private int[] resolveNumbers(TaskList tasks) throws ChungusException {
+        int size = tasks.size();
+        for (int i = 1; i < ranges.length; i += 2) {
+            if (ranges[i - 1] < 0 || ranges[i] > size) {
+                throw new ChungusException("Invalid task number. Please enter a number between 1 and " + size);
+            }
+        }
+        int[] idIndices = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            idIndices[i] = tasks.indexOf(ids[i]);
+            if (idIndices[i] < 0) {
+                throw new ChungusException("There is no task with ID " + Constants.SELECTOR_ID + ids[i] + ".");
+            }
+        }
+        if (ranges.length == 2 && ids.length == 0) {
+            int[] selected = new int[ranges[1] - ranges[0]];
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = ranges[0] + i;
+            }
+            return selected;
+        }
+        if (ranges.length == 0 && ids.length == 1) {
+            return idIndices;
+        }
+        BitSet bits = new BitSet(size);
+        for (int i = 1; i < ranges.length; i += 2) {
+            bits.set(ranges[i - 1], ranges[i]);
+        }
+        for (int index : idIndices) {
+            bits.set(index);
+        }
+        return bits.stream().toArray();
+    }
+
+    private static int[] resolveStatus(TaskList tasks, boolean done) {
+        return tasks.indicesOf(done ? TaskStatus.DONE : TaskStatus.NOT_DONE);
+    }
+
+    /**
+     * Looks the keyword up like {@code find} does, then finds each match's
+     * position by its ID, as the {@code #id} selector does.
+     */
+    private int[] resolveKeyword(TaskList tasks) {
+        ArrayList<Task> matches = tasks.findByKeyword(keyword);
+        int[] selected = new int[matches.size()];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = tasks.indexOf(matches.get(i).getId());
+            assert selected[i] >= 0 : "find results must be in the list";
+        }
+        return selected;
+    }
+
+    private static int parseTaskNumber(String s) throws ChungusException {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            throw new ChungusException("Please provide a valid number for the task.");
+        }
+    }
+
+    private static long parseTaskId(String s) throws ChungusException {
+        try {
+            long id = Long.parseLong(s.trim());
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new ChungusException("Please provide a valid task ID after '" + Constants.SELECTOR_ID + "'.");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TaskSelector)) {
+            return false;
+        }
+        TaskSelector other = (TaskSelector) o;
+        return kind == other.kind && Arrays.equals(ranges, other.ranges) && Arrays.equals(ids, other.ids)
+                && Objects.equals(keyword, other.keyword);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, Arrays.hashCode(ranges), Arrays.hashCode(ids), keyword);
+    }
+
+    /**
+     * Returns the selector in the form the user would type it.
+     */
+    @Override
+    public String toString() {
+        switch (kind) {
+        case DONE:
+            return Constants.SELECTOR_DONE;
+        case UNDONE:
+            return Constants.SELECTOR_UNDONE;
+        case KEYWORD:
+            return Constants.SELECTOR_FIND + keyword;
+        default:
+            StringBuilder sb = new StringBuilder();
+            for (int i = 1; i < ranges.length; i += 2) {
+                if (i > 1) {
+                    sb.append(',');
+                }
+                sb.append(ranges[i - 1] + 1);
+                if (ranges[i] - ranges[i - 1] > 1) {
+                    sb.append('-').append(ranges[i]);
+                }
+            }
+            for (long id : ids) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(Constants.SELECTOR_ID).append(id);
+            }
+            return sb.toString();
+        }
+    }
+}
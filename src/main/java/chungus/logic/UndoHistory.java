@@ -0,0 +1,71 @@
+package chungus.logic;
+
+/**
+ * The most recent edits, kept in a fixed-size ring buffer so that memory
+ * depends on the history length rather than on the size of the task list.
+ * Edits that were undone stay in the buffer after the newest undoable one
+ * until they are redone or a new edit replaces them; once the buffer is
+ * full, each new edit drops the oldest.
+ */
+class UndoHistory {
+    private final Edit[] edits;
+    private int next;
+    private int undoable;
+    private int redoable;
+
+    /**
+     * Creates an empty history.
+     *
+     * @param capacity number of edits kept
+     */
+    UndoHistory(int capacity) {
+        assert capacity > 0 : "history must hold at least one edit";
+        edits = new Edit[capacity];
+    }
+
+    /**
+     * Records a new edit, which discards any edits that could be redone.
+     *
+     * @param edit edit just made
+     */
+    void record(Edit edit) {
+        edits[next] = edit;
+        next = (next + 1) % edits.length;
+        undoable = Math.min(undoable + 1, edits.length);
+        for (int i = 1; i < redoable; i++) {
+            edits[(next + i - 1) % edits.length] = null;
+        }
+        redoable = 0;
+    }
+
+    /**
+     * Takes the newest undoable edit and makes it the next one to redo.
+     *
+     * @return edit to undo, or null if there is none
+     */
+    Edit undo() {
+        if (undoable == 0) {
+            return null;
+        }
+        next = (next - 1 + edits.length) % edits.length;
+        undoable--;
+        redoable++;
+        return edits[next];
+    }
+
+    /**
+     * Takes the most recently undone edit and makes it undoable again.
+     *
+     * @return edit to redo, or null if there is none
+     */
+    Edit redo() {
+        if (redoable == 0) {
+            return null;
+        }
+        Edit edit = edits[next];
+        next = (next + 1) % edits.length;
+        redoable--;
+        undoable++;
+        return edit;
+    }
+}
@@ -0,0 +1,180 @@
+package chungus.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes over task status, priority and dates, maintained
+ * incrementally as tasks are added, removed and updated. Status and priority
+ * are bitsets over task IDs rather than list positions, so deleting a task
+ * clears one bit instead of shifting every later position. Dates map to
+ * postings in a sorted map: a deadline under its due date and an event under
+ * its start and end dates.
+ */
+class AttributeIndex {
+    private final BitSet[] byStatus = newBitSets(TaskStatus.values().length);
+    private final BitSet[] byPriority = newBitSets(Priority.values().length);
+    private final TreeMap<LocalDate, Postings> byDate = new TreeMap<>();
+
+    /**
+     * Indexes a task.
+     *
+     * @param task task with an ID
+     */
+    void add(Task task) {
+        int id = bitOf(task);
+        byStatus[task.getStatus().ordinal()].set(id);
+        byPriority[priorityOf(task).ordinal()].set(id);
+        if (task instanceof Deadline) {
+            addDate(((Deadline) task).getDueDate(), task);
+        } else if (task instanceof Event) {
+            addDate(((Event) task).getFromDate(), task);
+            addDate(((Event) task).getToDate(), task);
+        }
+    }
+
+    /**
+     * Removes a task from every index.
+     *
+     * @param task indexed task
+     */
+    void remove(Task task) {
+        int id = bitOf(task);
+        clear(byStatus, id);
+        clear(byPriority, id);
+        if (task instanceof Deadline) {
+            removeDate(((Deadline) task).getDueDate(), task);
+        } else if (task instanceof Event) {
+            removeDate(((Event) task).getFromDate(), task);
+            removeDate(((Event) task).getToDate(), task);
+        }
+    }
+
+    /**
+     * Removes several tasks, compacting the postings of each affected date
+     * once rather than once per task.
+     *
+     * @param tasks   indexed tasks
+     * @param removed the same tasks, by ID
+     */
+    void removeAll(List<Task> tasks, TaskIdMap removed) {
+        Set<LocalDate> affectedDates = new HashSet<>();
+        for (Task task : tasks) {
+            int id = bitOf(task);
+            clear(byStatus, id);
+            clear(byPriority, id);
+            if (task instanceof Deadline) {
+                affectedDates.add(((Deadline) task).getDueDate());
+            } else if (task instanceof Event) {
+                affectedDates.add(((Event) task).getFromDate());
+                affectedDates.add(((Event) task).getToDate());
+            }
+        }
+        for (LocalDate date : affectedDates) {
+            Postings p = byDate.get(date);
+            if (p == null) {
+                continue;
+            }
+            p.removeAll(removed);
+            if (p.isEmpty()) {
+                byDate.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Moves a task to the bitset of its current status.
+     *
+     * @param task indexed task whose status may have changed
+     */
+    void updateStatus(Task task) {
+        int id = bitOf(task);
+        clear(byStatus, id);
+        byStatus[task.getStatus().ordinal()].set(id);
+    }
+
+    /**
+     * Moves a task to the bitset of its current priority.
+     *
+     * @param task indexed task whose priority may have changed
+     */
+    void updatePriority(Task task) {
+        int id = bitOf(task);
+        clear(byPriority, id);
+        byPriority[priorityOf(task).ordinal()].set(id);
+    }
+
+    /**
+     * Returns the IDs of tasks with the given status and priority. The
+     * returned bitset may be one of the indexes, so it must not be modified.
+     *
+     * @param status   status to match, or null for any
+     * @param priority priority to match, or null for any
+     * @return IDs of matching tasks; null if both arguments are null
+     */
+    BitSet select(TaskStatus status, Priority priority) {
+        if (priority == null) {
+            return status != null ? byStatus[status.ordinal()] : null;
+        }
+        if (status == null) {
+            return byPriority[priority.ordinal()];
+        }
+        BitSet result = (BitSet) byStatus[status.ordinal()].clone();
+        result.and(byPriority[priority.ordinal()]);
+        return result;
+    }
+
+    /**
+     * Returns tasks with a date before the given one: deadlines due before it
+     * and events that start before it.
+     *
+     * @param date exclusive upper bound
+     * @return matching tasks in list order
+     */
+    ArrayList<Task> findBefore(LocalDate date) {
+        return Postings.union(new ArrayList<>(byDate.headMap(date, false).values()));
+    }
+
+    private void addDate(LocalDate date, Task task) {
+        byDate.computeIfAbsent(date, k -> new Postings()).add(task);
+    }
+
+    private void removeDate(LocalDate date, Task task) {
+        Postings p = byDate.get(date);
+        if (p == null) {
+            return;
+        }
+        p.remove(task);
+        if (p.isEmpty()) {
+            byDate.remove(date);
+        }
+    }
+
+    private static int bitOf(Task task) {
+        assert task.getId() > 0 && task.getId() <= Integer.MAX_VALUE : "task must have an ID that fits a bitset";
+        return (int) task.getId();
+    }
+
+    private static Priority priorityOf(Task task) {
+        return task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+    }
+
+    private static void clear(BitSet[] sets, int id) {
+        for (BitSet set : sets) {
+            set.clear(id);
+        }
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] sets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            sets[i] = new BitSet();
+        }
+        return sets;
+    }
+}
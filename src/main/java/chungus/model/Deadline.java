@@ -1,11 +1,10 @@
 package chungus.model;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import chungus.common.ChungusException;
 import chungus.common.Constants;
+import chungus.common.DateParser;
 
 /**
  * Task with a due date.
@@ -22,28 +21,22 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String rawDeadline) throws ChungusException {
         super(description);
-        this.dueDate = parseDate(rawDeadline);
+        this.dueDate = DateParser.parse(rawDeadline);
         if (this.dueDate == null) {
             throw new ChungusException(Constants.MSG_INVALID_DATE_FORMAT);
         }
     }
 
-    private LocalDate parseDate(String input) {
-        String trimmed = input.trim();
-        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-                DateTimeFormatter.ofPattern("d/M/yyyy"),
-                DateTimeFormatter.ofPattern("d-M-yyyy")
-        };
-        for (DateTimeFormatter f : formatters) {
-            try {
-                return LocalDate.parse(trimmed, f);
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
-        }
-        // If no format matches, return null instead of dueDate (which is still null)
-        return null;
+    /**
+     * Creates a deadline task from an already parsed due date.
+     *
+     * @param description description text
+     * @param dueDate     due date
+     */
+    public Deadline(String description, LocalDate dueDate) {
+        super(description);
+        assert dueDate != null : "dueDate must not be null";
+        this.dueDate = dueDate;
     }
 
     /**
@@ -52,12 +45,16 @@ public class Deadline extends Task {
      * @return ISO date or null if date parsing fails
      */
     public String getByIso() {
-        return this.dueDate != null ? this.dueDate.format(DateTimeFormatter.ISO_LOCAL_DATE) : null;
+        return this.dueDate != null ? DateParser.formatIso(this.dueDate) : null;
+    }
+
+    public LocalDate getDueDate() {
+        return this.dueDate;
     }
 
     @Override
     public String toString() {
-        String formatted = this.dueDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        String formatted = DateParser.formatDisplay(this.dueDate);
         return String.format("[%s] %s (by: %s)", TaskType.DEADLINE.getSymbol(), super.toString(), formatted);
     }
 }
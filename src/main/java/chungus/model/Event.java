@@ -1,11 +1,10 @@
 package chungus.model;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import chungus.common.ChungusException;
 import chungus.common.Constants;
+import chungus.common.DateParser;
 
 /**
  * Task that spans a start and end date/time.
@@ -28,8 +27,8 @@ public class Event extends Task {
         super(description);
         this.fromRaw = from;
         this.toRaw = to;
-        this.fromDate = tryParseDate(from);
-        this.toDate = tryParseDate(to);
+        this.fromDate = DateParser.parse(from);
+        this.toDate = DateParser.parse(to);
 
         if (this.fromDate == null) {
             throw new ChungusException(Constants.MSG_INVALID_START_DATE);
@@ -39,28 +38,24 @@ public class Event extends Task {
         }
     }
 
-    private LocalDate tryParseDate(String input) {
-        if (input == null) {
-            return null;
-        }
-        String trimmed = input.trim();
-        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-                DateTimeFormatter.ofPattern("d/M/yyyy"),
-                DateTimeFormatter.ofPattern("d-M-yyyy")
-        };
-        for (DateTimeFormatter f : formatters) {
-            try {
-                return LocalDate.parse(trimmed, f);
-            } catch (DateTimeParseException ignored) {
-                // not a date in this format; continue
-            }
-        }
-        return null;
+    /**
+     * Creates an event from already parsed dates.
+     *
+     * @param description description text
+     * @param fromDate    start date
+     * @param toDate      end date
+     */
+    public Event(String description, LocalDate fromDate, LocalDate toDate) {
+        super(description);
+        assert fromDate != null && toDate != null : "event dates must not be null";
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.fromRaw = fromDate.toString();
+        this.toRaw = toDate.toString();
     }
 
     private String formatForDisplay(String raw, LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        return DateParser.formatDisplay(date);
     }
 
     public String getFrom() {
@@ -71,12 +66,20 @@ public class Event extends Task {
         return this.toRaw;
     }
 
+    public LocalDate getFromDate() {
+        return this.fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return this.toDate;
+    }
+
     public String getFromIso() {
-        return this.fromDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return DateParser.formatIso(this.fromDate);
     }
 
     public String getToIso() {
-        return this.toDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return DateParser.formatIso(this.toDate);
     }
 
     @Override
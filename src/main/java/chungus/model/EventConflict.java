@@ -0,0 +1,10 @@
+package chungus.model;
+
+/**
+ * Two events whose date ranges overlap.
+ *
+ * @param first  event that starts first, or has the lower ID if both start on the same day
+ * @param second the other event
+ */
+public record EventConflict(Event first, Event second) {
+}
@@ -0,0 +1,232 @@
+package chungus.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Interval tree over events, maintained incrementally as events are added
+ * and removed. Events are kept in a treap ordered by start date and then ID,
+ * and every node also records the latest end date in its subtree, so an
+ * overlap query can skip any subtree that ends before the range and stop at
+ * the first node that starts after it. Dates are compared as epoch days and
+ * both ends of an event are inclusive.
+ */
+class EventIntervalTree {
+    private Node root;
+    private int size;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Adds an event.
+     *
+     * @param event event with an ID
+     */
+    void add(Event event) {
+        root = insert(root, new Node(event, nextPriority()));
+        size++;
+    }
+
+    /**
+     * Removes an event if present.
+     *
+     * @param event event to remove
+     */
+    void remove(Event event) {
+        root = delete(root, startOf(event), event.getId());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the events that overlap the given range.
+     *
+     * @param from first day of the range, as an epoch day
+     * @param to   last day of the range, as an epoch day
+     * @return overlapping events ordered by start date
+     */
+    ArrayList<Task> findOverlapping(long from, long to) {
+        ArrayList<Task> matches = new ArrayList<>();
+        collect(root, from, to, matches);
+        return matches;
+    }
+
+    /**
+     * Returns every pair of overlapping events. Walks the events in start
+     * order once while keeping the ones that have not ended yet in a heap, so
+     * the cost is the number of events times log of how many overlap at
+     * once, plus the number of pairs.
+     *
+     * @return pairs ordered by the start date of the later-starting event
+     */
+    List<EventConflict> findConflicts() {
+        List<Event> ordered = new ArrayList<>(size);
+        inOrder(root, ordered);
+        List<EventConflict> conflicts = new ArrayList<>();
+        PriorityQueue<Event> active = new PriorityQueue<>((a, b) -> Long.compare(endOf(a), endOf(b)));
+        for (Event event : ordered) {
+            long start = startOf(event);
+            while (!active.isEmpty() && endOf(active.peek()) < start) {
+                active.poll();
+            }
+            List<Event> overlapping = new ArrayList<>(active);
+            overlapping.sort((a, b) -> compare(startOf(a), a.getId(), b));
+            for (Event earlier : overlapping) {
+                conflicts.add(new EventConflict(earlier, event));
+            }
+            active.add(event);
+        }
+        return conflicts;
+    }
+
+    static long startOf(Event event) {
+        return Math.min(event.getFromDate().toEpochDay(), event.getToDate().toEpochDay());
+    }
+
+    static long endOf(Event event) {
+        return Math.max(event.getFromDate().toEpochDay(), event.getToDate().toEpochDay());
+    }
+
+    private static void collect(Node node, long from, long to, List<Task> out) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, out);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            out.add(node.event);
+        }
+        collect(node.right, from, to, out);
+    }
+
+    private static void inOrder(Node node, List<Event> out) {
+        if (node == null) {
+            return;
+        }
+        inOrder(node.left, out);
+        out.add(node.event);
+        inOrder(node.right, out);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.event.getId(), node.event) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node.event);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in {@code left} is below every key in
+     * {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        return pivot;
+    }
+
+    private static int compare(long start, long id, Event other) {
+        int cmp = Long.compare(start, startOf(other));
+        return cmp != 0 ? cmp : Long.compare(id, other.getId());
+    }
+
+    /**
+     * Returns the next value of an xorshift generator; a fixed seed keeps the
+     * tree shape, and so any performance problem, reproducible.
+     */
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 33);
+    }
+
+    private static final class Node {
+        private final Event event;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Event event, int priority) {
+            this.event = event;
+            this.start = startOf(event);
+            this.end = endOf(event);
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package chungus.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over task descriptions, maintained incrementally as tasks
+ * are added and removed. Holds two maps from lower-cased text to postings:
+ * whole words, for word and word-prefix queries, and character trigrams, for
+ * arbitrary substring queries of at least {@link #GRAM_LENGTH} characters.
+ */
+class KeywordIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final TreeMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Postings> grams = new HashMap<>();
+
+    /**
+     * Indexes a task's description.
+     *
+     * @param task task to index
+     */
+    void add(Task task) {
+        String text = normalise(task.getDescription());
+        for (String word : wordsOf(text)) {
+            words.computeIfAbsent(word, k -> new Postings()).add(task);
+        }
+        for (String gram : gramsOf(text)) {
+            grams.computeIfAbsent(gram, k -> new Postings()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task's description from the index.
+     *
+     * @param task task to remove
+     */
+    void remove(Task task) {
+        String text = normalise(task.getDescription());
+        for (String word : wordsOf(text)) {
+            removeFrom(words, word, task);
+        }
+        for (String gram : gramsOf(text)) {
+            removeFrom(grams, gram, task);
+        }
+    }
+
+    /**
+     * Removes several tasks, compacting each affected posting list once
+     * rather than once per task.
+     *
+     * @param tasks   tasks to remove
+     * @param removed the same tasks, by ID
+     */
+    void removeAll(List<Task> tasks, TaskIdMap removed) {
+        Set<String> affectedWords = new HashSet<>();
+        Set<String> affectedGrams = new HashSet<>();
+        for (Task task : tasks) {
+            String text = normalise(task.getDescription());
+            affectedWords.addAll(wordsOf(text));
+            affectedGrams.addAll(gramsOf(text));
+        }
+        for (String word : affectedWords) {
+            removeAllFrom(words, word, removed);
+        }
+        for (String gram : affectedGrams) {
+            removeAllFrom(grams, gram, removed);
+        }
+    }
+
+    /**
+     * Returns tasks whose lower-cased description contains the keyword. The
+     * keyword must be lower-cased and at least {@link #GRAM_LENGTH} long.
+     * Candidates come from intersecting the keyword's trigram postings,
+     * starting with the rarest, and are then verified.
+     *
+     * @param keyword lower-cased search text
+     * @return matching tasks in list order
+     */
+    ArrayList<Task> findSubstring(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "keyword too short for the trigram index";
+        ArrayList<Task> matches = new ArrayList<>();
+        List<Postings> lists = new ArrayList<>();
+        Postings smallest = null;
+        for (String gram : gramsOf(keyword)) {
+            Postings p = grams.get(gram);
+            if (p == null) {
+                return matches;
+            }
+            lists.add(p);
+            if (smallest == null || p.size() < smallest.size()) {
+                smallest = p;
+            }
+        }
+        for (int i = 0; i < smallest.size(); i++) {
+            Task candidate = smallest.get(i);
+            if (containsInAll(lists, candidate)
+                    && normalise(candidate.getDescription()).contains(keyword)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns tasks containing a word that starts with the given prefix.
+     *
+     * @param prefix lower-cased word prefix
+     * @return matching tasks in list order
+     */
+    ArrayList<Task> findWordPrefix(String prefix) {
+        Map<String, Postings> range = words.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        return Postings.union(new ArrayList<>(range.values()));
+    }
+
+    static String normalise(String description) {
+        return description == null ? "" : description.toLowerCase();
+    }
+
+    private static boolean containsInAll(List<Postings> lists, Task task) {
+        for (Postings p : lists) {
+            if (!p.contains(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void removeFrom(Map<String, Postings> map, String key, Task task) {
+        Postings p = map.get(key);
+        if (p == null) {
+            return;
+        }
+        p.remove(task);
+        if (p.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static void removeAllFrom(Map<String, Postings> map, String key, TaskIdMap removed) {
+        Postings p = map.get(key);
+        if (p == null) {
+            return;
+        }
+        p.removeAll(removed);
+        if (p.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static Set<String> wordsOf(String text) {
+        Set<String> result = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package chungus.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact posting list for the task indexes: tasks kept in a growable array
+ * sorted by their ID, which is also their order in the list.
+ * New tasks always have the highest ID, so adding is normally an append.
+ */
+class Postings {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a task, keeping ID order. Adding a task that is already
+     * present has no effect.
+     *
+     * @param task task to add
+     */
+    void add(Task task) {
+        int pos = indexOf(task.getId());
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        if (size == tasks.length) {
+            Task[] grown = new Task[tasks.length * 2];
+            System.arraycopy(tasks, 0, grown, 0, size);
+            tasks = grown;
+        }
+        System.arraycopy(tasks, insertAt, tasks, insertAt + 1, size - insertAt);
+        tasks[insertAt] = task;
+        size++;
+    }
+
+    /**
+     * Removes a task if present.
+     *
+     * @param task task to remove
+     */
+    void remove(Task task) {
+        int pos = indexOf(task.getId());
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(tasks, pos + 1, tasks, pos, size - pos - 1);
+        tasks[--size] = null;
+    }
+
+    /**
+     * Removes every given task in a single pass, however many there are.
+     *
+     * @param removed tasks to remove, by ID
+     */
+    void removeAll(TaskIdMap removed) {
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            if (!removed.containsKey(tasks[read].getId())) {
+                tasks[write++] = tasks[read];
+            }
+        }
+        Arrays.fill(tasks, write, size, null);
+        size = write;
+    }
+
+    boolean contains(Task task) {
+        return indexOf(task.getId()) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Task get(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * Appends every task to the given list in ID order.
+     *
+     * @param out destination list
+     */
+    void addAllTo(List<Task> out) {
+        for (int i = 0; i < size; i++) {
+            out.add(tasks[i]);
+        }
+    }
+
+    /**
+     * Merges several posting lists into one list in ID order without
+     * duplicates.
+     *
+     * @param lists posting lists to merge
+     * @return merged tasks
+     */
+    static ArrayList<Task> union(List<Postings> lists) {
+        ArrayList<Task> merged = new ArrayList<>();
+        for (Postings p : lists) {
+            p.addAllTo(merged);
+        }
+        if (lists.size() > 1) {
+            merged.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            int out = 0;
+            for (int i = 0; i < merged.size(); i++) {
+                if (out == 0 || merged.get(out - 1) != merged.get(i)) {
+                    merged.set(out++, merged.get(i));
+                }
+            }
+            merged.subList(out, merged.size()).clear();
+        }
+        return merged;
+    }
+
+    private int indexOf(long id) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midId = tasks[mid].getId();
+            if (midId < id) {
+                lo = mid + 1;
+            } else if (midId > id) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+}
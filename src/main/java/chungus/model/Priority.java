@@ -30,28 +30,33 @@ public enum Priority {
      * @return parsed Priority (defaults to MEDIUM)
      */
     public static Priority parseOrDefault(String input) {
+        Priority parsed = parseOrNull(input);
+        return parsed != null ? parsed : MEDIUM;
+    }
+
+    /**
+     * Parses a priority level such as {@code high} or {@code h}, ignoring case.
+     *
+     * @param input raw input
+     * @return parsed Priority, or null if the input is not a priority level
+     */
+    public static Priority parseOrNull(String input) {
         if (input == null) {
-            return MEDIUM;
+            return null;
         }
-        String t = input.trim();
-        if (t.isEmpty()) {
-            return MEDIUM;
-        }
-        String lower = t.toLowerCase();
-        switch (lower) {
+        switch (input.trim().toLowerCase()) {
         case "h":
         case "high":
             return HIGH;
-        case "l":
-        case "low":
-            return LOW;
         case "m":
         case "med":
         case "medium":
-        default:
             return MEDIUM;
+        case "l":
+        case "low":
+            return LOW;
+        default:
+            return null;
         }
     }
 }
-
-
@@ -1,12 +1,19 @@
 package chungus.model;
 
 /**
- * Base class for all tasks.
+ * Base class for all tasks. Status and priority are volatile because they
+ * change while other threads may be reading the task, e.g. from a
+ * {@link TaskList#snapshot()}; the other fields are set before the task is
+ * added to a list.
  */
 public class Task {
+    /** Highest task ID; IDs fit in an int so that they can index bitsets. */
+    public static final long MAX_ID = Integer.MAX_VALUE;
+
     protected String description;
-    protected TaskStatus status;
-    protected Priority priority;
+    protected volatile TaskStatus status;
+    protected volatile Priority priority;
+    private long id;
 
     /**
      * Creates a task with the given description and NOT_DONE status.
@@ -28,6 +35,24 @@ public class Task {
         return this.status.getIcon();
     }
 
+    /**
+     * Returns whether the task is done.
+     *
+     * @return true if done
+     */
+    public boolean isDone() {
+        return this.status == TaskStatus.DONE;
+    }
+
+    /**
+     * Returns the completion status.
+     *
+     * @return current status
+     */
+    public TaskStatus getStatus() {
+        return this.status;
+    }
+
     /** Marks the task as done. */
     public void markAsDone() {
         this.status = TaskStatus.DONE;
@@ -69,6 +94,26 @@ public class Task {
     public void setPriority(Priority priority) {
         this.priority = (priority != null) ? priority : Priority.MEDIUM;
     }
-}
 
+    /**
+     * Returns the task's ID, which stays the same for as long as the task
+     * exists. IDs are assigned by {@link TaskList} when the task is added and
+     * increase in list order.
+     *
+     * @return ID, or 0 if the task has not been added to a list yet
+     */
+    public long getId() {
+        return this.id;
+    }
 
+    /**
+     * Sets the task's ID. Used when loading stored tasks; {@link TaskList}
+     * replaces IDs that are missing or out of order.
+     *
+     * @param id positive ID up to {@link #MAX_ID}, or 0 for none
+     */
+    public void setId(long id) {
+        assert id >= 0 && id <= MAX_ID : "id out of range";
+        this.id = id;
+    }
+}
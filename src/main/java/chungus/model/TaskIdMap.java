@@ -0,0 +1,124 @@
+package chungus.model;
+
+/**
+ * Hash map from task ID to task, keyed on the primitive {@code long} so that
+ * lookups neither box the key nor allocate an entry per task. Uses open
+ * addressing with linear probing in two parallel arrays; ID 0, which no task
+ * in a list has, marks an empty slot. Removal shifts later entries of the
+ * probe run back rather than leaving tombstones, so lookups stay short after
+ * many deletes.
+ */
+class TaskIdMap {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = 0;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Task[] values = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id task ID
+     * @return the task, or null if there is none
+     */
+    Task get(long id) {
+        if (id == EMPTY) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slotOf(id, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(long id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Maps the task's ID to the task, replacing any task with the same ID.
+     *
+     * @param task task with a positive ID
+     */
+    void put(Task task) {
+        long id = task.getId();
+        assert id > 0 : "task must have an ID";
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(id, mask);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = id;
+            size++;
+        }
+        values[slot] = task;
+    }
+
+    /**
+     * Removes the mapping for the given ID if there is one.
+     *
+     * @param id task ID
+     */
+    void remove(long id) {
+        int mask = keys.length - 1;
+        int slot = slotOf(id, mask);
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Move back any later entry whose home slot is at or before the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new long[capacity];
+        values = new Task[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads consecutive IDs over the table; without mixing they would fill
+     * one long run of neighbouring slots.
+     */
+    private static int slotOf(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -1,13 +1,33 @@
 package chungus.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * A thin wrapper around an ArrayList of Tasks providing
  * operations used by the application.
+ * Keeps lazily built indexes for {@code find}, filtered listings and calendar
+ * queries, and gives every task a unique ID that increases in list order.
  */
 public class TaskList {
     private final ArrayList<Task> tasks;
+    private final TaskIdMap byId = new TaskIdMap();
+    private final StampedLock lock = new StampedLock();
+    private KeywordIndex keywordIndex;
+    private AttributeIndex attributeIndex;
+    private EventIntervalTree eventTree;
+    private long nextId = 1;
+    private volatile List<Task> snapshot;
+    private volatile long modCount;
+    private final List<TaskListListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Lazily built indexes, see {@link #readLockWith(Index)}. */
+    private enum Index { KEYWORD, ATTRIBUTE, EVENT }
 
     /**
      * Creates an empty task list.
@@ -22,32 +42,435 @@ public class TaskList {
      * @param tasks Backing list (nullable); if null, an empty list is used.
      */
     public TaskList(ArrayList<Task> tasks) {
+        this(tasks, 1);
+    }
+
+    /**
+     * Creates a task list backed by an existing collection that does not
+     * hand out IDs below the given one, so IDs of deleted tasks are not reused.
+     *
+     * @param tasks  Backing list (nullable); if null, an empty list is used.
+     * @param nextId Lowest ID the next added task may get.
+     */
+    public TaskList(ArrayList<Task> tasks, long nextId) {
         this.tasks = tasks != null ? tasks : new ArrayList<>();
+        this.nextId = Math.max(nextId, assignIds(this.tasks));
+        for (Task t : this.tasks) {
+            byId.put(t);
+        }
+    }
+
+    /**
+     * Gives every task without an ID, or with an ID that is not higher than
+     * the one before it, the next free ID, so that IDs increase in list
+     * order. Tasks that already satisfy this keep their IDs.
+     *
+     * @param tasks tasks in list order
+     * @return the ID the next added task should get
+     */
+    public static long assignIds(List<Task> tasks) {
+        long next = 1;
+        for (Task t : tasks) {
+            if (t.getId() < next) {
+                t.setId(next);
+            }
+            next = t.getId() + 1;
+        }
+        return next;
+    }
+
+    /**
+     * Finds the position of the task with the given ID by binary search.
+     *
+     * @param tasks tasks whose IDs increase in list order
+     * @param id    task ID
+     * @return zero-based position, or -1 if no task has that ID
+     */
+    public static int indexOfId(List<Task> tasks, long id) {
+        int index = insertionPointOfId(tasks, id);
+        return index < tasks.size() && tasks.get(index).getId() == id ? index : -1;
+    }
+
+    /**
+     * Finds by binary search the position of the first task whose ID is not
+     * lower than the given one, which is where a task with that ID belongs.
+     *
+     * @param tasks tasks whose IDs increase in list order
+     * @param id    task ID
+     * @return zero-based position, at most the size of the list
+     */
+    public static int insertionPointOfId(List<Task> tasks, long id) {
+        int lo = 0;
+        int hi = tasks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tasks.get(mid).getId() < id) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
     }
 
+    /**
+     * Returns the number of tasks, without blocking unless a change is in
+     * progress.
+     *
+     * @return task count
+     */
     public int size() {
-        return tasks.size();
+        long stamp = lock.tryOptimisticRead();
+        int size = tasks.size();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = tasks.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
     }
 
+    /**
+     * Returns the task at the given position, without blocking unless a
+     * change is in progress; use {@link #snapshot()} for a consistent view.
+     *
+     * @param index zero-based position
+     * @return the task
+     */
     public Task get(int index) {
-        return tasks.get(index);
+        long stamp = lock.tryOptimisticRead();
+        try {
+            Task task = tasks.get(index);
+            if (lock.validate(stamp)) {
+                return task;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            if (lock.validate(stamp)) {
+                throw e;
+            }
+            // The list changed during the read; retry under the lock
+        }
+        stamp = lock.readLock();
+        try {
+            return tasks.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
+    /**
+     * Returns an immutable copy of the tasks in list order. The copy is made
+     * at most once per change and shared by every caller until the next
+     * change, so repeated calls between changes cost nothing. The tasks in
+     * it are the live ones, so their status and priority may change later.
+     *
+     * @return tasks in list order at some moment during the call
+     */
+    public List<Task> snapshot() {
+        List<Task> copy = snapshot;
+        if (copy != null) {
+            return copy;
+        }
+        long stamp = lock.readLock();
+        try {
+            copy = snapshot;
+            if (copy == null) {
+                copy = List.copyOf(tasks);
+                snapshot = copy;
+            }
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Appends a task. It keeps its ID if that is higher than every ID used in
+     * this list so far, and gets the next free ID otherwise. Changes must come
+     * from one thread at a time, but other threads may read meanwhile.
+     *
+     * @param task task to add
+     */
     public void add(Task task) {
-        tasks.add(task);
+        int index;
+        long stamp = lock.writeLock();
+        try {
+            snapshot = null;
+            modCount++;
+            if (task.getId() < nextId) {
+                task.setId(nextId);
+            }
+            nextId = task.getId() + 1;
+            tasks.add(task);
+            byId.put(task);
+            indexAdded(task);
+            index = tasks.size() - 1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (TaskListListener l : listeners) {
+            l.onAdded(index, task);
+        }
     }
 
+    /**
+     * Removes the task at the given position.
+     *
+     * @param index zero-based position
+     * @return the removed task
+     */
     public Task remove(int index) {
-        return tasks.remove(index);
+        Task removed;
+        long stamp = lock.writeLock();
+        try {
+            snapshot = null;
+            modCount++;
+            removed = tasks.remove(index);
+            byId.remove(removed.getId());
+            indexRemoved(removed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (TaskListListener l : listeners) {
+            l.onRemoved(index, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given positions. The remaining tasks are moved
+     * down in a single pass, so removing many tasks costs no more than one
+     * scan of the list rather than one shift per task.
+     *
+     * @param indices zero-based positions in increasing order, without duplicates
+     * @return the removed tasks, in list order
+     */
+    public List<Task> remove(int[] indices) {
+        List<Task> removed = new ArrayList<>(indices.length);
+        long stamp = lock.writeLock();
+        try {
+            snapshot = null;
+            modCount++;
+            int size = tasks.size();
+            int write = indices.length > 0 ? indices[0] : size;
+            int next = 0;
+            for (int read = write; read < size; read++) {
+                Task task = tasks.get(read);
+                if (next < indices.length && indices[next] == read) {
+                    removed.add(task);
+                    next++;
+                } else {
+                    tasks.set(write++, task);
+                }
+            }
+            assert next == indices.length : "indices must be increasing and within the list";
+            tasks.subList(write, size).clear();
+            for (Task t : removed) {
+                byId.remove(t.getId());
+            }
+            indexRemoved(removed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (TaskListListener l : listeners) {
+            l.onRemovedAll(indices, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Puts tasks back at the positions they were removed from, keeping their
+     * IDs, as when a delete is undone. Like {@link #remove(int[])} this moves
+     * the other tasks in a single pass.
+     *
+     * @param indices  zero-based positions in the resulting list, in increasing order
+     * @param inserted tasks to insert, in the same order; their IDs must keep the list in ID order
+     */
+    public void insert(int[] indices, List<Task> inserted) {
+        assert indices.length == inserted.size() : "every inserted task needs a position";
+        long stamp = lock.writeLock();
+        try {
+            snapshot = null;
+            modCount++;
+            int oldSize = tasks.size();
+            for (int i = 0; i < indices.length; i++) {
+                tasks.add(null);
+            }
+            int read = oldSize - 1;
+            int next = indices.length - 1;
+            for (int write = tasks.size() - 1; next >= 0; write--) {
+                if (indices[next] == write) {
+                    tasks.set(write, inserted.get(next--));
+                } else {
+                    tasks.set(write, tasks.get(read--));
+                }
+            }
+            for (int i = 0; i < indices.length; i++) {
+                Task task = inserted.get(i);
+                assert isInIdOrder(indices[i]) : "inserted task must keep the list in ID order";
+                nextId = Math.max(nextId, task.getId() + 1);
+                byId.put(task);
+                indexAdded(task);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (TaskListListener l : listeners) {
+            l.onAddedAll(indices, inserted);
+        }
+    }
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id task ID
+     * @return the task, or null if no task in the list has that ID
+     */
+    public Task getById(long id) {
+        long stamp = lock.readLock();
+        try {
+            return byId.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
+    /**
+     * Returns the current position of the task with the given ID.
+     *
+     * @param id task ID
+     * @return zero-based position, or -1 if no task in the list has that ID
+     */
+    public int indexOf(long id) {
+        long stamp = lock.readLock();
+        try {
+            return byId.containsKey(id) ? indexOfId(tasks, id) : -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index zero-based position
+     * @param done  true to mark as done
+     * @return the updated task
+     */
+    public Task setDone(int index, boolean done) {
+        setDone(new int[] {index}, done);
+        return get(index);
+    }
+
+    /**
+     * Marks the tasks at the given positions as done or not done, as one
+     * change.
+     *
+     * @param indices zero-based positions
+     * @param done    true to mark as done
+     */
+    public void setDone(int[] indices, boolean done) {
+        Task[] updated = new Task[indices.length];
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < indices.length; i++) {
+                Task task = tasks.get(indices[i]);
+                if (done) {
+                    task.markAsDone();
+                } else {
+                    task.markAsNotDone();
+                }
+                if (attributeIndex != null) {
+                    attributeIndex.updateStatus(task);
+                }
+                updated[i] = task;
+            }
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        notifyUpdated(indices, updated);
+    }
+
+    /**
+     * Sets the priority of the task at the given position.
+     *
+     * @param index    zero-based position
+     * @param priority new priority
+     * @return the updated task
+     */
+    public Task setPriority(int index, Priority priority) {
+        setPriority(new int[] {index}, priority);
+        return get(index);
+    }
+
+    /**
+     * Sets the priority of the tasks at the given positions, as one change.
+     *
+     * @param indices  zero-based positions
+     * @param priority new priority
+     */
+    public void setPriority(int[] indices, Priority priority) {
+        Task[] updated = new Task[indices.length];
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < indices.length; i++) {
+                Task task = tasks.get(indices[i]);
+                task.setPriority(priority);
+                if (attributeIndex != null) {
+                    attributeIndex.updatePriority(task);
+                }
+                updated[i] = task;
+            }
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        notifyUpdated(indices, updated);
+    }
+
+    /**
+     * Returns a counter that changes whenever the tasks change, so a caller
+     * can tell whether anything happened since it last looked.
+     *
+     * @return modification count
+     */
+    public long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Registers a listener for every change; it is called after the lock is
+     * released, so it may read the list.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the backing list itself. Only the thread that makes changes may
+     * use it, and only to read; other threads should use {@link #snapshot()}.
+     *
+     * @return backing list
+     */
     public ArrayList<Task> asArrayList() {
         return tasks;
     }
 
     /**
      * Returns tasks whose description contains the keyword (case-insensitive).
-     * Empty or null keywords return an empty list.
+     * Empty or null keywords return an empty list. Keywords of at least three
+     * characters are answered from the trigram index; shorter ones match so
+     * many tasks that a scan is just as cheap.
      *
      * @param keyword search term
      * @return matching tasks
@@ -58,13 +481,274 @@ public class TaskList {
             return matches;
         }
         String lower = keyword.toLowerCase();
-        for (Task t : tasks) {
+        if (lower.length() >= KeywordIndex.GRAM_LENGTH) {
+            long stamp = readLockWith(Index.KEYWORD);
+            try {
+                return keywordIndex.findSubstring(lower);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        for (Task t : snapshot()) {
             if (t.getDescription() != null && t.getDescription().toLowerCase().contains(lower)) {
                 matches.add(t);
             }
         }
         return matches;
     }
-}
 
+    /**
+     * Returns tasks with a word in their description that starts with the
+     * given prefix (case-insensitive), e.g. {@code rep} matches "write report".
+     * Empty or null prefixes return an empty list.
+     *
+     * @param prefix word prefix
+     * @return matching tasks in list order
+     */
+    public ArrayList<Task> findByWordPrefix(String prefix) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        long stamp = readLockWith(Index.KEYWORD);
+        try {
+            return keywordIndex.findWordPrefix(prefix.trim().toLowerCase());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
 
+    /**
+     * Returns tasks with the given status and priority, answered from bitsets
+     * over task IDs rather than by checking every task.
+     *
+     * @param status   status to match, or null for any
+     * @param priority priority to match, or null for any
+     * @return matching tasks in list order
+     */
+    public ArrayList<Task> filter(TaskStatus status, Priority priority) {
+        long stamp = readLockWith(Index.ATTRIBUTE);
+        try {
+            BitSet ids = attributeIndex.select(status, priority);
+            if (ids == null) {
+                return new ArrayList<>(tasks);
+            }
+            ArrayList<Task> matches = new ArrayList<>(ids.cardinality());
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                matches.add(byId.get(id));
+            }
+            return matches;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the positions of tasks with the given status, answered from the
+     * status bitset and a binary search per match.
+     *
+     * @param status status to match
+     * @return zero-based positions in increasing order
+     */
+    public int[] indicesOf(TaskStatus status) {
+        long stamp = readLockWith(Index.ATTRIBUTE);
+        try {
+            BitSet ids = attributeIndex.select(status, null);
+            int[] indices = new int[ids.cardinality()];
+            int n = 0;
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                indices[n++] = indexOfId(tasks, id);
+            }
+            return indices;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns deadlines due before the given date and events starting before
+     * it, looked up in a sorted date index.
+     *
+     * @param date exclusive upper bound
+     * @return matching tasks in list order
+     */
+    public ArrayList<Task> findDueBefore(LocalDate date) {
+        long stamp = readLockWith(Index.ATTRIBUTE);
+        try {
+            return attributeIndex.findBefore(date);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the events that take place on at least one day of the given
+     * range, both ends included, looked up in the event interval tree.
+     *
+     * @param from first day of the range
+     * @param to   last day of the range
+     * @return matching events ordered by start date
+     */
+    public ArrayList<Task> findEventsBetween(LocalDate from, LocalDate to) {
+        long stamp = readLockWith(Index.EVENT);
+        try {
+            return eventTree.findOverlapping(from.toEpochDay(), to.toEpochDay());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the other events whose date range overlaps the given event's.
+     *
+     * @param event event to check, which need not be in the list
+     * @return overlapping events ordered by start date
+     */
+    public ArrayList<Task> findConflicting(Event event) {
+        ArrayList<Task> overlapping;
+        long stamp = readLockWith(Index.EVENT);
+        try {
+            overlapping = eventTree.findOverlapping(EventIntervalTree.startOf(event), EventIntervalTree.endOf(event));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        overlapping.removeIf(t -> t == event);
+        return overlapping;
+    }
+
+    /**
+     * Returns every pair of events whose date ranges overlap.
+     *
+     * @return overlapping pairs ordered by the start date of the later event
+     */
+    public List<EventConflict> findConflicts() {
+        long stamp = readLockWith(Index.EVENT);
+        try {
+            return eventTree.findConflicts();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Takes the read lock, first building the given index if it does not
+     * exist yet. Building changes this object, so it happens under the write
+     * lock, which is then downgraded; indexes are otherwise only changed by
+     * writers, so the caller sees a complete and current index until it
+     * releases the returned read stamp.
+     */
+    private long readLockWith(Index index) {
+        long stamp = lock.readLock();
+        if (isBuilt(index)) {
+            return stamp;
+        }
+        long writeStamp = lock.tryConvertToWriteLock(stamp);
+        if (writeStamp == 0) {
+            lock.unlockRead(stamp);
+            writeStamp = lock.writeLock();
+        }
+        if (!isBuilt(index)) {
+            build(index);
+        }
+        return lock.tryConvertToReadLock(writeStamp);
+    }
+
+    private boolean isBuilt(Index index) {
+        switch (index) {
+        case KEYWORD:
+            return keywordIndex != null;
+        case ATTRIBUTE:
+            return attributeIndex != null;
+        default:
+            return eventTree != null;
+        }
+    }
+
+    private void build(Index index) {
+        switch (index) {
+        case KEYWORD:
+            keywordIndex = new KeywordIndex();
+            for (Task t : tasks) {
+                keywordIndex.add(t);
+            }
+            break;
+        case ATTRIBUTE:
+            attributeIndex = new AttributeIndex();
+            for (Task t : tasks) {
+                attributeIndex.add(t);
+            }
+            break;
+        default:
+            eventTree = new EventIntervalTree();
+            for (Task t : tasks) {
+                if (t instanceof Event) {
+                    eventTree.add((Event) t);
+                }
+            }
+            break;
+        }
+    }
+
+    private void indexAdded(Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.add(task);
+        }
+        if (attributeIndex != null) {
+            attributeIndex.add(task);
+        }
+        if (eventTree != null && task instanceof Event) {
+            eventTree.add((Event) task);
+        }
+    }
+
+    private void indexRemoved(Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.remove(task);
+        }
+        if (attributeIndex != null) {
+            attributeIndex.remove(task);
+        }
+        if (eventTree != null && task instanceof Event) {
+            eventTree.remove((Event) task);
+        }
+    }
+
+    /**
+     * Removes several tasks from the indexes that are built, touching each
+     * affected posting list once.
+     */
+    private void indexRemoved(List<Task> removed) {
+        if (keywordIndex == null && attributeIndex == null && eventTree == null) {
+            return;
+        }
+        TaskIdMap ids = new TaskIdMap();
+        for (Task task : removed) {
+            ids.put(task);
+        }
+        if (keywordIndex != null) {
+            keywordIndex.removeAll(removed, ids);
+        }
+        if (attributeIndex != null) {
+            attributeIndex.removeAll(removed, ids);
+        }
+        if (eventTree != null) {
+            for (Task task : removed) {
+                if (task instanceof Event) {
+                    eventTree.remove((Event) task);
+                }
+            }
+        }
+    }
+
+    private boolean isInIdOrder(int index) {
+        long id = tasks.get(index).getId();
+        return (index == 0 || tasks.get(index - 1).getId() < id)
+                && (index == tasks.size() - 1 || tasks.get(index + 1).getId() > id);
+    }
+
+    private void notifyUpdated(int[] indices, Task[] updated) {
+        List<Task> tasks = Arrays.asList(updated);
+        for (TaskListListener l : listeners) {
+            l.onUpdatedAll(indices, tasks);
+        }
+    }
+}
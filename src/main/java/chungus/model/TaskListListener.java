@@ -0,0 +1,75 @@
+package chungus.model;
+
+import java.util.List;
+
+/**
+ * Receives a callback for every change made through a {@link TaskList}, so a
+ * view can update just the affected row instead of re-rendering the list.
+ * Callbacks run on the thread that made the change, after it has been applied.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is appended or inserted.
+     *
+     * @param index position of the new task
+     * @param task  the task added
+     */
+    void onAdded(int index, Task task);
+
+    /**
+     * Called after several tasks are inserted at once. By default this reports
+     * each insertion through {@link #onAdded(int, Task)}, first position first,
+     * so that every reported position is valid at the time it is reported.
+     *
+     * @param indices positions of the new tasks, in increasing order
+     * @param tasks   the tasks added, in the same order
+     */
+    default void onAddedAll(int[] indices, List<Task> tasks) {
+        for (int i = 0; i < indices.length; i++) {
+            onAdded(indices[i], tasks.get(i));
+        }
+    }
+
+    /**
+     * Called after a task is removed.
+     *
+     * @param index position the task was removed from
+     * @param task  the task removed
+     */
+    void onRemoved(int index, Task task);
+
+    /**
+     * Called after several tasks are removed at once. By default this reports
+     * each removal through {@link #onRemoved(int, Task)}, last position first,
+     * so that every reported position is valid at the time it is reported.
+     *
+     * @param indices positions the tasks were removed from, in increasing order
+     * @param tasks   the tasks removed, in the same order
+     */
+    default void onRemovedAll(int[] indices, List<Task> tasks) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            onRemoved(indices[i], tasks.get(i));
+        }
+    }
+
+    /**
+     * Called after a task's status or priority changes.
+     *
+     * @param index position of the task
+     * @param task  the updated task
+     */
+    void onUpdated(int index, Task task);
+
+    /**
+     * Called after the status or priority of several tasks changes at once.
+     * By default this reports each task through {@link #onUpdated(int, Task)}.
+     *
+     * @param indices positions of the tasks
+     * @param tasks   the updated tasks, in the same order
+     */
+    default void onUpdatedAll(int[] indices, List<Task> tasks) {
+        for (int i = 0; i < indices.length; i++) {
+            onUpdated(indices[i], tasks.get(i));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package chungus.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces a file's contents crash-safely: new contents are written to a
+ * sibling temp file, forced to disk, then renamed over the target, and the
+ * directory is synced so the rename itself is durable. A reader therefore
+ * only ever sees the complete old file or the complete new one.
+ * Optionally keeps numbered copies of previous generations
+ * ({@code file.1} is the newest).
+ */
+class AtomicFile {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile boolean warnedNonAtomic;
+
+    private final Path target;
+    private final int generations;
+
+    /**
+     * Creates an atomic writer for the given target.
+     *
+     * @param target      file to replace
+     * @param generations number of previous versions to keep (0 for none)
+     */
+    AtomicFile(Path target, int generations) {
+        assert target != null : "target must not be null";
+        assert generations >= 0 : "generations must not be negative";
+        this.target = target;
+        this.generations = generations;
+    }
+
+    /**
+     * Writes new contents and atomically swaps them in.
+     *
+     * @param contents callback writing the full new contents
+     * @throws IOException if writing, syncing or renaming fails; the target is left untouched
+     */
+    void write(ContentWriter contents) throws IOException {
+        commit(prepare(contents));
+    }
+
+    /**
+     * Writes new contents to the temp file and forces them to disk, leaving
+     * the target untouched until {@link #commit(Path)}.
+     *
+     * @param contents callback writing the full new contents
+     * @return the temp file
+     * @throws IOException if writing or syncing fails; the temp file is then removed
+     */
+    Path prepare(ContentWriter contents) throws IOException {
+        Path temp = Paths.get(target + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            contents.writeTo(out);
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Renames a file written by {@link #prepare(ContentWriter)} over the
+     * target, keeping previous generations first.
+     *
+     * @param temp the prepared temp file
+     * @throws IOException if renaming fails; the target is left untouched
+     */
+    void commit(Path temp) throws IOException {
+        rotateGenerations();
+        moveIntoPlace(temp);
+    }
+
+    /**
+     * Returns the path of a previous generation.
+     *
+     * @param generation 1 for the most recent previous version
+     * @return path of that backup
+     */
+    Path generationPath(int generation) {
+        return Paths.get(target + "." + generation);
+    }
+
+    private void rotateGenerations() throws IOException {
+        if (generations == 0 || !Files.exists(target)) {
+            return;
+        }
+        for (int g = generations - 1; g >= 1; g--) {
+            Path older = generationPath(g);
+            if (Files.exists(older)) {
+                Files.move(older, generationPath(g + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path newest = generationPath(1);
+        Files.deleteIfExists(newest);
+        try {
+            // A hard link preserves the old contents without copying them
+            Files.createLink(newest, target);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(target, newest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void moveIntoPlace(Path temp) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            if (!warnedNonAtomic) {
+                warnedNonAtomic = true;
+                System.err.println("Warning: " + target.toAbsolutePath().getParent() + " does not support atomic"
+                        + " renames; an interrupted save may leave " + target.getFileName() + " incomplete.");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory's entries to disk, so that a rename in it survives a
+     * power failure. Platforms that cannot open a directory, such as Windows,
+     * are skipped.
+     */
+    private static void syncDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be synced on this platform
+        }
+    }
+
+    /**
+     * Produces the full contents of the file being written.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,109 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import chungus.model.TaskList;
+
+/**
+ * Saves a snapshot of the task list in the background whenever its
+ * modification count has changed since the last check.
+ */
+public class AutoSaver implements AutoCloseable {
+    private final TaskList tasks;
+    private final Storage storage;
+    private final long intervalMillis;
+    private final Consumer<String> warnings;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread saver = new Thread(runnable, "chungus-autosave");
+        saver.setDaemon(true);
+        return saver;
+    });
+    private final Thread shutdownHook = new Thread(this::flush, "chungus-autosave-flush");
+    private long savedModCount;
+
+    /**
+     * Creates a saver that treats the list's current contents as saved.
+     *
+     * @param tasks          task list to save
+     * @param storage        storage to save it to
+     * @param intervalMillis milliseconds between checks for changes
+     * @param warnings       receives save failures
+     */
+    public AutoSaver(TaskList tasks, Storage storage, long intervalMillis, Consumer<String> warnings) {
+        assert intervalMillis > 0 : "autosave interval must be positive";
+        this.tasks = tasks;
+        this.storage = storage;
+        this.intervalMillis = intervalMillis;
+        this.warnings = warnings;
+        this.savedModCount = tasks.getModCount();
+    }
+
+    /**
+     * Starts checking for changes in the background, and registers a
+     * shutdown hook that saves any left when the JVM exits.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::saveInBackground, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Saves a snapshot if the tasks changed since the last save, or if the
+     * journal has grown large enough to need compaction. Only one save runs
+     * at a time; a caller arriving during a background save waits for it.
+     *
+     * @return true if a snapshot was written
+     */
+    public synchronized boolean saveIfDirty() {
+        // Read before taking the snapshot, so a change made during the save leaves the list dirty
+        long modCount = tasks.getModCount();
+        boolean dirty = modCount != savedModCount && !storage.isUpdatedInPlace();
+        if (!dirty && !storage.needsCompaction()) {
+            return false;
+        }
+        try {
+            storage.save(tasks::snapshot);
+            savedModCount = modCount;
+            return true;
+        } catch (IOException e) {
+            warnings.accept("Warning: Could not save tasks to storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Saves any pending changes now, on the calling thread.
+     */
+    public void flush() {
+        saveIfDirty();
+    }
+
+    /**
+     * Stops the background checks and saves any pending changes. Waits for
+     * a save already in progress rather than interrupting it.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down and the hook saves anyway
+        }
+        flush();
+    }
+
+    private void saveInBackground() {
+        try {
+            saveIfDirty();
+        } catch (RuntimeException e) {
+            // An exception would cancel every later run
+            warnings.accept("Warning: Could not save tasks to storage: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package chungus.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.Todo;
+
+/**
+ * Compact, versioned binary format. After a header of the magic number and a
+ * version byte, each task is stored as:
+ * <pre>
+ * byte  type      0 = todo, 1 = deadline, 2 = event
+ * byte  flags     bit 0 = done, bits 1-2 = priority ordinal
+ * long  id        task ID (since version 2)
+ * int   dates     deadline: due epoch-day; event: from and to epoch-days
+ * int   length    UTF-8 byte length of the description
+ * byte* description
+ * </pre>
+ * Dates are stored as epoch days, so loading never goes through a date formatter.
+ * Version 1 files, written before tasks had IDs, can still be read.
+ */
+public class BinaryTaskCodec implements TaskCodec {
+    /** Identifies a Chungus binary data file ("CHNG"). */
+    public static final int MAGIC = 0x43484E47;
+    /** Current format version. */
+    public static final byte VERSION = 2;
+    /** Oldest format version that can still be read. */
+    public static final byte MIN_VERSION = 1;
+
+    static final byte TYPE_TODO = 0;
+    static final byte TYPE_DEADLINE = 1;
+    static final byte TYPE_EVENT = 2;
+
+    static final int FLAG_DONE = 1;
+    static final int PRIORITY_SHIFT = 1;
+    static final int PRIORITY_MASK = 0x3;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_DESCRIPTION_BYTES = 16 * 1024 * 1024;
+
+    @Override
+    public ArrayList<Task> read(Path path) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        long fileSize = Files.size(path);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            byte version = readHeader(in);
+            int type = in.read();
+            while (type >= 0) {
+                Task task = readRecord(in, (byte) type, version, fileSize);
+                if (task != null) {
+                    tasks.add(task);
+                }
+                type = in.read();
+            }
+        } catch (EOFException e) {
+            // Truncated final record; keep every complete record before it
+        }
+        return tasks;
+    }
+
+    @Override
+    public void write(List<Task> tasks, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        for (Task task : tasks) {
+            assert task != null : "task must not be null when saving";
+            writeRecord(data, task);
+        }
+        data.flush();
+    }
+
+    private static byte readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a Chungus binary data file");
+        }
+        byte version = in.readByte();
+        if (version < MIN_VERSION || version > VERSION) {
+            throw new IOException("Unsupported binary data file version: " + version);
+        }
+        return version;
+    }
+
+    private static Task readRecord(DataInputStream in, byte type, byte version, long fileSize) throws IOException {
+        int flags = in.readUnsignedByte();
+        long id = version >= 2 ? in.readLong() : 0;
+        LocalDate first = null;
+        LocalDate second = null;
+        if (type == TYPE_DEADLINE || type == TYPE_EVENT) {
+            first = LocalDate.ofEpochDay(in.readInt());
+        }
+        if (type == TYPE_EVENT) {
+            second = LocalDate.ofEpochDay(in.readInt());
+        }
+        int length = in.readInt();
+        if (length < 0 || length > Math.min(fileSize, MAX_DESCRIPTION_BYTES)) {
+            throw new IOException("Corrupt record in binary data file: description length " + length);
+        }
+        byte[] description = new byte[length];
+        in.readFully(description);
+        String text = new String(description, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (type) {
+        case TYPE_TODO:
+            task = new Todo(text);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(text, first);
+            break;
+        case TYPE_EVENT:
+            task = new Event(text, first, second);
+            break;
+        default:
+            throw new IOException("Unknown task type in binary data file: " + type);
+        }
+        if ((flags & FLAG_DONE) != 0) {
+            task.markAsDone();
+        }
+        task.setPriority(decodePriority((flags >> PRIORITY_SHIFT) & PRIORITY_MASK));
+        task.setId(id > 0 && id <= Task.MAX_ID ? id : 0);
+        return task;
+    }
+
+    private static void writeRecord(DataOutputStream out, Task task) throws IOException {
+        if (task instanceof Deadline) {
+            out.writeByte(TYPE_DEADLINE);
+        } else if (task instanceof Event) {
+            out.writeByte(TYPE_EVENT);
+        } else {
+            out.writeByte(TYPE_TODO);
+        }
+        out.writeByte(encodeFlags(task));
+        out.writeLong(task.getId());
+        if (task instanceof Deadline) {
+            out.writeInt((int) ((Deadline) task).getDueDate().toEpochDay());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            out.writeInt((int) event.getFromDate().toEpochDay());
+            out.writeInt((int) event.getToDate().toEpochDay());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    static int encodeFlags(Task task) {
+        Priority p = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+        int flags = p.ordinal() << PRIORITY_SHIFT;
+        if (task.getStatusIcon().equals("X")) {
+            flags |= FLAG_DONE;
+        }
+        return flags;
+    }
+
+    static Priority decodePriority(int ordinal) {
+        Priority[] values = Priority.values();
+        return ordinal < values.length ? values[ordinal] : Priority.MEDIUM;
+    }
+}
@@ -0,0 +1,230 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import chungus.model.Task;
+
+/**
+ * Parses a large line-oriented data file in parallel. The file is split into
+ * line-aligned byte ranges that are decoded and parsed concurrently on a
+ * fork-join pool; the per-range results are then concatenated in file order.
+ * Bytes that are not valid in the given charset fail the load.
+ */
+class ChunkedLoader {
+    private static final long MIN_CHUNK_BYTES = 1024 * 1024;
+    private static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_BYTES = 8 * 1024;
+
+    private final Path path;
+    private final Charset charset;
+    private final Function<String, Task> lineParser;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a loader that parses each line with the given function.
+     *
+     * @param path       data file to read
+     * @param charset    charset the file is encoded in
+     * @param lineParser parses one line, returning null for lines to skip; must be thread-safe
+     * @param pool       pool to parse chunks on
+     */
+    ChunkedLoader(Path path, Charset charset, Function<String, Task> lineParser, ForkJoinPool pool) {
+        this.path = path;
+        this.charset = charset;
+        this.lineParser = lineParser;
+        this.pool = pool;
+    }
+
+    /**
+     * Parses the whole file.
+     *
+     * @return parsed tasks in file order
+     * @throws IOException if reading fails or the file is not valid in the charset
+     */
+    ArrayList<Task> load() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBoundaries(channel);
+            List<ParseChunk> chunks = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(new ParseChunk(channel, bounds[i], bounds[i + 1]));
+            }
+            pool.invoke(new ParseAll(chunks));
+
+            int total = 0;
+            for (ParseChunk chunk : chunks) {
+                total += chunk.join().size();
+            }
+            ArrayList<Task> tasks = new ArrayList<>(total);
+            for (ParseChunk chunk : chunks) {
+                tasks.addAll(chunk.join());
+            }
+            return tasks;
+        } catch (UncheckedChunkException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns offsets {@code [0, b1, ..., size]} such that every range starts
+     * at the beginning of a line.
+     */
+    private long[] chunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        long chunkBytes = Math.min(MAX_CHUNK_BYTES, Math.max(MIN_CHUNK_BYTES, target));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = chunkBytes;
+        while (pos < size) {
+            long lineStart = nextLineStart(channel, pos);
+            if (lineStart >= size) {
+                break;
+            }
+            bounds.add(lineStart);
+            pos = lineStart + chunkBytes;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the offset just past the first line end at or after the given
+     * one. A line ends with {@code \n}, {@code \r\n} or a bare {@code \r},
+     * as for {@link java.io.BufferedReader#readLine()}.
+     */
+    private static long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long pos = from;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return pos + i + 1;
+                }
+                if (b == '\r') {
+                    long next = pos + i + 1;
+                    return isLineFeedAt(channel, next) ? next + 1 : next;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    private static boolean isLineFeedAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        return channel.read(one, position) == 1 && one.get(0) == '\n';
+    }
+
+    /**
+     * Decodes and parses the lines in one byte range of the file.
+     */
+    private class ParseChunk extends RecursiveTask<List<Task>> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ParseChunk(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            try {
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                CharBuffer chars = charset.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(bytes);
+                return parseLines(chars);
+            } catch (IOException e) {
+                throw new UncheckedChunkException(e);
+            }
+        }
+
+        private List<Task> parseLines(CharBuffer chars) {
+            List<Task> tasks = new ArrayList<>();
+            int length = chars.length();
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                char c = chars.charAt(i);
+                if (c != '\n' && c != '\r') {
+                    continue;
+                }
+                parseLine(chars, lineStart, i, tasks);
+                if (c == '\r' && i + 1 < length && chars.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+            if (lineStart < length) {
+                parseLine(chars, lineStart, length, tasks);
+            }
+            return tasks;
+        }
+
+        private void parseLine(CharBuffer chars, int start, int end, List<Task> tasks) {
+            Task task = lineParser.apply(chars.subSequence(start, end).toString());
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+    }
+
+    /**
+     * Forks all chunk tasks and waits for them.
+     */
+    private static class ParseAll extends RecursiveTask<Void> {
+        private final List<ParseChunk> chunks;
+
+        ParseAll(List<ParseChunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected Void compute() {
+            invokeAll(chunks);
+            return null;
+        }
+    }
+
+    /**
+     * Carries an I/O failure out of a fork-join task.
+     */
+    private static class UncheckedChunkException extends RuntimeException {
+        UncheckedChunkException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of task mutations kept beside the snapshot file.
+ * Each record is a single line and is forced to disk before {@link #append}
+ * returns. A trailing line without a terminating newline is a torn write; it
+ * is ignored when reading and cut off before the next append.
+ */
+class Journal {
+    private static final String RECORD_SEPARATOR = "\n";
+    private static final int TAIL_SCAN_BLOCK = 4096;
+
+    private final Path path;
+    private long size;
+    private boolean tailChecked;
+
+    /**
+     * Creates a journal backed by the given file. The file is only created on
+     * the first append.
+     *
+     * @param path location of the journal file
+     */
+    Journal(Path path) {
+        assert path != null : "journal path must not be null";
+        this.path = path;
+        this.size = currentFileSize(path);
+    }
+
+    /**
+     * Appends one record to the end of the journal and forces it to disk. The
+     * first append of a session drops a torn record left by a crash.
+     *
+     * @param record single-line record text
+     * @throws IOException if writing fails
+     */
+    void append(String record) throws IOException {
+        assert record != null && !record.contains(RECORD_SEPARATOR) : "record must be a single line";
+        byte[] bytes = (record + RECORD_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (!tailChecked) {
+                trimTornTail(channel);
+                tailChecked = true;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+            size = position;
+        }
+    }
+
+    /**
+     * Reads all complete records in the order they were appended.
+     *
+     * @return journal records, empty if the journal does not exist
+     * @throws IOException if reading fails
+     */
+    List<String> readRecords() throws IOException {
+        List<String> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        int start = 0;
+        int end = content.indexOf(RECORD_SEPARATOR);
+        while (end >= 0) {
+            String record = content.substring(start, end);
+            if (!record.isEmpty()) {
+                records.add(record);
+            }
+            start = end + 1;
+            end = content.indexOf(RECORD_SEPARATOR, start);
+        }
+        return records;
+    }
+
+    /**
+     * Moves every record to the given file and starts an empty journal. If
+     * that file still holds records from an earlier move, these records are
+     * appended after them, so the order is kept.
+     *
+     * @param target file that receives the records
+     * @throws IOException if moving fails
+     */
+    void moveTo(Path target) throws IOException {
+        if (Files.exists(path)) {
+            if (Files.exists(target)) {
+                byte[] tail = Files.readAllBytes(path);
+                if (Files.size(target) > 0 && !endsWithSeparator(target)) {
+                    // Close a torn record so that it does not swallow the first moved one
+                    Files.write(target, RECORD_SEPARATOR.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+                }
+                Files.write(target, tail, StandardOpenOption.APPEND);
+                Files.delete(path);
+            } else {
+                Files.move(path, target);
+            }
+        }
+        size = 0;
+        tailChecked = true;
+    }
+
+    /**
+     * Discards all records, typically after they were folded into a snapshot.
+     *
+     * @throws IOException if the journal file cannot be removed
+     */
+    void clear() throws IOException {
+        Files.deleteIfExists(path);
+        size = 0;
+        tailChecked = true;
+    }
+
+    /**
+     * Returns the current journal size in bytes.
+     *
+     * @return size in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Truncates the channel to just after its last separator, so that the next
+     * record does not continue a torn one.
+     */
+    private static void trimTornTail(FileChannel channel) throws IOException {
+        long end = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(TAIL_SCAN_BLOCK);
+        while (end > 0) {
+            long start = Math.max(0, end - TAIL_SCAN_BLOCK);
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) == RECORD_SEPARATOR.charAt(0)) {
+                    if (start + i + 1 < channel.size()) {
+                        channel.truncate(start + i + 1);
+                    }
+                    return;
+                }
+            }
+            end = start;
+        }
+        channel.truncate(0);
+    }
+
+    private static boolean endsWithSeparator(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == RECORD_SEPARATOR.charAt(0);
+        }
+    }
+
+    private static long currentFileSize(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
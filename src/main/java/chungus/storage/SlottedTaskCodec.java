@@ -0,0 +1,255 @@
+package chungus.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.Task;
+import chungus.model.Todo;
+
+/**
+ * Binary format whose records can be changed in place. After a header of the
+ * magic number and a version byte, each task is stored as:
+ * <pre>
+ * int   length    byte length of the rest of the record
+ * byte  flags     bit 0 = done, bits 1-2 = priority ordinal, bit 3 = deleted
+ * byte  type      0 = todo, 1 = deadline, 2 = event
+ * long  id        task ID
+ * int   dates     deadline: due epoch-day; event: from and to epoch-days
+ * byte* description, in UTF-8, up to the end of the record
+ * </pre>
+ * The flags byte is at the same offset in every record, so marking,
+ * reprioritising or deleting a task rewrites a single byte (see
+ * {@link SlottedTaskFile}). A deleted record stays behind as a tombstone
+ * until the whole file is written again. Records are normally in ID order,
+ * but a task put back by {@code undo} is appended at the end, so reading
+ * sorts them by ID when needed.
+ */
+public class SlottedTaskCodec implements TaskCodec {
+    /** Identifies a Chungus slotted data file ("CHNS"). */
+    public static final int MAGIC = 0x43484E53;
+    /** Current format version. */
+    public static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 5;
+    /** Offset of the flags byte from the start of a record. */
+    static final int FLAGS_OFFSET = 4;
+    static final int FLAG_DELETED = 1 << 3;
+    /** Offset of the task ID from the start of a record. */
+    static final int ID_OFFSET = 6;
+    static final int LENGTH_SIZE = 4;
+    /** Smallest valid value of a record's length field. */
+    static final int FIXED_SIZE = 1 + 1 + 8;
+
+    @Override
+    public ArrayList<Task> read(Path path) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        readRecords(ByteBuffer.wrap(Files.readAllBytes(path)), (task, offset, length) -> {
+            if (task != null) {
+                tasks.add(task);
+            }
+        });
+        sortById(tasks);
+        return tasks;
+    }
+
+    @Override
+    public void write(List<Task> tasks, OutputStream out) throws IOException {
+        write(tasks, out, (task, offset, length) -> { });
+    }
+
+    /**
+     * Writes the given tasks as a complete file and reports where each
+     * record was written.
+     *
+     * @param tasks   tasks to write, in order
+     * @param out     destination stream; not closed by this method
+     * @param written receives each task with the offset and length of its record
+     * @throws IOException if writing fails
+     */
+    static void write(List<Task> tasks, OutputStream out, RecordVisitor written) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        long offset = HEADER_SIZE;
+        for (Task task : tasks) {
+            assert task != null : "task must not be null when saving";
+            byte[] record = encode(task);
+            data.write(record);
+            written.visit(task, offset, record.length);
+            offset += record.length;
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads every complete record, including deleted ones. Reading stops at
+     * a record that runs past the end of the data, as left by an append that
+     * was cut short.
+     *
+     * @param data    whole file contents
+     * @param visitor receives each task, or null for a deleted record, with the offset and length of its record
+     * @return offset just past the last complete record
+     * @throws IOException if the data is not in this format
+     */
+    static long readRecords(ByteBuffer data, RecordVisitor visitor) throws IOException {
+        readHeader(data);
+        while (data.remaining() >= LENGTH_SIZE) {
+            int offset = data.position();
+            int length = data.getInt();
+            if (length < FIXED_SIZE || length > data.remaining()) {
+                data.position(offset);
+                break;
+            }
+            ByteBuffer record = data.slice(data.position(), length);
+            data.position(data.position() + length);
+            visitor.visit(decodeRecord(record), offset, LENGTH_SIZE + length);
+        }
+        return data.position();
+    }
+
+    /**
+     * Decodes one record.
+     *
+     * @param record the record after its length, starting at the flags byte
+     * @return the task, or null if the record is deleted
+     * @throws IOException if the record is not in this format
+     */
+    static Task decodeRecord(ByteBuffer record) throws IOException {
+        int flags = Byte.toUnsignedInt(record.get());
+        return (flags & FLAG_DELETED) != 0 ? null : decode(record, flags);
+    }
+
+    /**
+     * Encodes a task as one complete record, starting with its length.
+     *
+     * @param task task to encode
+     * @return record bytes
+     */
+    static byte[] encode(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int dates = task instanceof Event ? 2 : task instanceof Deadline ? 1 : 0;
+        ByteBuffer record = ByteBuffer.allocate(LENGTH_SIZE + FIXED_SIZE + dates * Integer.BYTES + description.length);
+        record.putInt(record.capacity() - LENGTH_SIZE);
+        record.put((byte) BinaryTaskCodec.encodeFlags(task));
+        if (task instanceof Deadline) {
+            record.put(BinaryTaskCodec.TYPE_DEADLINE);
+            record.putLong(task.getId());
+            record.putInt((int) ((Deadline) task).getDueDate().toEpochDay());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            record.put(BinaryTaskCodec.TYPE_EVENT);
+            record.putLong(task.getId());
+            record.putInt((int) event.getFromDate().toEpochDay());
+            record.putInt((int) event.getToDate().toEpochDay());
+        } else {
+            record.put(BinaryTaskCodec.TYPE_TODO);
+            record.putLong(task.getId());
+        }
+        record.put(description);
+        return record.array();
+    }
+
+    /**
+     * Encodes an empty deleted record that only keeps a task ID in the file.
+     *
+     * @param id task ID to keep
+     * @return record bytes
+     */
+    static byte[] encodeTombstone(long id) {
+        ByteBuffer record = ByteBuffer.allocate(LENGTH_SIZE + FIXED_SIZE);
+        record.putInt(FIXED_SIZE);
+        record.put((byte) FLAG_DELETED);
+        record.put(BinaryTaskCodec.TYPE_TODO);
+        record.putLong(id);
+        return record.array();
+    }
+
+    /**
+     * Sorts tasks by ID unless they already are, which is the usual case.
+     *
+     * @param tasks tasks read from a file
+     */
+    static void sortById(List<Task> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            if (tasks.get(i - 1).getId() > tasks.get(i).getId()) {
+                tasks.sort(Comparator.comparingLong(Task::getId));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks the magic number and version at the start of a file.
+     *
+     * @param data file contents positioned at the start; left positioned after the header
+     * @throws IOException if the data is not in this format
+     */
+    static void readHeader(ByteBuffer data) throws IOException {
+        if (data.remaining() < HEADER_SIZE || data.getInt() != MAGIC) {
+            throw new IOException("Not a Chungus slotted data file");
+        }
+        byte version = data.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported slotted data file version: " + version);
+        }
+    }
+
+    private static Task decode(ByteBuffer record, int flags) throws IOException {
+        try {
+            byte type = record.get();
+            long id = record.getLong();
+            Task task;
+            switch (type) {
+            case BinaryTaskCodec.TYPE_TODO:
+                task = new Todo(readDescription(record));
+                break;
+            case BinaryTaskCodec.TYPE_DEADLINE:
+                LocalDate due = LocalDate.ofEpochDay(record.getInt());
+                task = new Deadline(readDescription(record), due);
+                break;
+            case BinaryTaskCodec.TYPE_EVENT:
+                LocalDate from = LocalDate.ofEpochDay(record.getInt());
+                LocalDate to = LocalDate.ofEpochDay(record.getInt());
+                task = new Event(readDescription(record), from, to);
+                break;
+            default:
+                throw new IOException("Unknown task type in slotted data file: " + type);
+            }
+            if ((flags & BinaryTaskCodec.FLAG_DONE) != 0) {
+                task.markAsDone();
+            }
+            task.setPriority(BinaryTaskCodec.decodePriority(
+                    (flags >> BinaryTaskCodec.PRIORITY_SHIFT) & BinaryTaskCodec.PRIORITY_MASK));
+            task.setId(id > 0 && id <= Task.MAX_ID ? id : 0);
+            return task;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Record too short in slotted data file");
+        }
+    }
+
+    private static String readDescription(ByteBuffer record) {
+        byte[] description = new byte[record.remaining()];
+        record.get(description);
+        return new String(description, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Receives records as they are read or written.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(Task task, long offset, int length) throws IOException;
+    }
+}
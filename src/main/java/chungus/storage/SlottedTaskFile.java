@@ -0,0 +1,413 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskList;
+
+/**
+ * A data file in the {@link SlottedTaskCodec} format that is updated in
+ * place. The offset of every live record is kept in memory, so an added task
+ * is appended to the end, and marking, reprioritising or deleting a task
+ * rewrites the flags byte of its record: each change costs one small write,
+ * forced to disk, however long the list is. Deleted records stay in the file until it is
+ * rewritten, which callers do once {@link #getDeadBytes()} has grown large; a
+ * rewrite keeps one tombstone if needed so that the highest ID handed out is
+ * not reused. Not thread-safe; {@link Storage} serializes access, except for
+ * {@link Rewrite#write()}.
+ */
+class SlottedTaskFile {
+    private final Path path;
+    private HashMap<Long, Slot> slots = new HashMap<>();
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private long deadBytes;
+    private long nextId = 1;
+    private boolean loaded;
+    private Rewrite rewriting;
+
+    /**
+     * Creates a file that is opened on first use.
+     *
+     * @param path location of the data file
+     */
+    SlottedTaskFile(Path path) {
+        assert path != null : "slotted file path must not be null";
+        this.path = path;
+    }
+
+    /**
+     * Reads every live task and remembers where its record is. A record cut
+     * short at the end of the file is dropped, so the next append starts on
+     * a record boundary. A file written without task IDs, e.g. by
+     * {@code export}, is rewritten once with IDs so its records can be
+     * updated in place.
+     *
+     * @return live tasks in ID order, empty if the file does not exist
+     * @throws IOException if reading fails or the file is not in this format
+     */
+    ArrayList<Task> load() throws IOException {
+        close();
+        ArrayList<Task> tasks = new ArrayList<>();
+        HashMap<Long, Slot> found = new HashMap<>();
+        liveBytes = 0;
+        deadBytes = 0;
+        nextId = 1;
+        loaded = true;
+        if (!Files.exists(path)) {
+            slots = found;
+            end = 0;
+            return tasks;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        end = SlottedTaskCodec.readRecords(data, (task, offset, length) -> {
+            nextId = Math.max(nextId, data.getLong((int) offset + SlottedTaskCodec.ID_OFFSET) + 1);
+            if (task == null) {
+                deadBytes += length;
+                return;
+            }
+            tasks.add(task);
+            liveBytes += length;
+            found.put(task.getId(), new Slot(offset, length, BinaryTaskCodec.encodeFlags(task)));
+        });
+        slots = found;
+        if (Files.size(path) > end) {
+            channel().truncate(end);
+        }
+        SlottedTaskCodec.sortById(tasks);
+        if (found.size() < tasks.size() || found.containsKey(0L)) {
+            rewrite(tasks, Math.max(nextId, TaskList.assignIds(tasks)), 0);
+        }
+        return tasks;
+    }
+
+    /**
+     * Appends a task's record to the end of the file.
+     *
+     * @param task task with an ID
+     * @throws IOException if writing fails
+     */
+    void append(Task task) throws IOException {
+        assert task.getId() > 0 : "task must have an ID before it is stored";
+        loadIfNeeded();
+        appendRecord(task.getId(), SlottedTaskCodec.encode(task));
+        sync();
+    }
+
+    private void appendRecord(long id, byte[] record) throws IOException {
+        if (slots.containsKey(id)) {
+            updateFlags(new long[] {id}, flags -> flags | SlottedTaskCodec.FLAG_DELETED);
+        }
+        FileChannel ch = channel();
+        writeFully(ch, ByteBuffer.wrap(record), end);
+        slots.put(id, new Slot(end, record.length, record[SlottedTaskCodec.FLAGS_OFFSET]));
+        end += record.length;
+        liveBytes += record.length;
+        nextId = Math.max(nextId, id + 1);
+        if (rewriting != null) {
+            rewriting.changes.add(file -> file.appendRecord(id, record));
+        }
+    }
+
+    /**
+     * Marks the tasks with the given IDs as done or not done.
+     *
+     * @param ids  task IDs; unknown IDs are skipped
+     * @param done true to mark as done
+     * @throws IOException if writing fails
+     */
+    void setDone(long[] ids, boolean done) throws IOException {
+        updateFlags(ids, flags -> done ? flags | BinaryTaskCodec.FLAG_DONE : flags & ~BinaryTaskCodec.FLAG_DONE);
+        sync();
+    }
+
+    /**
+     * Sets the priority of the tasks with the given IDs.
+     *
+     * @param ids      task IDs; unknown IDs are skipped
+     * @param priority new priority
+     * @throws IOException if writing fails
+     */
+    void setPriority(long[] ids, Priority priority) throws IOException {
+        int bits = priority.ordinal() << BinaryTaskCodec.PRIORITY_SHIFT;
+        updateFlags(ids, flags -> flags & ~(BinaryTaskCodec.PRIORITY_MASK << BinaryTaskCodec.PRIORITY_SHIFT) | bits);
+        sync();
+    }
+
+    /**
+     * Turns the records of the tasks with the given IDs into tombstones.
+     *
+     * @param ids task IDs; unknown IDs are skipped
+     * @throws IOException if writing fails
+     */
+    void delete(long[] ids) throws IOException {
+        updateFlags(ids, flags -> flags | SlottedTaskCodec.FLAG_DELETED);
+        sync();
+    }
+
+    /**
+     * Replaces the file with one holding only the given tasks, dropping
+     * every tombstone.
+     *
+     * @param tasks       tasks to keep, in order
+     * @param nextId      the ID the next added task should get
+     * @param generations number of previous versions to keep, see {@link AtomicFile}
+     * @throws IOException if writing fails; the file is then left as it was
+     */
+    void rewrite(List<Task> tasks, long nextId, int generations) throws IOException {
+        Rewrite rewrite = startRewrite(tasks, nextId, generations);
+        try {
+            rewrite.write();
+            finishRewrite(rewrite);
+        } finally {
+            cancelRewrite(rewrite);
+        }
+    }
+
+    /**
+     * Starts replacing the file with one holding only the given tasks. Until
+     * {@link #finishRewrite(Rewrite)} or {@link #cancelRewrite(Rewrite)}, every
+     * change is applied to the current file as usual and also recorded, so it
+     * can be replayed onto the new one.
+     *
+     * @param tasks       tasks to keep, in order; not changed until the rewrite ends
+     * @param nextId      the ID the next added task should get
+     * @param generations number of previous versions to keep, see {@link AtomicFile}
+     * @return the rewrite, whose {@link Rewrite#write()} may run without holding up changes
+     */
+    Rewrite startRewrite(List<Task> tasks, long nextId, int generations) {
+        assert rewriting == null : "only one rewrite may run at a time";
+        rewriting = new Rewrite(tasks, nextId, new AtomicFile(path, generations));
+        return rewriting;
+    }
+
+    /**
+     * Replays the changes recorded since the rewrite started onto the new
+     * file, then swaps it in. Costs one small write per recorded change
+     * rather than a pass over the whole file.
+     *
+     * @param rewrite a rewrite whose new file has been written
+     * @throws IOException if writing fails; the file is then left as it was
+     */
+    void finishRewrite(Rewrite rewrite) throws IOException {
+        assert rewriting == rewrite && rewrite.replacement != null : "rewrite must be started and written";
+        SlottedTaskFile replacement = rewrite.replacement;
+        for (Change change : rewrite.changes) {
+            change.applyTo(replacement);
+        }
+        if (replacement.channel != null) {
+            replacement.channel.force(false);
+        }
+        replacement.close();
+        // The channel would otherwise still point at the replaced file
+        close();
+        rewrite.target.commit(replacement.path);
+        rewrite.committed = true;
+        rewriting = null;
+        slots = replacement.slots;
+        end = replacement.end;
+        liveBytes = replacement.liveBytes;
+        deadBytes = replacement.deadBytes;
+        nextId = replacement.nextId;
+        loaded = true;
+    }
+
+    /**
+     * Stops recording changes for a rewrite that did not finish and removes
+     * its new file. Does nothing for a finished rewrite.
+     *
+     * @param rewrite the rewrite to abandon
+     * @throws IOException if the new file cannot be removed
+     */
+    void cancelRewrite(Rewrite rewrite) throws IOException {
+        if (rewriting == rewrite) {
+            rewriting = null;
+        }
+        if (!rewrite.committed && rewrite.replacement != null) {
+            rewrite.replacement.close();
+            Files.deleteIfExists(rewrite.replacement.path);
+        }
+    }
+
+    /**
+     * Returns the bytes taken up by deleted records.
+     *
+     * @return bytes a rewrite would reclaim
+     */
+    long getDeadBytes() {
+        return deadBytes;
+    }
+
+    /**
+     * Returns one past the highest ID of any record in the file, live or
+     * deleted.
+     *
+     * @return next task ID
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns the bytes taken up by live records.
+     *
+     * @return bytes of live records
+     */
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Closes the underlying channel; the next change opens it again.
+     *
+     * @throws IOException if closing fails
+     */
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void updateFlags(long[] ids, IntUnaryOperator change) throws IOException {
+        loadIfNeeded();
+        ByteBuffer one = ByteBuffer.allocate(1);
+        for (long id : ids) {
+            Slot slot = slots.get(id);
+            if (slot == null) {
+                continue;
+            }
+            int flags = change.applyAsInt(slot.flags());
+            one.clear();
+            one.put(0, (byte) flags);
+            writeFully(channel(), one, slot.offset() + SlottedTaskCodec.FLAGS_OFFSET);
+            if ((flags & SlottedTaskCodec.FLAG_DELETED) != 0) {
+                slots.remove(id);
+                liveBytes -= slot.length();
+                deadBytes += slot.length();
+            } else {
+                slots.put(id, new Slot(slot.offset(), slot.length(), flags));
+            }
+        }
+        if (rewriting != null) {
+            long[] recorded = ids.clone();
+            rewriting.changes.add(file -> file.updateFlags(recorded, change));
+        }
+    }
+
+    private void loadIfNeeded() throws IOException {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    /**
+     * Returns the open channel, creating the file with just a header if it
+     * does not exist yet.
+     */
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(SlottedTaskCodec.HEADER_SIZE);
+                header.putInt(SlottedTaskCodec.MAGIC).put(SlottedTaskCodec.VERSION).flip();
+                writeFully(channel, header, 0);
+                end = SlottedTaskCodec.HEADER_SIZE;
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Forces a change to disk before it is acknowledged, as the journal does
+     * for every record it appends.
+     */
+    private void sync() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        long at = position;
+        while (data.hasRemaining()) {
+            at += channel.write(data, at);
+        }
+    }
+
+    /**
+     * Where a live record is and its current flags.
+     */
+    private record Slot(long offset, int length, int flags) {
+    }
+
+    /**
+     * A change made while a rewrite was in progress.
+     */
+    @FunctionalInterface
+    private interface Change {
+        void applyTo(SlottedTaskFile file) throws IOException;
+    }
+
+    /**
+     * A rewrite started by {@link #startRewrite(List, long, int)}.
+     */
+    class Rewrite {
+        private final List<Task> tasks;
+        private final long nextId;
+        private final AtomicFile target;
+        private final List<Change> changes = new ArrayList<>();
+        private SlottedTaskFile replacement;
+        private boolean committed;
+
+        private Rewrite(List<Task> tasks, long nextId, AtomicFile target) {
+            this.tasks = tasks;
+            this.nextId = nextId;
+            this.target = target;
+        }
+
+        /**
+         * Writes the new file beside the current one. Only reads the tasks,
+         * so it may run while changes are made to the current file.
+         *
+         * @throws IOException if writing fails
+         */
+        void write() throws IOException {
+            HashMap<Long, Slot> rewritten = new HashMap<>();
+            long[] size = {SlottedTaskCodec.HEADER_SIZE, 0};
+            long[] maxId = {0};
+            Path temp = target.prepare(out -> {
+                SlottedTaskCodec.write(tasks, out, (task, offset, length) -> {
+                    rewritten.put(task.getId(), new Slot(offset, length, BinaryTaskCodec.encodeFlags(task)));
+                    size[0] += length;
+                    size[1] += length;
+                    maxId[0] = Math.max(maxId[0], task.getId());
+                });
+                if (nextId > maxId[0] + 1) {
+                    byte[] tombstone = SlottedTaskCodec.encodeTombstone(nextId - 1);
+                    out.write(tombstone);
+                    size[0] += tombstone.length;
+                }
+            });
+            SlottedTaskFile file = new SlottedTaskFile(temp);
+            file.slots = rewritten;
+            file.end = size[0];
+            file.liveBytes = size[1];
+            file.nextId = Math.max(nextId, maxId[0] + 1);
+            file.loaded = true;
+            replacement = file;
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package chungus.storage;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.function.Supplier;
 
-import chungus.model.Deadline;
-import chungus.model.Event;
 import chungus.model.Priority;
 import chungus.model.Task;
-import chungus.model.Todo;
+import chungus.model.TaskList;
 
 /**
- * Handles persistence of tasks to and from a plain-text data file.
- * Uses a simple line format compatible with earlier versions of the app.
+ * Handles persistence of tasks to and from a data file in the format chosen by
+ * its extension, with each change appended to a journal that is replayed on load.
+ * A {@link SlottedTaskCodec} file is instead updated in place and keeps no journal.
  */
 
 public class Storage {
+    /** Journal size after which the caller should fold it into a new snapshot. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 1024 * 1024;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String SAVING_JOURNAL_SUFFIX = ".journal.saving";
+    private static final String FIELD_SEPARATOR = TextTaskCodec.FIELD_SEPARATOR;
+    private static final String OP_ADD = "ADD";
+    private static final String OP_MARK = "MARK";
+    private static final String OP_UNMARK = "UNMARK";
+    private static final String OP_DELETE = "DELETE";
+    private static final String OP_PRIORITY = "PRIORITY";
+    private static final String OP_RESTORE = "RESTORE";
+    private static final String OP_NEXT_ID = "NEXT_ID";
+    private static final String ID_PREFIX = "#";
+
     private final String filePath;
+    private final TaskCodec codec;
+    private final Journal journal;
+    /** Set when the data file is updated in place rather than through the journal. */
+    private final SlottedTaskFile slots;
+    private final Path savingJournalPath;
+    private final Object saveLock = new Object();
+    private final long compactionThresholdBytes;
+    private int backupGenerations;
+    private long nextId = 1;
 
     /**
      * Creates a storage instance targeting the given file path.
@@ -27,36 +52,62 @@ public class Storage {
      * @param filePath Path to the data file used for persistence.
      */
     public Storage(String filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Creates a storage instance with a custom journal compaction threshold.
+     *
+     * @param filePath                 Path to the data file used for persistence.
+     * @param compactionThresholdBytes Journal size in bytes beyond which {@link #needsCompaction()} is true.
+     */
+    public Storage(String filePath, long compactionThresholdBytes) {
+        this(filePath, TaskCodec.forPath(filePath), compactionThresholdBytes);
+    }
+
+    /**
+     * Creates a storage instance that writes snapshots with the given codec.
+     *
+     * @param filePath                 Path to the data file used for persistence.
+     * @param codec                    Snapshot format.
+     * @param compactionThresholdBytes Journal size in bytes beyond which {@link #needsCompaction()} is true.
+     */
+    public Storage(String filePath, TaskCodec codec, long compactionThresholdBytes) {
         assert filePath != null && !filePath.trim().isEmpty() : "filePath must be non-empty";
+        assert codec != null : "codec must not be null";
+        assert compactionThresholdBytes > 0 : "compaction threshold must be positive";
         this.filePath = filePath;
+        this.codec = codec;
+        this.journal = new Journal(Paths.get(filePath + JOURNAL_SUFFIX));
+        this.savingJournalPath = Paths.get(filePath + SAVING_JOURNAL_SUFFIX);
+        this.slots = codec instanceof SlottedTaskCodec ? new SlottedTaskFile(Paths.get(filePath)) : null;
+        this.compactionThresholdBytes = compactionThresholdBytes;
     }
 
     /**
-     * Loads tasks from disk. If the file does not exist, returns an empty list.
+     * Loads tasks from disk and replays any journalled mutations over them.
+     * If neither the data file nor the journal exists, returns an empty list.
      *
      * @return Tasks loaded from the backing file.
      * @throws IOException if reading fails.
      */
     public ArrayList<Task> load() throws IOException {
         assert filePath != null && !filePath.trim().isEmpty() : "filePath must be non-empty before load";
-        ArrayList<Task> tasks = new ArrayList<>();
         createDataDirectoryIfNeeded();
 
         File file = new File(filePath);
-        if (!file.exists()) {
-            return tasks;
-        }
-
-        try (Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                Task task = parseTaskFromLine(line);
-                if (task != null) {
-                    tasks.add(task);
-                }
+        ArrayList<Task> tasks;
+        if (slots != null) {
+            synchronized (this) {
+                tasks = slots.load();
+                nextId = Math.max(TaskList.assignIds(tasks), slots.getNextId());
+            }
+        } else {
+            tasks = file.exists() ? codec.read(file.toPath()) : new ArrayList<>();
+            long next = replayJournal(tasks, TaskList.assignIds(tasks));
+            synchronized (this) {
+                nextId = next;
             }
-        } catch (FileNotFoundException e) {
-            throw new IOException("File not found: " + filePath, e);
         }
 
         assert tasks != null : "tasks should not be null after load";
@@ -64,129 +115,439 @@ public class Storage {
     }
 
     /**
-     * Writes the provided tasks to disk, replacing previous contents.
+     * Returns the ID the next added task should get: one past the highest ID
+     * loaded or recorded so far, including IDs of tasks deleted since.
+     *
+     * @return next task ID
+     */
+    public synchronized long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Writes the provided tasks to disk, replacing previous contents, and
+     * discards the journal since the snapshot now contains its effects.
+     * The snapshot is written to a temp file and renamed over the data file,
+     * so an interrupted save never leaves a partially written data file.
      *
      * @param tasks Tasks to persist.
      * @throws IOException if writing fails.
      */
-    public void save(ArrayList<Task> tasks) throws IOException {
-        assert filePath != null && !filePath.trim().isEmpty() : "filePath must be non-empty before save";
+    public void save(List<Task> tasks) throws IOException {
         assert tasks != null : "tasks to save must not be null";
-        createDataDirectoryIfNeeded();
+        save(() -> tasks);
+    }
 
-        FileWriter fw = new FileWriter(filePath);
-        try {
-            for (Task task : tasks) {
-                assert task != null : "task must not be null when saving";
-                String line = convertTaskToLine(task);
-                fw.write(line + System.lineSeparator());
+    /**
+     * Saves a snapshot while other threads may keep changing the tasks and
+     * appending to the journal. Records written during the save may also end
+     * up in the snapshot, which is harmless since replaying them changes nothing.
+     *
+     * @param tasks Supplies the tasks to persist; called once, after the journal is moved.
+     * @throws IOException if writing fails.
+     */
+    public void save(Supplier<? extends List<Task>> tasks) throws IOException {
+        assert filePath != null && !filePath.trim().isEmpty() : "filePath must be non-empty before save";
+        synchronized (saveLock) {
+            createDataDirectoryIfNeeded();
+            if (slots != null) {
+                rewriteSlots(tasks);
+                return;
             }
-        } finally {
-            fw.close();
+            synchronized (this) {
+                journal.moveTo(savingJournalPath);
+            }
+            List<Task> snapshotTasks = tasks.get();
+            AtomicFile snapshot = new AtomicFile(Paths.get(filePath), backupGenerations);
+            snapshot.write(out -> codec.write(snapshotTasks, out));
+            synchronized (this) {
+                long snapshotNextId = maxId(snapshotTasks) + 1;
+                nextId = Math.max(nextId, snapshotNextId);
+                if (nextId > snapshotNextId) {
+                    // The snapshot alone no longer shows the IDs of deleted tasks
+                    journal.append(OP_NEXT_ID + FIELD_SEPARATOR + nextId);
+                }
+            }
+            Files.deleteIfExists(savingJournalPath);
         }
     }
 
-    private void createDataDirectoryIfNeeded() throws IOException {
-        File file = new File(filePath);
-        File parent = file.getParentFile();
-        if (parent != null && !parent.exists()) {
-            if (!parent.mkdirs()) {
-                throw new IOException("Could not create directory: " + parent.getPath());
-            }
+    /**
+     * Writes the given tasks to another file, in the format chosen by that
+     * file's extension. The data file and journal are not affected.
+     *
+     * @param tasks      Tasks to export.
+     * @param exportPath Destination file.
+     * @throws IOException if writing fails.
+     */
+    public void exportTo(List<Task> tasks, String exportPath) throws IOException {
+        assert tasks != null : "tasks to export must not be null";
+        Path target = Paths.get(exportPath);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        TaskCodec exportCodec = TaskCodec.forPath(exportPath);
+        new AtomicFile(target, 0).write(out -> exportCodec.write(tasks, out));
+    }
+
+    /**
+     * Reads tasks from another file, in the format chosen by that file's
+     * extension.
+     *
+     * @param importPath File to read.
+     * @return Tasks stored in that file.
+     * @throws IOException if the file is missing or cannot be read.
+     */
+    public ArrayList<Task> importFrom(String importPath) throws IOException {
+        Path source = Paths.get(importPath);
+        if (!Files.exists(source)) {
+            throw new IOException("File not found: " + importPath);
+        }
+        return TaskCodec.forPath(importPath).read(source);
+    }
+
+    /**
+     * Sets how many previous snapshots to keep beside the data file as
+     * {@code <file>.1} (newest) to {@code <file>.N}. Defaults to none.
+     *
+     * @param generations Number of previous snapshots to keep.
+     */
+    public void setBackupGenerations(int generations) {
+        assert generations >= 0 : "generations must not be negative";
+        this.backupGenerations = generations;
+    }
+
+    /**
+     * Returns the path of a previous snapshot kept by {@link #setBackupGenerations(int)}.
+     *
+     * @param generation 1 for the most recent previous snapshot.
+     * @return Path of that backup file.
+     */
+    public Path getBackupPath(int generation) {
+        return new AtomicFile(Paths.get(filePath), backupGenerations).generationPath(generation);
+    }
+
+    /**
+     * Records that a task was appended to the end of the list.
+     *
+     * @param task Task that was added.
+     * @throws IOException if writing the journal fails.
+     */
+    public synchronized void appendAdd(Task task) throws IOException {
+        assert task != null : "added task must not be null";
+        nextId = Math.max(nextId, task.getId() + 1);
+        if (slots != null) {
+            slots.append(task);
+            return;
         }
+        journal.append(OP_ADD + FIELD_SEPARATOR + TextTaskCodec.formatLine(task));
     }
 
-    private String convertTaskToLine(Task task) {
-        assert task != null : "task must not be null";
-        StringBuilder line = new StringBuilder();
+    /**
+     * Records that a task was put back into the list with the ID it had
+     * before, as when a delete is undone. On replay it goes back to the
+     * position its ID belongs at rather than to the end.
+     *
+     * @param task Task that was restored.
+     * @throws IOException if writing the journal fails.
+     */
+    public synchronized void appendRestore(Task task) throws IOException {
+        assert task != null && task.getId() > 0 : "restored task must have an ID";
+        nextId = Math.max(nextId, task.getId() + 1);
+        if (slots != null) {
+            slots.append(task);
+            return;
+        }
+        journal.append(OP_RESTORE + FIELD_SEPARATOR + TextTaskCodec.formatLine(task));
+    }
+
+    /**
+     * Records that the tasks with the given IDs were marked or unmarked, as a
+     * single journal record.
+     *
+     * @param ids  IDs of the tasks, in increasing order.
+     * @param done True if the tasks were marked as done.
+     * @throws IOException if writing the journal fails.
+     */
+    public synchronized void appendMark(long[] ids, boolean done) throws IOException {
+        if (slots != null) {
+            slots.setDone(ids, done);
+            return;
+        }
+        journal.append((done ? OP_MARK : OP_UNMARK) + FIELD_SEPARATOR + formatIds(ids));
+    }
 
-        if (task instanceof Todo) {
-            line.append("T | ");
-        } else if (task instanceof Deadline) {
-            line.append("D | ");
-        } else if (task instanceof Event) {
-            line.append("E | ");
+    /**
+     * Records that the tasks with the given IDs were deleted together, as a
+     * single journal record.
+     *
+     * @param ids IDs of the deleted tasks, in increasing order.
+     * @throws IOException if writing the journal fails.
+     */
+    public synchronized void appendDelete(long[] ids) throws IOException {
+        if (slots != null) {
+            slots.delete(ids);
+            return;
         }
+        journal.append(OP_DELETE + FIELD_SEPARATOR + formatIds(ids));
+    }
 
-        line.append(task.getStatusIcon().equals("X") ? "1" : "0");
-        line.append(" | ");
-        assert task.getDescription() != null : "task description must not be null";
-        line.append(task.getDescription());
+    /**
+     * Records that the priority of the tasks with the given IDs changed, as a
+     * single journal record.
+     *
+     * @param ids      IDs of the tasks, in increasing order.
+     * @param priority New priority.
+     * @throws IOException if writing the journal fails.
+     */
+    public synchronized void appendPriority(long[] ids, Priority priority) throws IOException {
+        Priority p = priority != null ? priority : Priority.MEDIUM;
+        if (slots != null) {
+            slots.setPriority(ids, p);
+            return;
+        }
+        journal.append(OP_PRIORITY + FIELD_SEPARATOR + formatIds(ids) + FIELD_SEPARATOR + p.getSymbol());
+    }
 
-        if (task instanceof Deadline) {
-            Deadline deadline = (Deadline) task;
-            line.append(" | ").append(deadline.getByIso());
-        } else if (task instanceof Event) {
-            Event event = (Event) task;
-            line.append(" | ").append(event.getFromIso()).append(" | ").append(event.getToIso());
+    /**
+     * Returns whether the journal has grown past the compaction threshold, in
+     * which case the caller should {@link #save(List)} a fresh snapshot. For a
+     * file updated in place, this is when deleted records take up more than
+     * the threshold or more than the live ones.
+     *
+     * @return true if a compaction is due
+     */
+    public synchronized boolean needsCompaction() {
+        if (slots != null) {
+            long dead = slots.getDeadBytes();
+            return dead >= compactionThresholdBytes || dead > slots.getLiveBytes();
         }
+        return journal.size() >= compactionThresholdBytes;
+    }
 
-        Priority p = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
-        line.append(" | ").append(p.getSymbol());
+    /**
+     * Returns whether every recorded change is written straight into the data
+     * file, which is then always current; {@link #save(List)} is only needed
+     * when {@link #needsCompaction()} says so.
+     *
+     * @return true for a data file updated in place
+     */
+    public boolean isUpdatedInPlace() {
+        return slots != null;
+    }
 
-        return line.toString();
+    /**
+     * Replays the journal over the snapshot, starting with records left
+     * behind by a save that did not finish. Tasks added by the journal
+     * without an ID get one by the same rule as {@link TaskList#add(Task)},
+     * so records written before tasks had IDs resolve to the IDs the running
+     * app assigned.
+     *
+     * @return The ID the next added task should get.
+     */
+    private long replayJournal(ArrayList<Task> tasks, long nextId) throws IOException {
+        long next = nextId;
+        for (String record : new Journal(savingJournalPath).readRecords()) {
+            next = applyRecord(tasks, record, next);
+        }
+        for (String record : journal.readRecords()) {
+            next = applyRecord(tasks, record, next);
+        }
+        return next;
     }
 
-    private Task parseTaskFromLine(String line) {
+    /**
+     * Rewrites a file updated in place. Changes are only held up while the
+     * tasks are taken and while the new file is swapped in, not while it is
+     * written.
+     */
+    private void rewriteSlots(Supplier<? extends List<Task>> tasks) throws IOException {
+        SlottedTaskFile.Rewrite rewrite;
+        synchronized (this) {
+            List<Task> snapshotTasks = tasks.get();
+            nextId = Math.max(nextId, maxId(snapshotTasks) + 1);
+            rewrite = slots.startRewrite(snapshotTasks, nextId, backupGenerations);
+        }
         try {
-            assert line != null : "line to parse must not be null";
-            String[] parts = line.split(" \\| ");
-            if (parts.length < 3) {
-                return null;
+            rewrite.write();
+            synchronized (this) {
+                slots.finishRewrite(rewrite);
             }
+        } finally {
+            synchronized (this) {
+                slots.cancelRewrite(rewrite);
+            }
+        }
+    }
 
-            String taskType = parts[0].trim();
-            boolean isDone = parts[1].trim().equals("1");
-            String description = parts[2].trim();
-
-            Task task = null;
+    private static long maxId(List<Task> tasks) {
+        long max = 0;
+        for (Task t : tasks) {
+            max = Math.max(max, t.getId());
+        }
+        return max;
+    }
 
-            switch (taskType) {
-            case "T":
-                task = new Todo(description);
+    /**
+     * Applies a single journal record. Records that cannot be applied, such as
+     * a torn or out-of-range entry, are skipped like malformed data lines.
+     *
+     * @return The ID the next added task should get.
+     */
+    private long applyRecord(ArrayList<Task> tasks, String record, long nextId) {
+        int sep = record.indexOf(FIELD_SEPARATOR);
+        if (sep < 0) {
+            return nextId;
+        }
+        String op = record.substring(0, sep);
+        String args = record.substring(sep + FIELD_SEPARATOR.length());
+        try {
+            switch (op) {
+            case OP_ADD:
+                Task added = TextTaskCodec.parseLine(args);
+                // The app only journals IDs from nextId up, so a lower one was already applied
+                if (added != null && (added.getId() == 0 || added.getId() >= nextId)) {
+                    if (added.getId() == 0) {
+                        added.setId(nextId);
+                    }
+                    tasks.add(added);
+                    return added.getId() + 1;
+                }
                 break;
-            case "D":
-                if (parts.length >= 4) {
-                    String by = parts[3].trim();
-                    task = new Deadline(description, by);
+            case OP_RESTORE:
+                Task restored = TextTaskCodec.parseLine(args);
+                if (restored != null && restored.getId() > 0) {
+                    int at = TaskList.insertionPointOfId(tasks, restored.getId());
+                    if (at == tasks.size() || tasks.get(at).getId() != restored.getId()) {
+                        tasks.add(at, restored);
+                        return Math.max(nextId, restored.getId() + 1);
+                    }
                 }
                 break;
-            case "E":
-                if (parts.length >= 5) {
-                    String from = parts[3].trim();
-                    String to = parts[4].trim();
-                    task = new Event(description, from, to);
+            case OP_MARK:
+                for (int index : parseSelection(args, tasks)) {
+                    tasks.get(index).markAsDone();
+                }
+                break;
+            case OP_UNMARK:
+                for (int index : parseSelection(args, tasks)) {
+                    tasks.get(index).markAsNotDone();
+                }
+                break;
+            case OP_DELETE:
+                removeIndices(tasks, parseSelection(args, tasks));
+                break;
+            case OP_NEXT_ID:
+                return Math.max(nextId, Long.parseLong(args.trim()));
+            case OP_PRIORITY:
+                String[] parts = TextTaskCodec.splitFields(args);
+                Priority priority = Priority.parseOrDefault(parts[1]);
+                for (int index : parseSelection(parts[0], tasks)) {
+                    tasks.get(index).setPriority(priority);
                 }
                 break;
             default:
-                // Unknown task type; ignore line
-                return null;
-            }
-
-            if (task != null && isDone) {
-                task.markAsDone();
+                // Unknown record type; ignore
+                break;
             }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Skip records that no longer apply
+        }
+        return nextId;
+    }
 
-            // Parse optional priority at last position; default MEDIUM if missing
-            try {
-                String lastToken = parts[parts.length - 1].trim();
-                if ("H".equalsIgnoreCase(lastToken) || "M".equalsIgnoreCase(lastToken)
-                        || "L".equalsIgnoreCase(lastToken)) {
-                    task.setPriority(Priority.parseOrDefault(lastToken));
-                } else {
-                    task.setPriority(Priority.MEDIUM);
+    /**
+     * Formats increasing IDs as {@code #} followed by comma-separated runs,
+     * e.g. {@code #3-7,12}.
+     */
+    private static String formatIds(long[] ids) {
+        StringBuilder sb = new StringBuilder(ID_PREFIX);
+        int runStart = 0;
+        for (int i = 1; i <= ids.length; i++) {
+            if (i == ids.length || ids[i] != ids[i - 1] + 1) {
+                if (runStart > 0) {
+                    sb.append(',');
                 }
-            } catch (Exception ignored) {
-                if (task != null) {
-                    task.setPriority(Priority.MEDIUM);
+                sb.append(ids[runStart]);
+                if (i - 1 > runStart) {
+                    sb.append('-').append(ids[i - 1]);
                 }
+                runStart = i;
             }
+        }
+        return sb.toString();
+    }
 
-            return task;
-        } catch (Exception e) {
-            return null;
+    /**
+     * Turns the tasks named by a journal record into increasing positions in
+     * the list. Records name tasks by ID as written by {@link #formatIds(long[])};
+     * journals written before tasks had IDs name them by zero-based position
+     * instead, e.g. {@code 4} or {@code 0-4,9}. Every task is checked first, so
+     * a record that no longer applies is skipped as a whole rather than half
+     * applied.
+     */
+    private static int[] parseSelection(String text, List<Task> tasks) {
+        String selection = text.trim();
+        boolean byId = selection.startsWith(ID_PREFIX);
+        String[] runs = (byId ? selection.substring(ID_PREFIX.length()) : selection).split(",");
+        int count = 0;
+        long[] bounds = new long[runs.length * 2];
+        for (int i = 0; i < runs.length; i++) {
+            int dash = runs[i].indexOf('-');
+            bounds[2 * i] = Long.parseLong(dash < 0 ? runs[i] : runs[i].substring(0, dash));
+            bounds[2 * i + 1] = dash < 0 ? bounds[2 * i] : Long.parseLong(runs[i].substring(dash + 1));
+            if (bounds[2 * i + 1] < bounds[2 * i] || bounds[2 * i + 1] - bounds[2 * i] >= tasks.size()) {
+                throw new IndexOutOfBoundsException(runs[i]);
+            }
+            count += (int) (bounds[2 * i + 1] - bounds[2 * i] + 1);
+        }
+        int[] indices = new int[count];
+        int n = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            int first;
+            if (byId) {
+                first = TaskList.indexOfId(tasks, bounds[i]);
+            } else {
+                first = bounds[i] < tasks.size() ? (int) bounds[i] : -1;
+            }
+            int length = (int) (bounds[i + 1] - bounds[i] + 1);
+            if (first < 0 || first + length > tasks.size()) {
+                throw new IndexOutOfBoundsException(runs[i / 2]);
+            }
+            for (int k = 0; k < length; k++) {
+                if (byId && tasks.get(first + k).getId() != bounds[i] + k) {
+                    throw new IndexOutOfBoundsException(runs[i / 2]);
+                }
+                indices[n++] = first + k;
+            }
         }
+        return indices;
     }
-}
 
+    /**
+     * Removes the tasks at the given increasing indices, moving the remaining
+     * tasks down in a single pass.
+     */
+    private static void removeIndices(ArrayList<Task> tasks, int[] indices) {
+        int write = indices[0];
+        int next = 0;
+        for (int read = write; read < tasks.size(); read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                tasks.set(write++, tasks.get(read));
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+    }
 
+    private void createDataDirectoryIfNeeded() throws IOException {
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            if (!parent.mkdirs()) {
+                throw new IOException("Could not create directory: " + parent.getPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import chungus.model.Task;
+
+/**
+ * Read-only view of a data file in the {@link SlottedTaskCodec} format that
+ * does not load it into memory. The file is memory-mapped and only the
+ * offset of each live record is kept, so opening a file of millions of tasks
+ * costs eight bytes per task. A {@link Task} is decoded when
+ * {@link #get(int)} asks for it, and the most recently used ones are cached,
+ * so a list view that only asks for the visible rows stays small however
+ * long the list is.
+ *
+ * <p>Tasks returned are copies: changing them does not change the file.
+ * The file must not be changed while the archive is open.
+ */
+public class TaskArchive implements AutoCloseable {
+    /** Largest part of the file mapped at once; a mapping cannot exceed 2 GiB. */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long segmentSize;
+    private final long fileSize;
+    private final long[] offsets;
+    private final Map<Integer, Task> cache;
+
+    /**
+     * Opens an archive and finds every live record in it.
+     *
+     * @param path      data file in the slotted format, e.g. one written by {@code export archive.db}
+     * @param cacheSize number of decoded tasks to keep
+     * @throws IOException if the file cannot be read or is not in the slotted format
+     */
+    public TaskArchive(Path path, int cacheSize) throws IOException {
+        this(path, cacheSize, SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens an archive, mapping it in parts of the given size.
+     */
+    TaskArchive(Path path, int cacheSize, long segmentSize) throws IOException {
+        assert cacheSize > 0 : "cache size must be positive";
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.segmentSize = segmentSize;
+            this.fileSize = channel.size();
+            if (fileSize < SlottedTaskCodec.HEADER_SIZE) {
+                throw new IOException("Not a Chungus slotted data file");
+            }
+            this.segments = new MappedByteBuffer[(int) ((fileSize + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * segmentSize;
+                long length = Math.min(segmentSize, fileSize - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            SlottedTaskCodec.readHeader(read(0, SlottedTaskCodec.HEADER_SIZE));
+            this.offsets = indexRecords();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of live tasks.
+     *
+     * @return task count
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the task at the given position in ID order, decoding it unless
+     * it was used recently.
+     *
+     * @param index zero-based position
+     * @return the task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws UncheckedIOException if the record cannot be read
+     */
+    public synchronized Task get(int index) {
+        Task task = cache.get(index);
+        if (task == null) {
+            task = decode(offsets[index]);
+            cache.put(index, task);
+        }
+        return task;
+    }
+
+    /**
+     * Returns a read-only list backed by this archive, e.g. for a list view.
+     *
+     * @return list whose elements are decoded on access
+     */
+    public List<Task> asList() {
+        return new View();
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is no longer
+     * referenced.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Walks the records once, reading only their length, flags and ID, and
+     * returns the offsets of the live ones in ID order.
+     */
+    private long[] indexRecords() throws IOException {
+        long[] found = new long[16];
+        int count = 0;
+        boolean sorted = true;
+        long lastId = Long.MIN_VALUE;
+        long offset = SlottedTaskCodec.HEADER_SIZE;
+        while (fileSize - offset >= SlottedTaskCodec.LENGTH_SIZE) {
+            int length = read(offset, SlottedTaskCodec.LENGTH_SIZE).getInt();
+            if (length < SlottedTaskCodec.FIXED_SIZE || length > fileSize - offset - SlottedTaskCodec.LENGTH_SIZE) {
+                // Cut short by an interrupted append
+                break;
+            }
+            ByteBuffer head = read(offset + SlottedTaskCodec.FLAGS_OFFSET, SlottedTaskCodec.FIXED_SIZE);
+            if ((head.get(0) & SlottedTaskCodec.FLAG_DELETED) == 0) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = offset;
+                long id = head.getLong(SlottedTaskCodec.ID_OFFSET - SlottedTaskCodec.FLAGS_OFFSET);
+                sorted &= id >= lastId;
+                lastId = id;
+            }
+            offset += SlottedTaskCodec.LENGTH_SIZE + length;
+        }
+        long[] live = Arrays.copyOf(found, count);
+        if (!sorted) {
+            sortById(live);
+        }
+        return live;
+    }
+
+    /**
+     * Sorts record offsets by task ID. Each ID is packed with the record's
+     * position into one long, so the sort needs no objects and keeps records
+     * with equal IDs in file order.
+     */
+    private void sortById(long[] live) throws IOException {
+        long[] keys = new long[live.length];
+        for (int i = 0; i < live.length; i++) {
+            long id = read(live[i] + SlottedTaskCodec.ID_OFFSET, Long.BYTES).getLong();
+            keys[i] = Math.max(0, Math.min(id, Task.MAX_ID)) << Integer.SIZE | i;
+        }
+        Arrays.sort(keys);
+        long[] byFilePosition = live.clone();
+        for (int i = 0; i < keys.length; i++) {
+            live[i] = byFilePosition[(int) keys[i]];
+        }
+    }
+
+    private Task decode(long offset) {
+        try {
+            int length = read(offset, SlottedTaskCodec.LENGTH_SIZE).getInt();
+            Task task = SlottedTaskCodec.decodeRecord(read(offset + SlottedTaskCodec.LENGTH_SIZE, length));
+            assert task != null : "only live records are indexed";
+            return task;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the given bytes of the file. Bytes within one segment are a
+     * view of the mapping; the rare range that spans two segments is copied.
+     */
+    private ByteBuffer read(long position, long length) throws IOException {
+        int segment = (int) (position / segmentSize);
+        long start = position - segment * segmentSize;
+        if (start + length <= segments[segment].capacity()) {
+            return segments[segment].slice((int) start, (int) length);
+        }
+        ByteBuffer copy = ByteBuffer.allocate((int) length);
+        while (copy.hasRemaining()) {
+            if (channel.read(copy, position + copy.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+        return copy.flip();
+    }
+
+    /**
+     * List view that decodes through the archive's cache.
+     */
+    private class View extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return TaskArchive.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+    }
+}
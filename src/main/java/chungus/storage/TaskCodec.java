@@ -0,0 +1,53 @@
+package chungus.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import chungus.model.Task;
+
+/**
+ * On-disk format for a full snapshot of the task list.
+ */
+public interface TaskCodec {
+    /** File extension that selects {@link BinaryTaskCodec}; everything else uses {@link TextTaskCodec}. */
+    String BINARY_EXTENSION = ".bin";
+    /** File extension that selects {@link SlottedTaskCodec}. */
+    String SLOTTED_EXTENSION = ".db";
+
+    /**
+     * Reads every task stored in the given file.
+     *
+     * @param path file to read
+     * @return tasks in stored order
+     * @throws IOException if the file cannot be read or is not in this format
+     */
+    ArrayList<Task> read(Path path) throws IOException;
+
+    /**
+     * Writes the given tasks as a complete snapshot.
+     *
+     * @param tasks tasks to write, in order
+     * @param out   destination stream; not closed by this method
+     * @throws IOException if writing fails
+     */
+    void write(List<Task> tasks, OutputStream out) throws IOException;
+
+    /**
+     * Picks the codec for a file based on its extension.
+     *
+     * @param filePath data file path
+     * @return binary codec for {@code .bin} files, slotted codec for {@code .db} files, text codec otherwise
+     */
+    static TaskCodec forPath(String filePath) {
+        if (filePath.toLowerCase().endsWith(BINARY_EXTENSION)) {
+            return new BinaryTaskCodec();
+        }
+        if (filePath.toLowerCase().endsWith(SLOTTED_EXTENSION)) {
+            return new SlottedTaskCodec();
+        }
+        return new TextTaskCodec();
+    }
+}
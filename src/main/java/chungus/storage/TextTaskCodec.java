@@ -0,0 +1,277 @@
+package chungus.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.Todo;
+
+/**
+ * The original pipe-delimited line format, e.g.
+ * {@code D | 0 | return book | 2025-12-31 | H | 42}. The trailing task ID
+ * follows the priority; lines written before tasks had IDs end at the
+ * priority and are given IDs when loaded. Files are written in UTF-8; a file
+ * that is not valid UTF-8, such as one saved by older versions in the
+ * platform charset, is read in the platform charset instead.
+ */
+public class TextTaskCodec implements TaskCodec {
+    /** File size from which {@link #read(Path)} parses the file on several threads. */
+    public static final long DEFAULT_PARALLEL_LOAD_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    static final String FIELD_SEPARATOR = " | ";
+
+    private static final int MAX_FIELDS = 7;
+
+    private final long parallelLoadThresholdBytes;
+
+    /**
+     * Creates a text codec with the default parallel load threshold.
+     */
+    public TextTaskCodec() {
+        this(DEFAULT_PARALLEL_LOAD_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Creates a text codec that parses files of at least the given size in
+     * parallel when more than one core is available.
+     *
+     * @param parallelLoadThresholdBytes file size in bytes
+     */
+    public TextTaskCodec(long parallelLoadThresholdBytes) {
+        assert parallelLoadThresholdBytes >= 0 : "threshold must not be negative";
+        this.parallelLoadThresholdBytes = parallelLoadThresholdBytes;
+    }
+
+    @Override
+    public ArrayList<Task> read(Path path) throws IOException {
+        try {
+            if (Files.size(path) >= parallelLoadThresholdBytes && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                return new ChunkedLoader(path, StandardCharsets.UTF_8, TextTaskCodec::parseLine,
+                        ForkJoinPool.commonPool()).load();
+            }
+            return readLines(path, decoder(StandardCharsets.UTF_8, CodingErrorAction.REPORT));
+        } catch (CharacterCodingException e) {
+            return readLines(path, decoder(Charset.defaultCharset(), CodingErrorAction.REPLACE));
+        }
+    }
+
+    private static CharsetDecoder decoder(Charset charset, CodingErrorAction onError) {
+        return charset.newDecoder().onMalformedInput(onError).onUnmappableCharacter(onError);
+    }
+
+    private static ArrayList<Task> readLines(Path path, CharsetDecoder decoder) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), decoder))) {
+            String line = reader.readLine();
+            while (line != null) {
+                Task task = parseLine(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+                line = reader.readLine();
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public void write(List<Task> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (Task task : tasks) {
+            assert task != null : "task must not be null when saving";
+            writer.write(formatLine(task));
+            writer.write(System.lineSeparator());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Formats a task as a single data line.
+     *
+     * @param task task to format
+     * @return line without a terminator
+     */
+    static String formatLine(Task task) {
+        assert task != null : "task must not be null";
+        StringBuilder line = new StringBuilder();
+
+        if (task instanceof Todo) {
+            line.append("T | ");
+        } else if (task instanceof Deadline) {
+            line.append("D | ");
+        } else if (task instanceof Event) {
+            line.append("E | ");
+        }
+
+        line.append(task.getStatusIcon().equals("X") ? "1" : "0");
+        line.append(" | ");
+        assert task.getDescription() != null : "task description must not be null";
+        line.append(task.getDescription());
+
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            line.append(" | ").append(deadline.getByIso());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            line.append(" | ").append(event.getFromIso()).append(" | ").append(event.getToIso());
+        }
+
+        Priority p = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+        line.append(" | ").append(p.getSymbol());
+        if (task.getId() > 0) {
+            line.append(" | ").append(task.getId());
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * Parses a single data line.
+     *
+     * @param line line without a terminator
+     * @return parsed task, or null if the line is malformed
+     */
+    static Task parseLine(String line) {
+        try {
+            assert line != null : "line to parse must not be null";
+            String[] parts = splitFields(line);
+            if (parts.length < 3) {
+                return null;
+            }
+
+            String taskType = parts[0].trim();
+            boolean isDone = parts[1].trim().equals("1");
+            String description = parts[2].trim();
+
+            Task task = null;
+
+            switch (taskType) {
+            case "T":
+                task = new Todo(description);
+                break;
+            case "D":
+                if (parts.length >= 4) {
+                    String by = parts[3].trim();
+                    task = new Deadline(description, by);
+                }
+                break;
+            case "E":
+                if (parts.length >= 5) {
+                    String from = parts[3].trim();
+                    String to = parts[4].trim();
+                    task = new Event(description, from, to);
+                }
+                break;
+            default:
+                // Unknown task type; ignore line
+                return null;
+            }
+
+            if (task != null && isDone) {
+                task.markAsDone();
+            }
+
+            // Parse optional ID after the priority, then the priority; default MEDIUM if missing
+            int last = parts.length - 1;
+            if (task != null && parts.length >= 5 && isPrioritySymbol(parts[last - 1].trim())) {
+                long id = parseId(parts[last].trim());
+                if (id > 0) {
+                    task.setId(id);
+                    last--;
+                }
+            }
+            try {
+                String lastToken = parts[last].trim();
+                if (isPrioritySymbol(lastToken)) {
+                    task.setPriority(Priority.parseOrDefault(lastToken));
+                } else {
+                    task.setPriority(Priority.MEDIUM);
+                }
+            } catch (Exception ignored) {
+                if (task != null) {
+                    task.setPriority(Priority.MEDIUM);
+                }
+            }
+
+            return task;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean isPrioritySymbol(String token) {
+        return "H".equalsIgnoreCase(token) || "M".equalsIgnoreCase(token) || "L".equalsIgnoreCase(token);
+    }
+
+    /**
+     * Parses a task ID field, returning 0 if it is not a valid ID.
+     */
+    private static long parseId(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return 0;
+            }
+        }
+        try {
+            long id = token.isEmpty() ? 0 : Long.parseLong(token);
+            return id <= Task.MAX_ID ? id : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Splits a data line on the {@code " | "} separator without going through
+     * the regex engine. Mirrors {@code String.split}: trailing empty fields
+     * are dropped.
+     */
+    static String[] splitFields(String line) {
+        String[] fields = new String[MAX_FIELDS];
+        int count = 0;
+        int start = 0;
+        int sep = line.indexOf(FIELD_SEPARATOR);
+        while (sep >= 0) {
+            fields = appendField(fields, count++, line.substring(start, sep));
+            start = sep + FIELD_SEPARATOR.length();
+            sep = line.indexOf(FIELD_SEPARATOR, start);
+        }
+        fields = appendField(fields, count++, line.substring(start));
+        while (count > 0 && fields[count - 1].isEmpty()) {
+            count--;
+        }
+        if (count == fields.length) {
+            return fields;
+        }
+        String[] result = new String[count];
+        System.arraycopy(fields, 0, result, 0, count);
+        return result;
+    }
+
+    private static String[] appendField(String[] fields, int index, String field) {
+        String[] target = fields;
+        if (index == fields.length) {
+            target = new String[fields.length * 2];
+            System.arraycopy(fields, 0, target, 0, fields.length);
+        }
+        target[index] = field;
+        return target;
+    }
+}
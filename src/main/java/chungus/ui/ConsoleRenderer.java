@@ -0,0 +1,67 @@
+package chungus.ui;
+
+import java.io.IOException;
+
+import chungus.logic.CommandResult;
+
+/**
+ * Renders results for the console: the same text as the GUI, framed by
+ * horizontal rules, with platform line endings. A {@code list} without an
+ * explicit range shows every task.
+ */
+public class ConsoleRenderer extends TextRenderer {
+    private static final String LINE = "____________________________________________________________\n";
+
+    /**
+     * Creates a console renderer.
+     */
+    public ConsoleRenderer() {
+        super(System.lineSeparator(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void render(CommandResult result, Appendable out) throws IOException {
+        String newline = System.lineSeparator();
+        out.append(LINE).append(newline);
+        LastCharTracker body = new LastCharTracker(out);
+        super.render(result, body);
+        if (body.last != '\n') {
+            out.append(newline);
+        }
+        out.append(LINE).append(newline);
+    }
+
+    /**
+     * Forwards to another appendable and remembers the last character, so
+     * that a body that already ends with a newline does not get a blank line.
+     */
+    private static final class LastCharTracker implements Appendable {
+        private final Appendable out;
+        private char last;
+
+        LastCharTracker(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            if (end > start) {
+                out.append(csq, start, end);
+                last = csq.charAt(end - 1);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            out.append(c);
+            last = c;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package chungus.ui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import chungus.common.DateParser;
+import chungus.logic.Command;
+import chungus.logic.CommandResult;
+import chungus.logic.CommandType;
+import chungus.model.Deadline;
+import chungus.model.Event;
+import chungus.model.EventConflict;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskList;
+
+/**
+ * Renders each result as a single-line JSON object for scripts and other
+ * programs. Every object has a {@code "result"} field naming its kind, e.g.
+ * <pre>
+ * {"result":"added","task":{"id":3,"type":"todo","done":false,"priority":"medium","description":"read"},"size":3}
+ * {"result":"error","message":"Invalid task number. Please enter a number between 1 and 3"}
+ * </pre>
+ * Task lists carry one-based {@code "index"} fields. A {@code list} without an
+ * explicit range includes every task.
+ */
+public class JsonRenderer implements ResultRenderer {
+    @Override
+    public void render(CommandResult result, Appendable out) throws IOException {
+        if (result instanceof CommandResult.Listing listing) {
+            writeListing(out, listing);
+        } else if (result instanceof CommandResult.Matches matches) {
+            out.append("{\"result\":\"find\",\"tasks\":");
+            writeTasks(out, matches.tasks());
+            out.append('}');
+        } else if (result instanceof CommandResult.Added added) {
+            writeTaskChange(out, "added", added.task());
+            out.append(",\"size\":").append(Integer.toString(added.size()));
+            if (!added.conflicts().isEmpty()) {
+                out.append(",\"conflicts\":");
+                writeTasks(out, added.conflicts());
+            }
+            out.append('}');
+        } else if (result instanceof CommandResult.Conflicts conflicts) {
+            writeConflicts(out, conflicts.conflicts());
+        } else if (result instanceof CommandResult.Deleted deleted) {
+            writeTaskChange(out, "deleted", deleted.task());
+            out.append(",\"size\":").append(Integer.toString(deleted.size())).append('}');
+        } else if (result instanceof CommandResult.DeletedAll deleted) {
+            out.append("{\"result\":\"deleted\",\"count\":").append(Integer.toString(deleted.count()))
+                    .append(",\"size\":").append(Integer.toString(deleted.size())).append('}');
+        } else if (result instanceof CommandResult.Marked marked) {
+            writeTaskChange(out, marked.done() ? "marked" : "unmarked", marked.task());
+            out.append('}');
+        } else if (result instanceof CommandResult.MarkedAll marked) {
+            out.append(marked.done() ? "{\"result\":\"marked\"" : "{\"result\":\"unmarked\"")
+                    .append(",\"count\":").append(Integer.toString(marked.count())).append('}');
+        } else if (result instanceof CommandResult.PrioritySet set) {
+            writeTaskChange(out, "priority", set.task());
+            out.append(",\"index\":").append(Integer.toString(set.index() + 1)).append('}');
+        } else if (result instanceof CommandResult.PrioritySetAll set) {
+            out.append("{\"result\":\"priority\",\"count\":").append(Integer.toString(set.count()))
+                    .append(",\"priority\":\"").append(set.priority().name().toLowerCase()).append("\"}");
+        } else if (result instanceof CommandResult.Undone undone) {
+            out.append(undone.redo() ? "{\"result\":\"redone\"" : "{\"result\":\"undone\"")
+                    .append(",\"command\":\"").append(undone.command().getCommand())
+                    .append("\",\"count\":").append(Integer.toString(undone.count()))
+                    .append(",\"size\":").append(Integer.toString(undone.size())).append('}');
+        } else if (result instanceof CommandResult.Imported imported) {
+            out.append("{\"result\":\"imported\",\"count\":").append(Integer.toString(imported.count()))
+                    .append(",\"size\":").append(Integer.toString(imported.size())).append('}');
+        } else if (result instanceof CommandResult.Exported exported) {
+            out.append("{\"result\":\"exported\",\"count\":").append(Integer.toString(exported.count()))
+                    .append(",\"path\":");
+            writeString(out, exported.path());
+            out.append('}');
+        } else if (result instanceof CommandResult.Aliases aliases) {
+            writeAliases(out, aliases.aliases());
+        } else if (result instanceof CommandResult.AliasAdded added) {
+            out.append("{\"result\":\"alias\",\"alias\":");
+            writeString(out, added.alias());
+            out.append(",\"command\":");
+            writeString(out, added.command().getCommand());
+            out.append('}');
+        } else if (result instanceof CommandResult.Help) {
+            out.append("{\"result\":\"help\",\"text\":");
+            writeString(out, TextRenderer.getHelpMessage());
+            out.append('}');
+        } else if (result instanceof CommandResult.Failure failure) {
+            out.append("{\"result\":\"error\",\"message\":");
+            writeString(out, failure.message());
+            out.append('}');
+        } else {
+            throw new IllegalArgumentException("Unknown result: " + result);
+        }
+    }
+
+    private static void writeListing(Appendable out, CommandResult.Listing listing) throws IOException {
+        TaskList tasks = listing.tasks();
+        int limit = listing.limit() == Command.ListTasks.UNSPECIFIED ? Integer.MAX_VALUE : listing.limit();
+        int end = (int) Math.min((long) listing.offset() + limit, tasks.size());
+        out.append("{\"result\":\"list\",\"total\":").append(Integer.toString(tasks.size())).append(",\"tasks\":[");
+        for (int i = listing.offset(); i < end; i++) {
+            if (i > listing.offset()) {
+                out.append(',');
+            }
+            writeTask(out, tasks.get(i), i + 1);
+        }
+        out.append("]}");
+    }
+
+    private static void writeTasks(Appendable out, List<Task> tasks) throws IOException {
+        out.append('[');
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            writeTask(out, tasks.get(i), i + 1);
+        }
+        out.append(']');
+    }
+
+    private static void writeConflicts(Appendable out, List<EventConflict> conflicts) throws IOException {
+        out.append("{\"result\":\"conflicts\",\"conflicts\":[");
+        for (int i = 0; i < conflicts.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append("{\"first\":");
+            writeTask(out, conflicts.get(i).first(), 0);
+            out.append(",\"second\":");
+            writeTask(out, conflicts.get(i).second(), 0);
+            out.append('}');
+        }
+        out.append("]}");
+    }
+
+    /**
+     * Writes the opening of a result object that carries one task, leaving it
+     * open for extra fields.
+     */
+    private static void writeTaskChange(Appendable out, String kind, Task task) throws IOException {
+        out.append("{\"result\":\"").append(kind).append("\",\"task\":");
+        writeTask(out, task, 0);
+    }
+
+    /**
+     * Writes a task object; {@code index} is omitted when it is zero, and
+     * {@code id} when the task has none because it is not in the list.
+     */
+    private static void writeTask(Appendable out, Task task, int index) throws IOException {
+        out.append('{');
+        if (index > 0) {
+            out.append("\"index\":").append(Integer.toString(index)).append(',');
+        }
+        if (task.getId() > 0) {
+            out.append("\"id\":").append(Long.toString(task.getId())).append(',');
+        }
+        out.append("\"type\":\"");
+        if (task instanceof Deadline) {
+            out.append("deadline\",\"by\":\"").append(DateParser.formatIso(((Deadline) task).getDueDate()));
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            out.append("event\",\"from\":\"").append(DateParser.formatIso(event.getFromDate()))
+                    .append("\",\"to\":\"").append(DateParser.formatIso(event.getToDate()));
+        } else {
+            out.append("todo");
+        }
+        Priority priority = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+        out.append("\",\"done\":").append(Boolean.toString(task.getStatusIcon().equals("X")))
+                .append(",\"priority\":\"").append(priority.name().toLowerCase())
+                .append("\",\"description\":");
+        writeString(out, task.getDescription());
+        out.append('}');
+    }
+
+    private static void writeAliases(Appendable out, Map<String, CommandType> aliases) throws IOException {
+        out.append("{\"result\":\"aliases\",\"aliases\":{");
+        boolean first = true;
+        for (Map.Entry<String, CommandType> alias : aliases.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            writeString(out, alias.getKey());
+            out.append(':');
+            writeString(out, alias.getValue().getCommand());
+        }
+        out.append("}}");
+    }
+
+    /**
+     * Writes a JSON string literal, escaping quotes, backslashes and control characters.
+     */
+    private static void writeString(Appendable out, String s) throws IOException {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < ' ') {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+                break;
+            }
+        }
+        out.append('"');
+    }
+}
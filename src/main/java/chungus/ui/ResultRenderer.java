@@ -0,0 +1,36 @@
+package chungus.ui;
+
+import java.io.IOException;
+
+import chungus.logic.CommandResult;
+
+/**
+ * Turns a {@link CommandResult} into output for one front end.
+ */
+public interface ResultRenderer {
+    /**
+     * Writes the rendered result. Long results such as a full task list are
+     * streamed to {@code out} rather than built up as one string.
+     *
+     * @param result result to render
+     * @param out    destination
+     * @throws IOException if writing to {@code out} fails
+     */
+    void render(CommandResult result, Appendable out) throws IOException;
+
+    /**
+     * Renders the result to a string.
+     *
+     * @param result result to render
+     * @return rendered result
+     */
+    default String render(CommandResult result) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(result, sb);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return sb.toString();
+    }
+}
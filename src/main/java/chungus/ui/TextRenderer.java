@@ -0,0 +1,270 @@
+package chungus.ui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import chungus.common.Constants;
+import chungus.logic.Command;
+import chungus.logic.CommandResult;
+import chungus.logic.CommandType;
+import chungus.model.EventConflict;
+import chungus.model.Task;
+import chungus.model.TaskList;
+
+/**
+ * Renders results as the plain-text replies shown in the GUI's dialog boxes.
+ * A {@code list} without an explicit range shows the first page.
+ */
+public class TextRenderer implements ResultRenderer {
+    private static final int ESTIMATED_ROW_LENGTH = 64;
+    private static final int MAX_CONFLICTS_SHOWN = 5;
+    private static final String HELP = "Here are the commands I can help you with:\n\n"
+            + "📋 View Tasks:\n"
+            + "  • list - Show all your tasks (the first page in the GUI)\n"
+            + "  • list <page> - Show one page of tasks\n"
+            + "  • list --from <task number> --limit <count> - Show a range of tasks\n"
+            + "  • find <keyword> - Search for tasks containing a keyword\n"
+            + "  • find <word>* - Search for tasks with a word starting with <word>\n"
+            + "  • list [done|undone] [high|medium|low] - Show tasks with a status and/or priority\n"
+            + "  • due before <date> - Show deadlines due and events starting before a date\n"
+            + "  • on <date> - Show events taking place on a date\n"
+            + "  • between <date> <date> - Show events taking place during a range of dates\n"
+            + "  • conflicts - Show events whose dates overlap\n\n"
+            + "✅ Manage Tasks:\n"
+            + "  • mark <tasks> - Mark tasks as done\n"
+            + "  • unmark <tasks> - Mark tasks as not done\n"
+            + "  • delete <tasks> - Remove tasks from the list\n"
+            + "  • priority <tasks> <level> - Set priority (high/medium/low)\n\n"
+            + "➕ Add Tasks:\n"
+            + "  • todo <description> - Add a simple todo task\n"
+            + "  • deadline <description> /by <date> - Add a task with deadline\n"
+            + "  • event <description> /from <start> /to <end> - Add an event\n"
+            + "  • import <file> - Add all tasks from a .txt or .bin file\n\n"
+            + "ℹ️ Other:\n"
+            + "  • undo / redo - Reverse the last change, or make an undone change again (type in full)\n"
+            + "  • export <file> - Save a copy of your tasks as .txt or .bin\n"
+            + "  • alias [<name> <command>] - List aliases, or add one (e.g. alias t todo)\n"
+            + "  • help - Show this help message\n"
+            + "  • bye - Exit the application and save your tasks\n\n"
+            + "💡 Tips:\n"
+            + "  • Use task numbers from the list to reference specific tasks\n"
+            + "  • <tasks> can be a number, a range or list (5-9, 1,4,9), done, undone or find:<keyword>\n"
+            + "  • #<id> refers to a task by the ID shown after it, which stays the same when tasks move\n"
+            + "  • Commands can be shortened, e.g. 'dead' or the alias 'dl' for deadline\n"
+            + "  • Dates should be in the following formats: yyyy-MM-dd, d/M/yyyy, d-M-yyyy\n"
+            + "  • Priority levels: high, medium, low (default is medium)";
+
+    private final String newline;
+    private final int defaultListLimit;
+
+    /**
+     * Creates a renderer for the GUI.
+     */
+    public TextRenderer() {
+        this("\n", Constants.LIST_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a renderer with the given line separator and default page size.
+     *
+     * @param newline          line separator between rows
+     * @param defaultListLimit tasks shown by a {@code list} without an explicit range
+     */
+    public TextRenderer(String newline, int defaultListLimit) {
+        this.newline = newline;
+        this.defaultListLimit = defaultListLimit;
+    }
+
+    /**
+     * Returns the help message listing every command.
+     *
+     * @return help text
+     */
+    public static String getHelpMessage() {
+        return HELP;
+    }
+
+    @Override
+    public void render(CommandResult result, Appendable out) throws IOException {
+        if (result instanceof CommandResult.Listing listing) {
+            writeTaskList(out, listing.tasks(), listing.offset(), listLimit(listing));
+        } else if (result instanceof CommandResult.Matches matches) {
+            writeMatches(out, matches.tasks());
+        } else if (result instanceof CommandResult.Added added) {
+            writeTaskChange(out, "Got it. I've added this task:", added.task());
+            out.append(newline).append(tasksInList(added.size()));
+            writeAddConflicts(out, added.conflicts());
+        } else if (result instanceof CommandResult.Conflicts conflicts) {
+            writeConflicts(out, conflicts.conflicts());
+        } else if (result instanceof CommandResult.Deleted deleted) {
+            writeTaskChange(out, "Noted. I've removed this task:", deleted.task());
+            out.append(newline).append(tasksInList(deleted.size()));
+        } else if (result instanceof CommandResult.DeletedAll deleted) {
+            out.append("Noted. I've removed ").append(Integer.toString(deleted.count())).append(" tasks.")
+                    .append(newline).append(tasksInList(deleted.size()));
+        } else if (result instanceof CommandResult.Marked marked) {
+            writeTaskChange(out, marked.done() ? "Nice! I've marked this task as done:"
+                    : "OK, I've marked this task as not done yet:", marked.task());
+        } else if (result instanceof CommandResult.MarkedAll marked) {
+            out.append(marked.done() ? "Nice! I've marked " : "OK, I've marked ")
+                    .append(Integer.toString(marked.count()))
+                    .append(marked.done() ? " tasks as done." : " tasks as not done yet.");
+        } else if (result instanceof CommandResult.PrioritySet set) {
+            writeTaskChange(out, "Priority for task " + (set.index() + 1) + " set:", set.task());
+        } else if (result instanceof CommandResult.PrioritySetAll set) {
+            out.append("Priority set to ").append(set.priority().name().toLowerCase())
+                    .append(" for ").append(Integer.toString(set.count())).append(" tasks.");
+        } else if (result instanceof CommandResult.Undone undone) {
+            out.append(undone.redo() ? "Redone: " : "Undone: ").append(undone.command().getCommand())
+                    .append(" (").append(Integer.toString(undone.count()))
+                    .append(undone.count() == 1 ? " task)." : " tasks).")
+                    .append(newline).append(tasksInList(undone.size()));
+        } else if (result instanceof CommandResult.Imported imported) {
+            out.append("Imported ").append(Integer.toString(imported.count())).append(" tasks.")
+                    .append(newline).append(tasksInList(imported.size()));
+        } else if (result instanceof CommandResult.Exported exported) {
+            out.append(String.format("Exported %d tasks to %s.", exported.count(), exported.path()));
+        } else if (result instanceof CommandResult.Aliases aliases) {
+            writeAliases(out, aliases.aliases());
+        } else if (result instanceof CommandResult.AliasAdded added) {
+            out.append("Got it. '").append(added.alias()).append("' now stands for '")
+                    .append(added.command().getCommand()).append("'.");
+        } else if (result instanceof CommandResult.Help) {
+            out.append(HELP);
+        } else if (result instanceof CommandResult.Failure failure) {
+            out.append("OOPS!!! ").append(failure.message());
+        } else {
+            throw new IllegalArgumentException("Unknown result: " + result);
+        }
+    }
+
+    /**
+     * Renders the result to a string, sizing the buffer up front for a task list.
+     *
+     * @param result result to render
+     * @return rendered result
+     */
+    @Override
+    public String render(CommandResult result) {
+        int capacity = 64;
+        if (result instanceof CommandResult.Listing listing) {
+            int shown = Math.max(0, Math.min(listLimit(listing), listing.tasks().size() - listing.offset()));
+            capacity += shown * ESTIMATED_ROW_LENGTH;
+        }
+        StringBuilder sb = new StringBuilder(capacity);
+        try {
+            render(result, sb);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return sb.toString();
+    }
+
+    private int listLimit(CommandResult.Listing listing) {
+        return listing.limit() == Command.ListTasks.UNSPECIFIED ? defaultListLimit : listing.limit();
+    }
+
+    private void writeTaskChange(Appendable out, String heading, Task task) throws IOException {
+        out.append(heading).append(newline).append("  ");
+        writeTask(out, task);
+    }
+
+    /**
+     * Writes a task followed by its ID, e.g. {@code [T] [ ] [P:M] read book (#12)},
+     * so that it can be referred to with {@code #12} after other tasks move.
+     */
+    private static void writeTask(Appendable out, Task task) throws IOException {
+        out.append(task.toString());
+        if (task.getId() > 0) {
+            out.append(" (").append(Constants.SELECTOR_ID).append(Long.toString(task.getId())).append(')');
+        }
+    }
+
+    private static String tasksInList(int size) {
+        return "Now you have " + size + " tasks in the list.";
+    }
+
+    private void writeMatches(Appendable out, List<Task> matches) throws IOException {
+        out.append("Here are the matching tasks in your list:").append(newline);
+        for (int i = 0; i < matches.size(); i++) {
+            out.append(Integer.toString(i + 1)).append(". ");
+            writeTask(out, matches.get(i));
+            out.append(newline);
+        }
+    }
+
+    /**
+     * Warns about events that overlap one just added, listing the first few.
+     */
+    private void writeAddConflicts(Appendable out, List<Task> conflicts) throws IOException {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        out.append(newline).append("Heads up: it overlaps ").append(Integer.toString(conflicts.size()))
+                .append(conflicts.size() == 1 ? " other event:" : " other events:");
+        int shown = Math.min(conflicts.size(), MAX_CONFLICTS_SHOWN);
+        for (int i = 0; i < shown; i++) {
+            out.append(newline).append("  ");
+            writeTask(out, conflicts.get(i));
+        }
+        if (conflicts.size() > shown) {
+            out.append(newline).append("  ...and ").append(Integer.toString(conflicts.size() - shown))
+                    .append(" more.");
+        }
+    }
+
+    private void writeConflicts(Appendable out, List<EventConflict> conflicts) throws IOException {
+        if (conflicts.isEmpty()) {
+            out.append("No events overlap.");
+            return;
+        }
+        out.append("Here are the events that overlap:").append(newline);
+        for (int i = 0; i < conflicts.size(); i++) {
+            out.append(Integer.toString(i + 1)).append(". ");
+            writeTask(out, conflicts.get(i).first());
+            out.append(newline).append("   overlaps ");
+            writeTask(out, conflicts.get(i).second());
+            out.append(newline);
+        }
+    }
+
+    private void writeAliases(Appendable out, Map<String, CommandType> aliases) throws IOException {
+        out.append("Here are your command aliases:");
+        for (Map.Entry<String, CommandType> alias : aliases.entrySet()) {
+            out.append(newline).append("  ").append(alias.getKey()).append(" -> ")
+                    .append(alias.getValue().getCommand());
+        }
+    }
+
+    /**
+     * Writes the list header, the rows in {@code [offset, offset + limit)} and,
+     * if any tasks were left out, a footer saying how to see the next ones.
+     */
+    private void writeTaskList(Appendable out, TaskList tasks, int offset, int limit) throws IOException {
+        int total = tasks.size();
+        int end = (int) Math.min((long) offset + limit, total);
+        out.append("Here are the tasks in your list:").append(newline);
+        for (int i = offset; i < end; i++) {
+            out.append(Integer.toString(i + 1)).append(". ");
+            writeTask(out, tasks.get(i));
+            out.append(newline);
+        }
+        if (offset > 0 || end < total) {
+            out.append("Showing tasks ").append(Integer.toString(Math.min(offset + 1, end)))
+                    .append("-").append(Integer.toString(end))
+                    .append(" of ").append(Integer.toString(total)).append(".");
+            if (end < total) {
+                out.append(" Type '").append(nextPageCommand(end, limit)).append("' for more.");
+            }
+            out.append(newline);
+        }
+    }
+
+    private static String nextPageCommand(int nextOffset, int limit) {
+        if (limit == Constants.LIST_PAGE_SIZE && nextOffset % Constants.LIST_PAGE_SIZE == 0) {
+            return "list " + (nextOffset / Constants.LIST_PAGE_SIZE + 1);
+        }
+        return "list " + Constants.OPTION_FROM + " " + (nextOffset + 1) + " " + Constants.OPTION_LIMIT + " " + limit;
+    }
+}
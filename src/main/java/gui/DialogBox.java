@@ -1,62 +1,85 @@
 package gui;
 
-import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayDeque;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's
- * face
- * and a label containing text from the speaker.
+ * face and a label containing text from the speaker.
+ * Boxes are built in code rather than loaded from FXML, and boxes that have
+ * scrolled out of the retained history can be released for reuse, so a long
+ * session neither parses FXML per message nor keeps allocating new nodes.
+ * All methods must be called on the JavaFX application thread.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private static final int MAX_POOLED = 64;
+    private static final double PICTURE_SIZE = 99.0;
+    private static final ArrayDeque<DialogBox> POOL = new ArrayDeque<>();
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
+
+    private DialogBox() {
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the
-     * right.
+     * Sets the content and orientation; the speaker's picture goes on the left
+     * for Chungus and on the right for the user.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    private DialogBox show(String text, Image img, boolean pictureOnLeft) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (pictureOnLeft) {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        } else {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        }
+        return this;
+    }
+
+    private static DialogBox obtain() {
+        DialogBox box = POOL.poll();
+        return box != null ? box : new DialogBox();
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        return obtain().show(text, img, false);
     }
 
     public static DialogBox getChungusDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+        return obtain().show(text, img, true);
+    }
+
+    /**
+     * Returns a box that has been removed from the scene so that a later
+     * dialog can reuse it. At most a small number of boxes are kept.
+     *
+     * @param box dialog box no longer attached to any parent
+     */
+    public static void release(DialogBox box) {
+        assert box.getParent() == null : "dialog box must be removed from the scene before release";
+        box.dialog.setText(null);
+        box.displayPicture.setImage(null);
+        if (POOL.size() < MAX_POOLED) {
+            POOL.push(box);
+        }
     }
 }
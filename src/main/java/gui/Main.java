@@ -1,8 +1,11 @@
 package gui;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 import chungus.app.Chungus;
+import chungus.common.Constants;
+import chungus.storage.TaskArchive;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -14,10 +17,13 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
-    private Chungus chungus = new Chungus("data/chungus.txt");
+    private Chungus chungus = new Chungus(
+            System.getProperty(Constants.PROP_STORAGE_PATH, Constants.DEFAULT_STORAGE_PATH));
+    private TaskArchive archive;
 
     @Override
     public void start(Stage stage) {
+        chungus.startAutoSave();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -30,9 +36,37 @@ public class Main extends Application {
 
             stage.setScene(scene);
             fxmlLoader.<MainWindow>getController().setChungus(chungus); // inject the Chungus instance
+            openArchive(fxmlLoader.getController());
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Saves pending changes when the window closes, whether or not the user typed {@code bye}.
+     */
+    @Override
+    public void stop() throws IOException {
+        chungus.shutdown();
+        if (archive != null) {
+            archive.close();
+        }
+    }
+
+    /**
+     * Shows the archive named by {@link Constants#PROP_ARCHIVE_PATH}, if any, in place of the live list.
+     */
+    private void openArchive(MainWindow window) {
+        String archivePath = System.getProperty(Constants.PROP_ARCHIVE_PATH);
+        if (archivePath == null) {
+            return;
+        }
+        try {
+            archive = new TaskArchive(Paths.get(archivePath), Constants.ARCHIVE_CACHE_SIZE);
+            window.showArchive(archive, archivePath);
+        } catch (IOException e) {
+            System.err.println("Could not open archive " + archivePath + ": " + e.getMessage());
+        }
+    }
 }
@@ -1,9 +1,20 @@
 package gui;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import chungus.app.Chungus;
+import chungus.model.Task;
+import chungus.storage.TaskArchive;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -15,6 +26,10 @@ import javafx.util.Duration;
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    private static final double TASK_ROW_HEIGHT = 24.0;
+    /** Number of dialog boxes kept before the oldest are dropped. */
+    private static final int MAX_DIALOGS = 200;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -23,8 +38,13 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ListView<Task> taskListView;
+    @FXML
+    private ProgressIndicator busyIndicator;
 
     private Chungus chungus;
+    private int pendingCommands;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.png"));
     private Image chungusImage = new Image(this.getClass().getResourceAsStream("/images/chungus.png"));
@@ -32,37 +52,79 @@ public class MainWindow extends AnchorPane {
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        taskListView.setCellFactory(view -> new TaskCell());
+        taskListView.setFixedCellSize(TASK_ROW_HEIGHT);
     }
 
     /** Injects the Chungus instance */
     public void setChungus(Chungus c) {
         chungus = c;
+        taskListView.setItems(new TaskListAdapter(c.getTasks()));
         // Show welcome message when Chungus is initialized
         String welcomeMessage = "Hello! I'm Chungus!\nWhat can I do for you?\n\n"
                 + "💡 Type 'help' to see all available commands!";
-        dialogContainer.getChildren().addAll(
-                DialogBox.getChungusDialog(welcomeMessage, chungusImage));
+        appendDialog(DialogBox.getChungusDialog(welcomeMessage, chungusImage));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing
-     * Chungus's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Shows the tasks of an archive in the task list instead of the live list.
+     *
+     * @param archive open archive
+     * @param name    file name to show
+     */
+    public void showArchive(TaskArchive archive, String name) {
+        taskListView.setItems(FXCollections.observableList(archive.asList()));
+        appendDialog(DialogBox.getChungusDialog("Showing " + archive.size() + " tasks from " + name
+                + " (read-only).", chungusImage));
+    }
+
+    /**
+     * Echoes the user input in a dialog box and runs the command off the JavaFX
+     * thread, appending Chungus's reply when it is ready.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = chungus.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getChungusDialog(response, chungusImage));
+        appendDialog(DialogBox.getUserDialog(input, userImage));
         userInput.clear();
+        setPendingCommands(pendingCommands + 1);
+        chungus.getResponseAsync(input).whenComplete((response, error) -> Platform.runLater(() ->
+                showResponse(input, error == null ? response : "OOPS!!! Something went wrong: " + error.getMessage())));
+    }
+
+    private void showResponse(String input, String response) {
+        appendDialog(DialogBox.getChungusDialog(response, chungusImage));
+        setPendingCommands(pendingCommands - 1);
 
         // Check if user wants to exit
         if (chungus.isExitCommand(input)) {
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
-            delay.setOnFinished(event -> javafx.application.Platform.exit());
+            delay.setOnFinished(event -> Platform.exit());
             delay.play();
         }
     }
+
+    /**
+     * Appends a dialog box, removing and recycling the oldest ones once the
+     * history exceeds {@link #MAX_DIALOGS}.
+     */
+    private void appendDialog(DialogBox box) {
+        ObservableList<Node> dialogs = dialogContainer.getChildren();
+        dialogs.add(box);
+        int excess = dialogs.size() - MAX_DIALOGS;
+        if (excess <= 0) {
+            return;
+        }
+        List<Node> removed = new ArrayList<>(dialogs.subList(0, excess));
+        dialogs.remove(0, excess);
+        for (Node node : removed) {
+            DialogBox.release((DialogBox) node);
+        }
+    }
+
+    private void setPendingCommands(int count) {
+        assert count >= 0 : "pending command count must not be negative";
+        pendingCommands = count;
+        busyIndicator.setVisible(count > 0);
+    }
 }
@@ -0,0 +1,20 @@
+package gui;
+
+import chungus.model.Task;
+import javafx.scene.control.ListCell;
+
+/**
+ * A row of the task panel, showing the task's number, summary and ID the
+ * same way the {@code list} command does.
+ */
+class TaskCell extends ListCell<Task> {
+    @Override
+    protected void updateItem(Task task, boolean empty) {
+        super.updateItem(task, empty);
+        if (empty || task == null) {
+            setText(null);
+        } else {
+            setText((getIndex() + 1) + ". " + task + " (#" + task.getId() + ")");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chungus.model.Task;
+import chungus.model.TaskList;
+import chungus.model.TaskListListener;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+/**
+ * Exposes a {@link TaskList} to JavaFX controls as an observable list, replaying
+ * each change onto its own copy of the rows on the JavaFX thread.
+ */
+class TaskListAdapter extends ObservableListBase<Task> implements TaskListListener {
+    private final ArrayList<Task> rows;
+
+    /**
+     * Creates an adapter; must be called on the JavaFX thread while no command is running.
+     */
+    TaskListAdapter(TaskList tasks) {
+        this.rows = new ArrayList<>(tasks.snapshot());
+        tasks.addListener(this);
+    }
+
+    @Override
+    public Task get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public void onAdded(int index, Task task) {
+        runOnFxThread(() -> {
+            rows.add(index, task);
+            beginChange();
+            nextAdd(index, index + 1);
+            endChange();
+        });
+    }
+
+    /**
+     * Applies a bulk insertion as one list change, moving the rows up in a
+     * single pass and reporting each run of new rows once.
+     */
+    @Override
+    public void onAddedAll(int[] indices, List<Task> tasks) {
+        runOnFxThread(() -> {
+            int oldSize = rows.size();
+            for (int i = 0; i < indices.length; i++) {
+                rows.add(null);
+            }
+            int read = oldSize - 1;
+            int next = indices.length - 1;
+            for (int write = rows.size() - 1; next >= 0; write--) {
+                rows.set(write, indices[next] == write ? tasks.get(next--) : rows.get(read--));
+            }
+            beginChange();
+            int runStart = 0;
+            for (int i = 1; i <= indices.length; i++) {
+                if (i == indices.length || indices[i] != indices[i - 1] + 1) {
+                    nextAdd(indices[runStart], indices[i - 1] + 1);
+                    runStart = i;
+                }
+            }
+            endChange();
+        });
+    }
+
+    @Override
+    public void onRemoved(int index, Task task) {
+        runOnFxThread(() -> {
+            rows.remove(index);
+            beginChange();
+            nextRemove(index, task);
+            endChange();
+        });
+    }
+
+    /**
+     * Applies a bulk removal as one list change, reporting each removed run at
+     * its position after the earlier runs were removed.
+     */
+    @Override
+    public void onRemovedAll(int[] indices, List<Task> tasks) {
+        runOnFxThread(() -> {
+            int size = rows.size();
+            int write = indices[0];
+            int next = 0;
+            for (int read = write; read < size; read++) {
+                if (next < indices.length && indices[next] == read) {
+                    next++;
+                } else {
+                    rows.set(write++, rows.get(read));
+                }
+            }
+            rows.subList(write, size).clear();
+            beginChange();
+            int runStart = 0;
+            for (int i = 1; i <= indices.length; i++) {
+                if (i == indices.length || indices[i] != indices[i - 1] + 1) {
+                    nextRemove(indices[runStart] - runStart, tasks.subList(runStart, i));
+                    runStart = i;
+                }
+            }
+            endChange();
+        });
+    }
+
+    @Override
+    public void onUpdated(int index, Task task) {
+        runOnFxThread(() -> {
+            beginChange();
+            nextUpdate(index);
+            endChange();
+        });
+    }
+
+    @Override
+    public void onUpdatedAll(int[] indices, List<Task> tasks) {
+        runOnFxThread(() -> {
+            beginChange();
+            for (int index : indices) {
+                nextUpdate(index);
+            }
+            endChange();
+        });
+    }
+
+    private static void runOnFxThread(Runnable change) {
+        if (Platform.isFxApplicationThread()) {
+            change.run();
+        } else {
+            Platform.runLater(change);
+        }
+    }
+}
@@ -4,12 +4,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDate;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import chungus.common.ChungusException;
+import chungus.common.Constants;
+import chungus.logic.Command;
 import chungus.logic.CommandType;
 import chungus.logic.Parser;
+import chungus.logic.TaskSelector;
+import chungus.model.Priority;
+import chungus.model.TaskStatus;
 
 public class ParserTest {
     private Parser parser;
@@ -65,169 +72,213 @@ public class ParserTest {
     }
 
     @Test
-    public void parseDescription_validInputs_returnsCorrectDescription() {
-        assertEquals("read book", parser.parseDescription("todo read book", "todo"));
-        assertEquals("submit assignment /by 2025-12-31", parser.parseDescription(
-            "deadline submit assignment /by 2025-12-31", "deadline"));
-        assertEquals("project meeting /from 2025-01-01 /to 2025-01-02",
-            parser.parseDescription("event project meeting /from 2025-01-01 /to 2025-01-02", "event"));
-        assertEquals("", parser.parseDescription("todo", "todo"));
-        assertEquals("", parser.parseDescription("todo   ", "todo")); // trim() removes trailing spaces
+    public void parse_todo_trimsDescription() throws Exception {
+        assertEquals(new Command.AddTodo("read book"), parser.parse("todo read book"));
+        assertEquals(new Command.AddTodo("read book"), parser.parse("todo  read book  "));
+        assertParseError(Constants.MSG_TODO_EMPTY, "todo");
     }
 
     @Test
-    public void parseDescription_withWhitespace_trimsCorrectly() {
-        assertEquals("read book", parser.parseDescription("todo  read book  ", "todo"));
-        assertEquals("submit assignment  /by 2025-12-31", parser.parseDescription(
-            "deadline  submit assignment  /by 2025-12-31", "deadline"));
+    public void parse_taskNumbers_returnZeroBasedSelectors() throws Exception {
+        assertEquals(new Command.Mark(TaskSelector.index(0), true), parser.parse("mark 1"));
+        assertEquals(new Command.Mark(TaskSelector.index(9), true), parser.parse("mark 10"));
+        assertEquals(new Command.Mark(TaskSelector.index(0), false), parser.parse("unmark  1 "));
+        assertEquals(new Command.Delete(TaskSelector.index(0)), parser.parse("delete 1"));
     }
 
     @Test
-    public void parseTaskIndex_validInputs_returnsCorrectIndex() throws Exception {
-        assertEquals(0, parser.parseTaskIndex("mark 1", "mark"));
-        assertEquals(1, parser.parseTaskIndex("mark 2", "mark"));
-        assertEquals(9, parser.parseTaskIndex("mark 10", "mark"));
-        assertEquals(0, parser.parseTaskIndex("delete 1", "delete"));
-        assertEquals(0, parser.parseTaskIndex("unmark 1", "unmark"));
+    public void parse_invalidTaskNumbers_throws() {
+        assertParseError(Constants.MSG_PROVIDE_TASK_NUMBER, "mark");
+        assertParseError(Constants.MSG_PROVIDE_TASK_NUMBER, "mark ");
+        assertParseError("Please provide a valid number for the task.", "mark abc");
+        assertParseError("Please provide a valid number for the task.", "mark 1.5");
     }
 
     @Test
-    public void parseTaskIndex_withWhitespace_returnsCorrectIndex() throws Exception {
-        assertEquals(0, parser.parseTaskIndex("mark 1", "mark"));
-        assertEquals(1, parser.parseTaskIndex("mark 2", "mark"));
+    public void parse_deadline_parsesDescriptionAndDate() throws Exception {
+        Command expected = new Command.AddDeadline("submit iP", LocalDate.of(2025, 12, 31));
+        assertEquals(expected, parser.parse("deadline submit iP /by 2025-12-31"));
+        assertEquals(expected, parser.parse("deadline  submit iP  /by  2025-12-31  "));
+        assertEquals(new Command.AddDeadline("submit iP", LocalDate.of(2025, 1, 1)),
+                parser.parse("deadline submit iP /by 1/1/2025"));
     }
 
     @Test
-    public void parseTaskIndex_invalidInputs_throwsException() {
-        assertThrows(ChungusException.class, () -> parser.parseTaskIndex("mark", "mark"));
-        assertThrows(ChungusException.class, () -> parser.parseTaskIndex("mark ", "mark"));
-        assertThrows(ChungusException.class, () -> parser.parseTaskIndex("mark abc", "mark"));
-        assertThrows(ChungusException.class, () -> parser.parseTaskIndex(
-            "mark 1.5", "mark"));
-        // Note: mark -1 and mark 0 are valid input but convert to invalid indices,
-        // which should be handled by the caller
+    public void parse_malformedDeadline_throws() {
+        assertParseError(Constants.MSG_DEADLINE_NEEDS_BY, "deadline oops no by marker");
+        assertParseError(Constants.MSG_DEADLINE_NEEDS_BY, "deadline task");
+        assertParseError(Constants.MSG_DEADLINE_DATE_EMPTY, "deadline task /by");
+        assertParseError(Constants.MSG_DEADLINE_DESC_EMPTY, "deadline /by 2025-12-31");
     }
 
     @Test
-    public void parseDeadline_validInputs_parsedCorrectly() throws Exception {
-        String[] partsIso = parser.parseDeadline("deadline submit iP /by 2025-12-31");
-        assertEquals("submit iP", partsIso[0]);
-        assertEquals("2025-12-31", partsIso[1]);
-
-        String[] partsSlashes = parser.parseDeadline("deadline submit iP /by 1/1/2025");
-        assertEquals("submit iP", partsSlashes[0]);
-        assertEquals("1/1/2025", partsSlashes[1]);
+    public void parse_event_parsesDescriptionAndDates() throws Exception {
+        Command expected = new Command.AddEvent("project meeting", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2));
+        assertEquals(expected, parser.parse("event project meeting /from 2025-01-01 /to 2025-01-02"));
+        assertEquals(expected, parser.parse("event  project meeting  /from  2025-01-01  /to  2025-01-02  "));
+        assertEquals(expected, parser.parse("event project meeting /to 2025-01-02 /from 2025-01-01"));
     }
 
     @Test
-    public void parseDeadline_withWhitespace_parsedCorrectly() throws Exception {
-        String[] parts = parser.parseDeadline("deadline  submit iP  /by  2025-12-31  ");
-        assertEquals("submit iP", parts[0]);
-        assertEquals("2025-12-31", parts[1]);
+    public void parse_malformedEvent_throws() {
+        assertParseError(Constants.MSG_EVENT_NEEDS_FROM_TO, "event party /from 2025-01-01");
+        assertParseError(Constants.MSG_EVENT_NEEDS_FROM_TO, "event party /to 2025-01-01");
+        assertParseError(Constants.MSG_EVENT_NEEDS_FROM_TO, "event party");
+        assertParseError(Constants.MSG_EVENT_NEEDS_FROM_TO, "event");
+        assertParseError(Constants.MSG_EVENT_END_EMPTY, "event task /from 2025-01-01 /to");
+        assertParseError(Constants.MSG_EVENT_START_EMPTY, "event task /from /to 2025-01-02");
+        assertParseError(Constants.MSG_EVENT_DESC_EMPTY, "event /from 2025-01-01 /to 2025-01-02");
+        assertParseError(Constants.MSG_RANGE_REVERSED, "event trip /from 2025-01-03 /to 2025-01-01");
+        assertParseError(Constants.MSG_RANGE_REVERSED, "event trip /to 2025-01-01 /from 2025-01-03");
     }
 
     @Test
-    public void parseDeadline_missingBy_throws() {
-        assertThrows(ChungusException.class, () -> parser.parseDeadline("deadline oops no by marker"));
-        assertThrows(ChungusException.class, () -> parser.parseDeadline("deadline"));
-        assertThrows(ChungusException.class, () -> parser.parseDeadline("deadline task"));
+    public void parse_priority_returnsSelectorAndLevel() throws Exception {
+        assertEquals(new Command.SetPriority(TaskSelector.index(0), Priority.HIGH), parser.parse("priority 1 high"));
+        assertEquals(new Command.SetPriority(TaskSelector.index(4), Priority.MEDIUM),
+                parser.parse("priority 5 medium"));
+        assertEquals(new Command.SetPriority(TaskSelector.index(9), Priority.LOW), parser.parse("priority 10 low"));
     }
 
     @Test
-    public void parseDeadline_malformedInput_throws() {
-        // Only some malformed inputs throw exceptions
-        assertThrows(ChungusException.class, () -> parser.parseDeadline(
-            "deadline task /by"));
+    public void parse_invalidPriority_throws() {
+        assertParseError("Please provide a task number and priority level.", "priority");
+        assertParseError("Please provide a task number and priority level.", "priority ");
+        assertParseError("Please provide a priority level: high, medium, or low.", "priority 1");
+        assertParseError("Please provide a priority level: high, medium, or low.", "priority 1   ");
+        assertParseError("Please provide a valid number for the task.", "priority abc high");
+        assertParseError("Please provide a valid number for the task.", "priority 1.5 high");
     }
 
     @Test
-    public void parseDeadline_malformedInput_returnsEmptyDescription() throws Exception {
-        // Some malformed inputs return empty description
-        String[] result = parser.parseDeadline("deadline /by 2025-12-31");
-        assertEquals("", result[0]);
-        assertEquals("2025-12-31", result[1]);
+    public void parse_listRange_returnsOffsetAndLimit() throws Exception {
+        int unspecified = Command.ListTasks.UNSPECIFIED;
+        assertEquals(new Command.ListTasks(0, unspecified), parser.parse(" list "));
+        assertEquals(new Command.ListTasks(100, 50), parser.parse("list 3"));
+        assertEquals(new Command.ListTasks(999, 50), parser.parse("list --from 1000 --limit 50"));
+        assertEquals(new Command.ListTasks(999, unspecified), parser.parse("list --from 1000"));
+        assertEquals(new Command.ListTasks(0, 5), parser.parse("list --limit 5"));
     }
 
     @Test
-    public void parseEvent_validInputs_parsedCorrectly() throws Exception {
-        String[] parts = parser.parseEvent("event project meeting /from 2025-01-01 /to 2025-01-02");
-        assertEquals("project meeting", parts[0]);
-        assertEquals("2025-01-01", parts[1]);
-        assertEquals("2025-01-02", parts[2]);
+    public void parse_invalidListRange_throws() {
+        assertParseError(Constants.MSG_LIST_USAGE, "list 0");
+        assertParseError(Constants.MSG_LIST_USAGE, "list --from");
+        assertParseError(Constants.MSG_LIST_USAGE, "list --from -1 --limit 5");
+        assertParseError(Constants.MSG_LIST_USAGE, "list --start 1 --limit 5");
     }
 
     @Test
-    public void parseEvent_withWhitespace_parsedCorrectly() throws Exception {
-        String[] parts = parser.parseEvent("event  project meeting  /from  2025-01-01  /to  2025-01-02  ");
-        assertEquals("project meeting", parts[0]);
-        assertEquals("2025-01-01", parts[1]);
-        assertEquals("2025-01-02", parts[2]);
+    public void parseCommandType_prefixesAndAliases_resolveToCommand() {
+        assertEquals(CommandType.DEADLINE, parser.parseCommandType("dead return book /by 2025-12-31"));
+        assertEquals(CommandType.DEADLINE, parser.parseCommandType("dl return book /by 2025-12-31"));
+        assertEquals(CommandType.LIST, parser.parseCommandType("ls"));
+        assertNull(parser.parseCommandType("un 2")); // unmark or undo
+        assertNull(parser.parseCommandType("de 1")); // deadline or delete
+        assertNull(parser.parseCommandType("ex")); // export needs the full word
+        assertNull(parser.parseCommandType("del 1")); // so does delete
+        assertEquals(CommandType.EVENT, parser.parseCommandType("ev party"));
+        assertNull(parser.parseCommandType("t read")); // too short to be a prefix
+        assertNull(parser.parseCommandType("by")); // bye needs the full word
+        assertNull(parser.parseCommandType("und")); // so does undo
+        assertEquals(CommandType.UNMARK, parser.parseCommandType("unm 2"));
     }
 
     @Test
-    public void parseEvent_missingFromOrTo_throws() {
-        assertThrows(ChungusException.class, () -> parser.parseEvent("event party /from 2025-01-01"));
-        assertThrows(ChungusException.class, () -> parser.parseEvent("event party /to 2025-01-01"));
-        assertThrows(ChungusException.class, () -> parser.parseEvent("event party"));
-        assertThrows(ChungusException.class, () -> parser.parseEvent("event"));
+    public void defineAlias_definesUsableAlias() throws Exception {
+        assertEquals(CommandType.TODO, parser.defineAlias("t", "todo"));
+        assertEquals(CommandType.TODO, parser.parseCommandType("t read book"));
+        assertEquals(CommandType.DEADLINE, parser.defineAlias("later", "dl"));
+        assertEquals(CommandType.DEADLINE, parser.getAliases().get("later"));
+
+        assertThrows(ChungusException.class, () -> parser.defineAlias("list", "todo"));
+        assertThrows(ChungusException.class, () -> parser.defineAlias("x", "nothing"));
+        assertThrows(ChungusException.class, () -> parser.defineAlias("t", "event"));
+        assertThrows(ChungusException.class, () -> parser.defineAlias("q", "bye"));
     }
 
     @Test
-    public void parseEvent_malformedInput_throws() {
-        // Only some malformed inputs throw exceptions
-        assertThrows(ChungusException.class, () -> parser.parseEvent("event task /from 2025-01-01 /to"));
+    public void parse_addCommands_returnTypedCommandsWithParsedValues() throws Exception {
+        assertEquals(new Command.AddTodo("read book"), parser.parse("todo read book"));
+        assertEquals(new Command.AddDeadline("return book", LocalDate.of(2025, 12, 31)),
+                parser.parse("deadline return book /by 31/12/2025"));
+        assertEquals(new Command.AddEvent("trip to/from Paris", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3)),
+                parser.parse("event trip to/from Paris /from 2025-01-01 /to 2025-01-03"));
+        assertEquals(new Command.AddDeadline("pay", LocalDate.of(2025, 12, 31)),
+                parser.parse("dl pay /by 2025-12-31"));
     }
 
     @Test
-    public void parseEvent_malformedInput_returnsEmptyOrPartialData() throws Exception {
-        // Some malformed inputs return empty or partial data
-        String[] result1 = parser.parseEvent("event /from 2025-01-01 /to 2025-01-02");
-        assertEquals("", result1[0]);
-        assertEquals("2025-01-01", result1[1]);
-        assertEquals("2025-01-02", result1[2]);
-
-        String[] result2 = parser.parseEvent("event task /from /to 2025-01-02");
-        assertEquals("task", result2[0]);
-        assertEquals("", result2[1]);
-        assertEquals("2025-01-02", result2[2]);
+    public void parse_indexCommands_returnZeroBasedIndices() throws Exception {
+        assertEquals(new Command.Mark(TaskSelector.index(2), true), parser.parse("mark 3"));
+        assertEquals(new Command.Mark(TaskSelector.index(0), false), parser.parse("unmark 1"));
+        assertEquals(new Command.Delete(TaskSelector.index(4)), parser.parse("delete 5"));
+        assertEquals(new Command.SetPriority(TaskSelector.index(1), Priority.HIGH), parser.parse("priority 2 high"));
     }
 
     @Test
-    public void parsePriorityCommand_validInputs_returnsCorrectValues() throws Exception {
-        Object[] result = parser.parsePriorityCommand("priority 1 high");
-        assertEquals(0, result[0]); // 1-based to 0-based index
-        assertEquals("high", result[1]);
-
-        result = parser.parsePriorityCommand("priority 5 medium");
-        assertEquals(4, result[0]);
-        assertEquals("medium", result[1]);
-
-        result = parser.parsePriorityCommand("priority 10 low");
-        assertEquals(9, result[0]);
-        assertEquals("low", result[1]);
+    public void parse_bulkCommands_returnSelectors() throws Exception {
+        assertEquals(new Command.Delete(TaskSelector.parse("5-900")), parser.parse("delete 5-900"));
+        assertEquals(new Command.Mark(TaskSelector.parse("1,4,9"), true), parser.parse("mark 1, 4, 9"));
+        assertEquals(new Command.Delete(TaskSelector.parse("done")), parser.parse("delete done"));
+        assertEquals(new Command.SetPriority(TaskSelector.parse("find:report"), Priority.LOW),
+                parser.parse("priority low find:report"));
+        assertEquals(new Command.SetPriority(TaskSelector.parse("2-3"), Priority.HIGH), parser.parse("priority 2-3 h"));
+        assertEquals("1,4-6", TaskSelector.parse("1, 4-6").toString());
+        assertEquals(new Command.Mark(TaskSelector.id(42), true), parser.parse("mark #42"));
+        assertEquals("2,#7,#9", TaskSelector.parse("#7, 2, #9").toString());
     }
 
     @Test
-    public void parsePriorityCommand_withWhitespace_returnsCorrectValues() throws Exception {
-        Object[] result = parser.parsePriorityCommand("priority 1 high");
-        assertEquals(0, result[0]);
-        assertEquals("high", result[1]);
+    public void parse_otherCommands_returnTypedCommands() throws Exception {
+        assertEquals(new Command.ListTasks(0, Command.ListTasks.UNSPECIFIED), parser.parse("list"));
+        assertEquals(new Command.ListTasks(50, 50), parser.parse("list 2"));
+        assertEquals(new Command.ListWhere(TaskStatus.DONE, null), parser.parse("list done"));
+        assertEquals(new Command.ListWhere(TaskStatus.NOT_DONE, Priority.HIGH), parser.parse("ls high undone"));
+        assertEquals(new Command.DueBefore(LocalDate.of(2026, 11, 1)), parser.parse("due before 2026-11-01"));
+        LocalDate day = LocalDate.of(2026, 10, 20);
+        assertEquals(new Command.EventsDuring(day, day), parser.parse("on 2026-10-20"));
+        assertEquals(CommandType.ON, parser.parse("on 20/10/2026").type());
+        assertEquals(new Command.EventsDuring(day, day.plusDays(5)), parser.parse("between 2026-10-20 25-10-2026"));
+        assertEquals(new Command.Conflicts(), parser.parse("conflicts"));
+        assertEquals(new Command.Undo(), parser.parse("undo"));
+        assertEquals(new Command.Redo(), parser.parse("redo"));
+        assertEquals(new Command.Find("book", false), parser.parse("find book"));
+        assertEquals(new Command.Find("rep", true), parser.parse("find rep*"));
+        assertEquals(new Command.Export("out.bin"), parser.parse("export out.bin"));
+        assertEquals(new Command.Alias(null, null), parser.parse("alias"));
+        assertEquals(new Command.Alias("t", "todo"), parser.parse("alias t todo"));
+        assertEquals(new Command.Help(), parser.parse("help"));
     }
 
     @Test
-    public void parsePriorityCommand_invalidInputs_throwsException() {
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority"));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority "));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority 1"));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority 1 "));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority abc high"));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority 1.5 high"));
-        // Note: priority -1 high is valid input but converts to -2 index, which should be handled by the caller
+    public void parse_invalidArguments_throwsWithSpecificMessage() {
+        assertParseError(Constants.MSG_UNKNOWN, "blah");
+        assertParseError(Constants.MSG_TODO_EMPTY, "todo   ");
+        assertParseError(Constants.MSG_DEADLINE_NEEDS_BY, "deadline return book");
+        assertParseError(Constants.MSG_DEADLINE_DESC_EMPTY, "deadline /by 2025-12-31");
+        assertParseError(Constants.MSG_DEADLINE_DATE_EMPTY, "deadline return book /by");
+        assertParseError(Constants.MSG_INVALID_DATE_FORMAT, "deadline return book /by tomorrow");
+        assertParseError(Constants.MSG_EVENT_NEEDS_FROM_TO, "event trip /from 2025-01-01");
+        assertParseError(Constants.MSG_INVALID_END_DATE, "event trip /from 2025-01-01 /to soon");
+        assertParseError(Constants.MSG_PROVIDE_TASK_NUMBER, "mark");
+        assertParseError("Please provide a valid number for the task.", "delete one");
+        assertParseError("Please provide a valid number for the task.", "delete 1,,2");
+        assertParseError("Invalid range 9-5: the first task number must come first.", "delete 9-5");
+        assertParseError(Constants.MSG_PROVIDE_KEYWORD, "mark find:");
+        assertParseError("Please provide a valid task ID after '#'.", "delete #x");
+        assertParseError(Constants.MSG_ALIAS_USAGE, "alias t");
+        assertParseError(Constants.MSG_INVALID_PRIORITY, "priority 3 urgnet");
+        assertParseError(Constants.MSG_LIST_USAGE, "list done undone");
+        assertParseError(Constants.MSG_DUE_USAGE, "due 2026-11-01");
+        assertParseError(Constants.MSG_INVALID_DATE_FORMAT, "due before someday");
+        assertParseError(Constants.MSG_ON_USAGE, "on");
+        assertParseError(Constants.MSG_BETWEEN_USAGE, "between 2026-10-20");
+        assertParseError(Constants.MSG_RANGE_REVERSED, "between 2026-10-20 2026-10-19");
     }
 
-    @Test
-    public void parsePriorityCommand_emptyPriority_throwsException() {
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority 1 "));
-        assertThrows(ChungusException.class, () -> parser.parsePriorityCommand("priority 1   "));
+    private void assertParseError(String expectedMessage, String input) {
+        ChungusException e = assertThrows(ChungusException.class, () -> parser.parse(input));
+        assertEquals(expectedMessage, e.getMessage());
     }
 }
@@ -1,12 +1,23 @@
 package chungus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,8 +27,13 @@ import chungus.model.Deadline;
 import chungus.model.Event;
 import chungus.model.Priority;
 import chungus.model.Task;
+import chungus.model.TaskList;
 import chungus.model.Todo;
+import chungus.storage.AutoSaver;
+import chungus.storage.BinaryTaskCodec;
 import chungus.storage.Storage;
+import chungus.storage.TaskArchive;
+import chungus.storage.TextTaskCodec;
 
 public class StorageTest {
     private Path tempDir;
@@ -31,11 +47,12 @@ public class StorageTest {
 
     @AfterEach
     public void cleanup() throws Exception {
-        if (Files.exists(tempFile)) {
-            Files.delete(tempFile);
-        }
         if (Files.exists(tempDir)) {
-            Files.delete(tempDir);
+            try (Stream<Path> paths = Files.walk(tempDir)) {
+                for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(p);
+                }
+            }
         }
     }
 
@@ -77,4 +94,515 @@ public class StorageTest {
         assertEquals("conference", loaded.get(2).getDescription());
         assertEquals(Priority.LOW, loaded.get(2).getPriority());
     }
+
+    @Test
+    public void load_withJournalOnly_replaysMutations() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        storage.appendAdd(new Todo("read book"));
+        storage.appendAdd(new Deadline("return book", "2025-12-31"));
+        storage.appendAdd(new Todo("clean room"));
+        storage.appendMark(new long[] {1}, true);
+        storage.appendPriority(new long[] {3}, Priority.HIGH);
+        storage.appendDelete(new long[] {2});
+
+        ArrayList<Task> loaded = new Storage(tempFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+        assertEquals("X", loaded.get(0).getStatusIcon());
+        assertEquals("clean room", loaded.get(1).getDescription());
+        assertEquals(Priority.HIGH, loaded.get(1).getPriority());
+    }
+
+    @Test
+    public void load_withBulkJournalRecords_replaysEachAsOneChange() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        for (int i = 0; i < 6; i++) {
+            storage.appendAdd(new Todo("task " + i));
+        }
+        storage.appendMark(new long[] {1, 2, 3, 6}, true);
+        storage.appendPriority(new long[] {2, 6}, Priority.LOW);
+        storage.appendDelete(new long[] {1, 3, 4});
+        storage.appendDelete(new long[] {5, 9});
+
+        ArrayList<Task> loaded = new Storage(tempFile.toString()).load();
+        assertEquals(3, loaded.size());
+        assertEquals("task 1", loaded.get(0).getDescription());
+        assertEquals(Priority.LOW, loaded.get(0).getPriority());
+        assertEquals("task 4", loaded.get(1).getDescription());
+        assertEquals(" ", loaded.get(1).getStatusIcon());
+        assertEquals("X", loaded.get(2).getStatusIcon());
+    }
+
+    @Test
+    public void load_withPositionalJournalRecords_stillReplaysThem() throws Exception {
+        Files.write(tempFile, "T | 0 | read book | M\nT | 0 | write report | M\n".getBytes(StandardCharsets.UTF_8));
+        String journal = "ADD | T | 0 | clean room | M\nMARK | 0-1\nPRIORITY | 2 | H\nDELETE | 0\n";
+        Files.write(Path.of(tempFile + ".journal"), journal.getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> loaded = new Storage(tempFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("X", loaded.get(0).getStatusIcon());
+        assertEquals(2, loaded.get(0).getId());
+        assertEquals(Priority.HIGH, loaded.get(1).getPriority());
+        assertEquals(3, loaded.get(1).getId());
+    }
+
+    @Test
+    public void saveAndLoad_keepsTaskIds() throws Exception {
+        for (String name : new String[] {"tasks.txt", "tasks.bin"}) {
+            Storage storage = new Storage(tempDir.resolve(name).toString());
+            ArrayList<Task> toSave = new ArrayList<>();
+            toSave.add(new Todo("read book"));
+            toSave.add(new Deadline("return book", "2025-12-31"));
+            toSave.add(new Event("conference", "2025-01-01", "2025-01-03"));
+            toSave.get(0).setId(4);
+            toSave.get(1).setId(9);
+            toSave.get(2).setId(10);
+            storage.save(toSave);
+            Task added = new Todo("new task");
+            added.setId(12);
+            storage.appendAdd(added);
+
+            ArrayList<Task> loaded = storage.load();
+            assertEquals(4, loaded.get(0).getId());
+            assertEquals(9, loaded.get(1).getId());
+            assertEquals(10, loaded.get(2).getId());
+            assertEquals(12, loaded.get(3).getId());
+            assertEquals("2025-01-03", ((Event) loaded.get(2)).getToIso());
+        }
+    }
+
+    @Test
+    public void saveAndLoad_afterDeletingHighestId_doesNotReuseIt() throws Exception {
+        for (String name : new String[] {"tasks.txt", "tasks.bin", "tasks.db"}) {
+            String path = tempDir.resolve(name).toString();
+            Storage storage = new Storage(path);
+            TaskList tasks = new TaskList(storage.load(), storage.getNextId());
+            for (int i = 0; i < 3; i++) {
+                Task task = new Todo("task " + i);
+                tasks.add(task);
+                storage.appendAdd(task);
+            }
+            tasks.remove(2);
+            storage.appendDelete(new long[] {3});
+            storage.save(tasks.snapshot());
+            Storage reopened = new Storage(path);
+            reopened.save(reopened.load());
+
+            Storage restarted = new Storage(path);
+            TaskList reloaded = new TaskList(restarted.load(), restarted.getNextId());
+            Task added = new Todo("new task");
+            reloaded.add(added);
+            assertEquals(2, restarted.load().size());
+            assertEquals(4, added.getId());
+        }
+    }
+
+    @Test
+    public void load_withSnapshotAndJournal_replaysOverSnapshot() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("read book"));
+        storage.save(toSave);
+        storage.appendAdd(new Event("conference", "2025-01-01", "2025-01-03"));
+        storage.appendMark(new long[] {2}, true);
+        storage.appendMark(new long[] {2}, false);
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(1) instanceof Event);
+        assertEquals(" ", loaded.get(1).getStatusIcon());
+    }
+
+    @Test
+    public void save_afterJournalAppends_foldsJournalIntoSnapshot() throws Exception {
+        Storage storage = new Storage(tempFile.toString(), 1);
+        storage.appendAdd(new Todo("read book"));
+        assertTrue(storage.needsCompaction());
+
+        storage.save(storage.load());
+        assertFalse(storage.needsCompaction());
+        assertFalse(Files.exists(Path.of(tempFile + ".journal")));
+        assertEquals(1, storage.load().size());
+    }
+
+    @Test
+    public void save_withAppendsWhileSaving_keepsThemInJournal() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(withId(new Todo("read book"), 1));
+        storage.appendAdd(toSave.get(0));
+
+        storage.save(() -> {
+            try {
+                // Another thread adds a task after the journal was moved aside
+                storage.appendAdd(withId(new Todo("write report"), 2));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return toSave;
+        });
+
+        assertTrue(Files.exists(Path.of(tempFile + ".journal")));
+        assertFalse(Files.exists(Path.of(tempFile + ".journal.saving")));
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(2, loaded.size());
+        assertEquals("write report", loaded.get(1).getDescription());
+    }
+
+    @Test
+    public void load_afterInterruptedSave_appliesLeftoverJournalOnce() throws Exception {
+        Storage other = new Storage(tempDir.resolve("other.txt").toString());
+        Task report = withId(new Todo("write report"), 2);
+        other.appendAdd(report);
+        other.appendMark(new long[] {2}, true);
+
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(withId(new Todo("read book"), 1));
+        toSave.add(report);
+        report.markAsDone();
+        storage.save(toSave);
+        // Simulate a save that wrote the snapshot but was killed before deleting the moved journal
+        Files.copy(tempDir.resolve("other.txt.journal"), Path.of(tempFile + ".journal.saving"));
+        storage.appendAdd(withId(new Todo("clean room"), 3));
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(3, loaded.size());
+        assertEquals("write report", loaded.get(1).getDescription());
+        assertTrue(loaded.get(1).isDone());
+        assertEquals(3, loaded.get(2).getId());
+    }
+
+    @Test
+    public void autoSaver_savesOnlyWhenTasksChanged() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        TaskList tasks = new TaskList();
+        ArrayList<String> warnings = new ArrayList<>();
+        try (AutoSaver saver = new AutoSaver(tasks, storage, 60_000, warnings::add)) {
+            assertFalse(saver.saveIfDirty());
+
+            Task added = new Todo("read book");
+            tasks.add(added);
+            storage.appendAdd(added);
+            assertTrue(saver.saveIfDirty());
+            assertFalse(saver.saveIfDirty());
+            assertFalse(Files.exists(Path.of(tempFile + ".journal")));
+
+            tasks.setDone(0, true);
+            storage.appendMark(new long[] {added.getId()}, true);
+        }
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertFalse(Files.exists(Path.of(tempFile + ".journal")));
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void slottedFile_appliesChangesInPlace() throws Exception {
+        Path dbFile = tempDir.resolve("tasks.db");
+        Storage storage = new Storage(dbFile.toString(), 1);
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(withId(new Todo("read book"), 1));
+        toSave.add(withId(new Deadline("return book", "2025-12-31"), 2));
+        toSave.add(withId(new Event("conference", "2025-01-01", "2025-01-03"), 3));
+        storage.save(toSave);
+        long size = Files.size(dbFile);
+
+        storage.appendMark(new long[] {2}, true);
+        storage.appendPriority(new long[] {2, 3}, Priority.HIGH);
+        storage.appendDelete(new long[] {1});
+        assertEquals(size, Files.size(dbFile));
+        assertFalse(Files.exists(Path.of(dbFile + ".journal")));
+        assertTrue(storage.isUpdatedInPlace());
+        assertTrue(storage.needsCompaction());
+
+        ArrayList<Task> loaded = new Storage(dbFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals(2, loaded.get(0).getId());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals(Priority.HIGH, loaded.get(0).getPriority());
+        assertEquals("2025-01-03", ((Event) loaded.get(1)).getToIso());
+        assertEquals(Priority.HIGH, loaded.get(1).getPriority());
+
+        storage.save(loaded);
+        assertFalse(storage.needsCompaction());
+        assertTrue(Files.size(dbFile) < size);
+        assertEquals(2, storage.load().size());
+    }
+
+    @Test
+    public void slottedFile_withTornAppend_dropsItAndKeepsAppending() throws Exception {
+        Path dbFile = tempDir.resolve("tasks.db");
+        Storage storage = new Storage(dbFile.toString());
+        storage.appendAdd(withId(new Todo("read book"), 1));
+        storage.appendAdd(withId(new Todo("write report"), 3));
+        Files.write(dbFile, new byte[] {0, 0, 0, 40, 0, 0}, StandardOpenOption.APPEND);
+
+        Storage reopened = new Storage(dbFile.toString());
+        assertEquals(2, reopened.load().size());
+        // A task put back by undo is appended after tasks with higher IDs
+        reopened.appendRestore(withId(new Todo("clean room"), 2));
+
+        ArrayList<Task> loaded = new Storage(dbFile.toString()).load();
+        assertEquals(3, loaded.size());
+        assertEquals("clean room", loaded.get(1).getDescription());
+        assertEquals(3, loaded.get(2).getId());
+    }
+
+    @Test
+    public void autoSaver_withSlottedFile_onlySavesToCompact() throws Exception {
+        Path dbFile = tempDir.resolve("tasks.db");
+        Storage storage = new Storage(dbFile.toString());
+        TaskList tasks = new TaskList(storage.load());
+        AutoSaver saver = new AutoSaver(tasks, storage, 60_000, message -> { });
+        Task added = new Todo("read book");
+        tasks.add(added);
+        storage.appendAdd(added);
+        assertFalse(saver.saveIfDirty());
+
+        tasks.remove(0);
+        storage.appendDelete(new long[] {added.getId()});
+        assertTrue(saver.saveIfDirty());
+        assertEquals(0, new Storage(dbFile.toString()).load().size());
+    }
+
+    @Test
+    public void taskArchive_decodesLiveTasksOnAccess() throws Exception {
+        Path dbFile = tempDir.resolve("archive.db");
+        Storage storage = new Storage(dbFile.toString());
+        storage.appendAdd(withId(new Todo("read book"), 1));
+        storage.appendAdd(withId(new Deadline("return book", "2025-12-31"), 2));
+        storage.appendAdd(withId(new Event("conference", "2025-01-01", "2025-01-03"), 4));
+        storage.appendRestore(withId(new Todo("clean room"), 3));
+        storage.appendDelete(new long[] {1});
+        storage.appendMark(new long[] {4}, true);
+
+        try (TaskArchive archive = new TaskArchive(dbFile, 2)) {
+            assertEquals(3, archive.size());
+            List<Task> tasks = archive.asList();
+            assertEquals("return book", tasks.get(0).getDescription());
+            assertEquals("clean room", tasks.get(1).getDescription());
+            assertEquals(4, tasks.get(2).getId());
+            assertTrue(tasks.get(2).isDone());
+            assertEquals("2025-01-03", ((Event) tasks.get(2)).getToIso());
+
+            Task cached = archive.get(2);
+            assertSame(cached, archive.get(2));
+            archive.get(0);
+            archive.get(1);
+            assertNotSame(cached, archive.get(2));
+            assertEquals(cached.getDescription(), archive.get(2).getDescription());
+        }
+    }
+
+    @Test
+    public void taskArchive_withOtherFormat_throwsIoException() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("read book"));
+        storage.save(toSave);
+
+        assertThrows(IOException.class, () -> new TaskArchive(tempFile, 10));
+    }
+
+    @Test
+    public void load_withTornJournalRecord_ignoresIncompleteTail() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        storage.appendAdd(new Todo("read book"));
+        Files.write(Path.of(tempFile + ".journal"), "ADD | T | 0 | half wri".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void append_afterTornJournalRecord_keepsNextRecordIntact() throws Exception {
+        new Storage(tempFile.toString()).appendAdd(new Todo("read book"));
+        Files.write(Path.of(tempFile + ".journal"), "ADD | T | 0 | half wri".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        new Storage(tempFile.toString()).appendAdd(new Todo("clean room"));
+        ArrayList<Task> loaded = new Storage(tempFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("clean room", loaded.get(1).getDescription());
+    }
+
+    @Test
+    public void save_withBackupGenerations_keepsPreviousSnapshots() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        storage.setBackupGenerations(2);
+        for (int i = 1; i <= 3; i++) {
+            ArrayList<Task> toSave = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                toSave.add(new Todo("task " + j));
+            }
+            storage.save(toSave);
+        }
+
+        assertEquals(3, storage.load().size());
+        assertEquals(2, Files.readAllLines(storage.getBackupPath(1)).size());
+        assertEquals(1, Files.readAllLines(storage.getBackupPath(2)).size());
+        assertFalse(Files.exists(storage.getBackupPath(3)));
+        assertFalse(Files.exists(Path.of(tempFile + ".tmp")));
+    }
+
+    @Test
+    public void load_withLeftoverTempFile_ignoresIt() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("read book"));
+        storage.save(toSave);
+        // Simulate a save that was killed before the rename
+        Files.write(Path.of(tempFile + ".tmp"), "T | 0 | half wri".getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void load_withMalformedLines_skipsThemAndKeepsOthers() throws Exception {
+        String content = "T | 1 | read book | H\n"
+                + "\n"
+                + "T | 0 | \n"
+                + "X | 0 | unknown type\n"
+                + "D | 0 | missing date\n"
+                + "E | 0 | conference | 2025-01-01 | 2025-01-03\n";
+        Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> loaded = new Storage(tempFile.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+        assertEquals(Priority.HIGH, loaded.get(0).getPriority());
+        assertTrue(loaded.get(1) instanceof Event);
+        assertEquals(Priority.MEDIUM, loaded.get(1).getPriority());
+    }
+
+    @Test
+    public void load_parallel_matchesSequentialLoadInOrder() throws Exception {
+        String[][] lineEndings = {{"\r\n", "\n", "\r"}, {"\r"}};
+        for (String[] endings : lineEndings) {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 50000; i++) {
+                if (i % 2 == 0) {
+                    content.append("T | 1 | task ").append(i).append(" | L");
+                } else {
+                    content.append("D | 0 | task ").append(i).append(" | 2025-12-31 | H");
+                }
+                content.append(endings[i % endings.length]);
+            }
+            content.append("E | 0 | last task | 2025-01-01 | 2025-01-03 | M");
+            Files.write(tempFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+            Storage sequential = new Storage(tempFile.toString(), new TextTaskCodec(Long.MAX_VALUE),
+                    Storage.DEFAULT_COMPACTION_THRESHOLD_BYTES);
+            Storage parallel = new Storage(tempFile.toString(), new TextTaskCodec(0),
+                    Storage.DEFAULT_COMPACTION_THRESHOLD_BYTES);
+
+            ArrayList<Task> expected = sequential.load();
+            ArrayList<Task> actual = parallel.load();
+            assertEquals(50001, expected.size());
+            assertEquals(50001, actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    public void load_withNonUtf8Bytes_keepsTasksOnBothPaths() throws Exception {
+        byte[] content = "T | 0 | café | M\nT | 1 | read book | H\n".getBytes(StandardCharsets.ISO_8859_1);
+        Files.write(tempFile, content);
+
+        for (long threshold : new long[] {Long.MAX_VALUE, 0}) {
+            ArrayList<Task> loaded = new Storage(tempFile.toString(), new TextTaskCodec(threshold),
+                    Storage.DEFAULT_COMPACTION_THRESHOLD_BYTES).load();
+            assertEquals(2, loaded.size());
+            assertTrue(loaded.get(0).getDescription().startsWith("caf"));
+            assertEquals("read book", loaded.get(1).getDescription());
+        }
+    }
+
+    @Test
+    public void saveAndLoad_binaryFile_roundTripsAllFields() throws Exception {
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        Storage storage = new Storage(binaryFile.toString());
+
+        ArrayList<Task> toSave = new ArrayList<>();
+        Task t1 = new Todo("read böök | twice");
+        Task t2 = new Deadline("return book", "31/12/2025");
+        Task t3 = new Event("conference", "2025-01-01", "3-1-2025");
+        t1.markAsDone();
+        t2.setPriority(Priority.HIGH);
+        t3.setPriority(Priority.LOW);
+        toSave.add(t1);
+        toSave.add(t2);
+        toSave.add(t3);
+        storage.save(toSave);
+
+        byte[] header = Files.readAllBytes(binaryFile);
+        assertEquals('C', header[0]);
+        assertEquals(BinaryTaskCodec.VERSION, header[4]);
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < toSave.size(); i++) {
+            assertEquals(toSave.get(i).toString(), loaded.get(i).toString());
+        }
+        assertEquals("2025-12-31", ((Deadline) loaded.get(1)).getByIso());
+        assertEquals("2025-01-03", ((Event) loaded.get(2)).getToIso());
+    }
+
+    @Test
+    public void load_binaryFileWithWrongMagic_throwsIoException() throws Exception {
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        Files.write(binaryFile, "T | 0 | not binary".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new Storage(binaryFile.toString()).load());
+    }
+
+    @Test
+    public void load_binaryFileWithCorruptLength_throwsIoException() throws Exception {
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        ByteBuffer content = ByteBuffer.allocate(19);
+        content.putInt(BinaryTaskCodec.MAGIC).put(BinaryTaskCodec.VERSION);
+        content.put((byte) 0).put((byte) 0).putLong(1).putInt(-1);
+        Files.write(binaryFile, content.array());
+
+        assertThrows(IOException.class, () -> new Storage(binaryFile.toString()).load());
+        content.putInt(15, Integer.MAX_VALUE);
+        Files.write(binaryFile, content.array());
+        assertThrows(IOException.class, () -> new Storage(binaryFile.toString()).load());
+    }
+
+    @Test
+    public void exportAndImport_convertBetweenFormats() throws Exception {
+        Storage storage = new Storage(tempFile.toString());
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("read book"));
+        toSave.add(new Deadline("return book", "2025-12-31"));
+
+        String binaryPath = tempDir.resolve("export/tasks.bin").toString();
+        storage.exportTo(toSave, binaryPath);
+        ArrayList<Task> fromBinary = storage.importFrom(binaryPath);
+        String textPath = tempDir.resolve("export/tasks.txt").toString();
+        storage.exportTo(fromBinary, textPath);
+
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(Path.of(textPath)));
+        assertEquals(2, lines.size());
+        assertEquals("T | 0 | read book | M", lines.get(0));
+        assertEquals("D | 0 | return book | 2025-12-31 | M", lines.get(1));
+        assertFalse(new File(tempFile.toString()).exists());
+        assertThrows(IOException.class, () -> storage.importFrom(tempDir.resolve("missing.bin").toString()));
+    }
+
+    private static Task withId(Task task, long id) {
+        task.setId(id);
+        return task;
+    }
 }
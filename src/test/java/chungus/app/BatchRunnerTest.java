@@ -0,0 +1,93 @@
+package chungus.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import chungus.model.TaskList;
+import chungus.storage.Storage;
+import chungus.ui.JsonRenderer;
+import chungus.ui.TextRenderer;
+
+public class BatchRunnerTest {
+    private Path tempFile;
+    private Storage storage;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        tempFile = Files.createTempFile("chungus-batch", ".txt");
+        storage = new Storage(tempFile.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(tempFile);
+        Files.deleteIfExists(Path.of(tempFile + ".journal"));
+    }
+
+    private BatchRunner.Summary run(String script, boolean quiet, StringWriter out) throws IOException {
+        BatchRunner runner = new BatchRunner(new TaskList(storage.load()), storage,
+                new TextRenderer("\n", Integer.MAX_VALUE), quiet, 0, message -> { });
+        return runner.run(new BufferedReader(new StringReader(script)), out);
+    }
+
+    @Test
+    public void run_executesScriptWithoutBannersAndSavesOnce() throws IOException {
+        StringWriter out = new StringWriter();
+        BatchRunner.Summary summary = run("todo read book\n\nmark 1\nmark 5\ntodo write report\n", false, out);
+
+        assertEquals(4, summary.commands());
+        assertEquals(1, summary.failures());
+        assertEquals(2, summary.tasks());
+        assertTrue(out.toString().contains("Nice! I've marked this task as done:"));
+        assertTrue(out.toString().contains("OOPS!!! Invalid task number"));
+        assertFalse(out.toString().contains("____"));
+        assertFalse(Files.exists(Path.of(tempFile + ".journal")));
+        assertEquals(2, storage.load().size());
+        assertEquals("X", storage.load().get(0).getStatusIcon());
+    }
+
+    @Test
+    public void run_quiet_printsOnlyFailuresAndStopsAtBye() throws IOException {
+        StringWriter out = new StringWriter();
+        BatchRunner.Summary summary = run("todo a\nfind\nbye\ntodo b\n", true, out);
+
+        assertEquals(2, summary.commands());
+        assertEquals(1, summary.tasks());
+        assertEquals("OOPS!!! Please provide a keyword to find." + System.lineSeparator(), out.toString());
+        assertTrue(summary.toString().startsWith("Ran 2 commands (1 failed) in "));
+    }
+
+    @Test
+    public void run_withCheckpoints_savesDuringScript() throws IOException {
+        BatchRunner runner = new BatchRunner(new TaskList(), storage, new JsonRenderer(), false, 2,
+                message -> { });
+        ArrayList<Integer> savedBeforeEachLine = new ArrayList<>();
+        BufferedReader script = new BufferedReader(new StringReader("todo a\ntodo b\ntodo c\n")) {
+            @Override
+            public String readLine() throws IOException {
+                savedBeforeEachLine.add(storage.load().size());
+                return super.readLine();
+            }
+        };
+        StringWriter out = new StringWriter();
+        runner.run(script, out);
+
+        assertEquals(List.of(0, 0, 2, 2), savedBeforeEachLine);
+        assertTrue(out.toString().startsWith("{\"result\":\"added\""));
+        assertEquals(3, storage.load().size());
+    }
+}
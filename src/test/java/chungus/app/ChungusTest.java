@@ -8,11 +8,19 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import chungus.common.Constants;
+import chungus.model.Task;
+import chungus.model.TaskListListener;
+import chungus.ui.JsonRenderer;
+
 public class ChungusTest {
     private Chungus chungus;
     private Path tempFile;
@@ -28,6 +36,7 @@ public class ChungusTest {
         if (Files.exists(tempFile)) {
             Files.delete(tempFile);
         }
+        Files.deleteIfExists(Path.of(tempFile + ".journal"));
     }
 
     @Test
@@ -260,4 +269,262 @@ public class ChungusTest {
         assertTrue(listResponse.contains("submit assignment"));
         assertFalse(listResponse.contains("write report"));
     }
+
+    @Test
+    public void getResponse_withoutBye_changesSurviveRestart() {
+        chungus.getResponse("todo read book");
+        chungus.getResponse("todo write report");
+        chungus.getResponse("mark 2");
+        chungus.getResponse("delete 1");
+
+        // Simulate a crash: a new instance on the same file without calling bye
+        Chungus restarted = new Chungus(tempFile.toString());
+        String listResponse = restarted.getResponse("list");
+        assertTrue(listResponse.contains("1. [T] [X]"));
+        assertTrue(listResponse.contains("write report"));
+        assertFalse(listResponse.contains("read book"));
+    }
+
+    @Test
+    public void getResponse_withBulkCommands_appliesToEverySelectedTask() {
+        for (int i = 1; i <= 6; i++) {
+            chungus.getResponse("todo task " + i + (i % 2 == 0 ? " report" : ""));
+        }
+
+        assertEquals("Nice! I've marked 3 tasks as done.", chungus.getResponse("mark 1,3-4"));
+        assertEquals("Priority set to low for 3 tasks.", chungus.getResponse("priority low find:report"));
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 3 tasks in the list.",
+                chungus.getResponse("delete done"));
+        assertTrue(chungus.getResponse("delete done").contains("No tasks match 'done'."));
+        assertTrue(chungus.getResponse("mark 2-9").contains("between 1 and 3"));
+
+        Chungus restarted = new Chungus(tempFile.toString());
+        String listResponse = restarted.getResponse("list");
+        assertTrue(listResponse.contains("1. [T] [ ] [P:L] task 2 report"), listResponse);
+        assertTrue(listResponse.contains("2. [T] [ ] [P:M] task 5"), listResponse);
+        assertTrue(listResponse.contains("3. [T] [ ] [P:L] task 6 report"), listResponse);
+    }
+
+    @Test
+    public void getResponse_undoAndRedo_reverseWholeCommandsAndSurviveRestart() {
+        for (int i = 1; i <= 5; i++) {
+            chungus.getResponse("todo task " + i);
+        }
+        chungus.getResponse("mark 1");
+        chungus.getResponse("priority 1-2 high");
+        chungus.getResponse("mark 1-3");
+        chungus.getResponse("delete 2,4");
+        String before = chungus.getResponse("list");
+
+        assertEquals("Undone: delete (2 tasks).\nNow you have 5 tasks in the list.", chungus.getResponse("undo"));
+        assertEquals("Undone: mark (3 tasks).\nNow you have 5 tasks in the list.", chungus.getResponse("undo"));
+        String list = chungus.getResponse("list");
+        assertTrue(list.contains("1. [T] [X] [P:H] task 1 (#1)"), list);
+        assertTrue(list.contains("2. [T] [ ] [P:H] task 2 (#2)"), list);
+        assertTrue(list.contains("4. [T] [ ] [P:M] task 4 (#4)"), list);
+
+        assertTrue(chungus.getResponse("redo").startsWith("Redone: mark"));
+        assertTrue(chungus.getResponse("redo").startsWith("Redone: delete"));
+        assertEquals(before, chungus.getResponse("list"));
+        assertEquals("OOPS!!! There is nothing to redo.", chungus.getResponse("redo"));
+
+        chungus.getResponse("undo");
+        chungus.getResponse("undo");
+        chungus.getResponse("undo");
+        chungus.getResponse("todo task 6");
+        assertEquals("OOPS!!! There is nothing to redo.", chungus.getResponse("redo"));
+        chungus.getResponse("undo");
+        chungus.getResponse("redo");
+        list = chungus.getResponse("list");
+
+        Chungus restarted = new Chungus(tempFile.toString());
+        assertEquals(list, restarted.getResponse("list"));
+        assertTrue(list.contains("2. [T] [ ] [P:M] task 2 (#2)"), list);
+        assertTrue(list.contains("6. [T] [ ] [P:M] task 6 (#6)"), list);
+    }
+
+    @Test
+    public void getResponse_undoBeyondHistory_stopsAtOldestKeptChange() {
+        for (int i = 0; i <= Constants.UNDO_HISTORY_SIZE; i++) {
+            chungus.getResponse("todo task " + i);
+        }
+        for (int i = 0; i < Constants.UNDO_HISTORY_SIZE; i++) {
+            assertTrue(chungus.getResponse("undo").startsWith("Undone: todo (1 task)."));
+        }
+        assertEquals("OOPS!!! There is nothing to undo.", chungus.getResponse("undo"));
+        assertTrue(chungus.getResponse("list").contains("1. [T] [ ] [P:M] task 0 (#1)"));
+        assertEquals(1, chungus.getTasks().size());
+    }
+
+    @Test
+    public void getResponse_withTaskIds_keepsReferringToSameTask() {
+        chungus.getResponse("todo read book");
+        chungus.getResponse("todo write report");
+        chungus.getResponse("todo clean room");
+        chungus.getResponse("delete 1");
+
+        String marked = chungus.getResponse("mark #3");
+        assertTrue(marked.contains("[T] [X] [P:M] clean room (#3)"), marked);
+        assertTrue(chungus.getResponse("delete #1").contains("There is no task with ID #1."));
+
+        Chungus restarted = new Chungus(tempFile.toString());
+        String listResponse = restarted.getResponse("list");
+        assertTrue(listResponse.contains("1. [T] [ ] [P:M] write report (#2)"), listResponse);
+        assertTrue(listResponse.contains("2. [T] [X] [P:M] clean room (#3)"), listResponse);
+        assertTrue(restarted.getResponse("todo sleep").contains("sleep (#4)"));
+    }
+
+    @Test
+    public void getResponse_withListFiltersAndDue_showsMatchingTasks() {
+        chungus.getResponse("todo read book");
+        chungus.getResponse("deadline pay rent /by 2026-10-31");
+        chungus.getResponse("deadline file taxes /by 2027-04-30");
+        chungus.getResponse("priority 2-3 high");
+        chungus.getResponse("mark 3");
+
+        String highUndone = chungus.getResponse("list high undone");
+        assertTrue(highUndone.contains("pay rent"), highUndone);
+        assertFalse(highUndone.contains("file taxes"));
+        assertFalse(highUndone.contains("read book"));
+        assertTrue(chungus.getResponse("list done").contains("file taxes"));
+
+        String due = chungus.getResponse("due before 2026-11-01");
+        assertTrue(due.contains("pay rent"), due);
+        assertFalse(due.contains("file taxes"));
+    }
+
+    @Test
+    public void getResponse_overlappingEvents_warnsAndLists() {
+        chungus.getResponse("event conference /from 2026-10-20 /to 2026-10-22");
+        String added = chungus.getResponse("event dentist /from 2026-10-22 /to 2026-10-22");
+        assertTrue(added.contains("Heads up: it overlaps 1 other event:"), added);
+        assertTrue(added.contains("conference"), added);
+        assertFalse(chungus.getResponse("event holiday /from 2026-12-24 /to 2026-12-26").contains("Heads up"));
+
+        String on = chungus.getResponse("on 2026-10-21");
+        assertTrue(on.contains("conference"), on);
+        assertFalse(on.contains("dentist"));
+        String between = chungus.getResponse("between 2026-10-22 2026-12-24");
+        assertTrue(between.contains("dentist") && between.contains("holiday"), between);
+
+        String conflicts = chungus.getResponse("conflicts");
+        assertTrue(conflicts.contains("overlaps [E]"), conflicts);
+        assertFalse(conflicts.contains("holiday"));
+        chungus.getResponse("delete 2");
+        assertEquals("No events overlap.", chungus.getResponse("conflicts"));
+    }
+
+    @Test
+    public void getResponse_exportThenImport_copiesTasks() throws IOException {
+        chungus.getResponse("todo read book");
+        chungus.getResponse("deadline return book /by 2025-12-31");
+        Path exported = Files.createTempFile("chungus-export", ".bin");
+        try {
+            String response = chungus.getResponse("export " + exported);
+            assertTrue(response.contains("Exported 2 tasks"));
+
+            response = chungus.getResponse("import " + exported);
+            assertTrue(response.contains("Imported 2 tasks"));
+            assertTrue(response.contains("Now you have 4 tasks"));
+            assertTrue(chungus.getResponse("list").contains("4. [D] [ ] [P:M] return book (by: Dec 31 2025)"));
+        } finally {
+            Files.deleteIfExists(exported);
+        }
+    }
+
+    @Test
+    public void getResponse_importMissingFile_returnsErrorMessage() {
+        String response = chungus.getResponse("import does/not/exist.txt");
+        assertTrue(response.contains("OOPS!!!"));
+        assertTrue(response.contains("Could not import tasks"));
+    }
+
+    @Test
+    public void getResponse_withFindWordPrefix_matchesWordStarts() {
+        chungus.getResponse("todo write book report");
+        chungus.getResponse("todo prepare slides");
+
+        String response = chungus.getResponse("find rep*");
+        assertTrue(response.contains("1. [T] [ ] [P:M] write book report"));
+        assertFalse(response.contains("prepare slides"));
+    }
+
+    @Test
+    public void getResponse_listOnLongList_returnsOnePageAtATime() {
+        for (int i = 1; i <= 60; i++) {
+            chungus.getResponse("todo task " + i);
+        }
+
+        String firstPage = chungus.getResponse("list");
+        assertTrue(firstPage.contains("50. [T] [ ] [P:M] task 50"));
+        assertFalse(firstPage.contains("51. "));
+        assertTrue(firstPage.contains("Showing tasks 1-50 of 60. Type 'list 2' for more."));
+
+        String secondPage = chungus.getResponse("list 2");
+        assertTrue(secondPage.contains("51. [T] [ ] [P:M] task 51"));
+        assertTrue(secondPage.contains("60. [T] [ ] [P:M] task 60"));
+        assertFalse(secondPage.contains("50. "));
+
+        String range = chungus.getResponse("list --from 55 --limit 3");
+        assertTrue(range.contains("55. [T] [ ] [P:M] task 55"));
+        assertTrue(range.contains("57. [T] [ ] [P:M] task 57"));
+        assertFalse(range.contains("58. "));
+        assertTrue(range.contains("Type 'list --from 58 --limit 3' for more."));
+    }
+
+    @Test
+    public void getResponse_listPagePastEnd_returnsErrorMessage() {
+        chungus.getResponse("todo read book");
+        assertTrue(chungus.getResponse("list 2").contains("There are only 1 tasks in the list."));
+        assertTrue(chungus.getResponse("list two").contains("Invalid list range"));
+    }
+
+    @Test
+    public void getResponseAsync_runsQueuedCommandsInOrderOffCallerThread() throws Exception {
+        ArrayList<String> threads = new ArrayList<>();
+        chungus.getTasks().addListener(new TaskListListener() {
+            @Override
+            public void onAdded(int index, Task task) {
+                threads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public void onRemoved(int index, Task task) {
+            }
+
+            @Override
+            public void onUpdated(int index, Task task) {
+            }
+        });
+
+        CompletableFuture<String> first = chungus.getResponseAsync("todo read book");
+        CompletableFuture<String> second = chungus.getResponseAsync("todo write report");
+        CompletableFuture<String> list = chungus.getResponseAsync("list");
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).contains("Now you have 1 tasks in the list."));
+        assertTrue(second.get(5, TimeUnit.SECONDS).contains("Now you have 2 tasks in the list."));
+        String listResponse = list.get(5, TimeUnit.SECONDS);
+        assertTrue(listResponse.indexOf("1. [T] [ ] [P:M] read book") < listResponse.indexOf("2. [T] [ ] [P:M] write"));
+        assertEquals(2, threads.size());
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void getResponse_withAliasesAndPrefixes_runsFullCommand() {
+        assertTrue(chungus.getResponse("dl return book /by 2025-12-31")
+                .contains("[D] [ ] [P:M] return book (by: Dec 31 2025)"));
+        assertTrue(chungus.getResponse("alias t todo").contains("'t' now stands for 'todo'"));
+        assertTrue(chungus.getResponse("t read book").contains("Now you have 2 tasks in the list."));
+        assertTrue(chungus.getResponse("ma 2").contains("Nice! I've marked this task as done"));
+        assertTrue(chungus.getResponse("alias").contains("t -> todo"));
+    }
+
+    @Test
+    public void getResponse_withJsonRenderer_returnsSameResultAsJson() {
+        JsonRenderer json = new JsonRenderer();
+        assertTrue(chungus.getResponse("todo read book", json).startsWith("{\"result\":\"added\""));
+        assertEquals("{\"result\":\"error\",\"message\":"
+                + "\"Invalid task number. Please enter a number between 1 and 1\"}", chungus.getResponse("mark 2", json));
+        assertTrue(chungus.getResponse("list").contains("1. [T] [ ] [P:M] read book"));
+    }
 }
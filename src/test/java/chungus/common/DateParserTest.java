@@ -0,0 +1,64 @@
+package chungus.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+public class DateParserTest {
+    private static final String[] PATTERNS = {"yyyy-MM-dd", "d/M/yyyy", "d-M-yyyy"};
+
+    @Test
+    public void parse_supportedFormats_returnsDate() {
+        assertEquals(LocalDate.of(2025, 12, 31), DateParser.parse("2025-12-31"));
+        assertEquals(LocalDate.of(2025, 12, 31), DateParser.parse("31/12/2025"));
+        assertEquals(LocalDate.of(2025, 1, 2), DateParser.parse("2/1/2025"));
+        assertEquals(LocalDate.of(2025, 1, 2), DateParser.parse(" 02-01-2025 "));
+    }
+
+    @Test
+    public void parse_notADate_returnsNull() {
+        assertNull(DateParser.parse(null));
+        assertNull(DateParser.parse(""));
+        assertNull(DateParser.parse("tomorrow"));
+        assertNull(DateParser.parse("2pm"));
+        assertNull(DateParser.parse("2025-13-01"));
+        assertNull(DateParser.parse("2025/12/31"));
+        assertNull(DateParser.parse("1/1/25"));
+    }
+
+    @Test
+    public void parse_matchesFormatterSemantics() {
+        String[] inputs = {
+            "2025-02-30", "2025-02-31", "2025-02-32", "31/4/2025", "0000-01-01", "00/1/2025", "001/01/2025",
+            "2025-1-05", "1-1-2025", "29/2/2024", "29/2/2025", "+12345-01-01", "12345-01-01", "1/2-2025",
+            "1-2/2025", "31-12-9999", "9999-12-31", "0001-01-01", "10/10/1000", "1/1/12345", "--", "/", "-1/1/2025",
+            "2025-1-5", "12345", "+12345-13-01", "1/1/+12345"
+        };
+        for (String input : inputs) {
+            assertEquals(parseWithFormatters(input), DateParser.parse(input), input);
+        }
+    }
+
+    @Test
+    public void format_isoAndDisplay() {
+        LocalDate date = LocalDate.of(2025, 1, 3);
+        assertEquals("2025-01-03", DateParser.formatIso(date));
+        assertEquals(date.format(DateTimeFormatter.ofPattern("MMM dd yyyy")), DateParser.formatDisplay(date));
+    }
+
+    private static LocalDate parseWithFormatters(String input) {
+        for (String pattern : PATTERNS) {
+            try {
+                return LocalDate.parse(input.trim(), DateTimeFormatter.ofPattern(pattern));
+            } catch (DateTimeParseException ignored) {
+                // try next
+            }
+        }
+        return null;
+    }
+}
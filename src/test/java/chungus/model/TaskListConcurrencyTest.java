@@ -0,0 +1,167 @@
+package chungus.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs one writer against several readers on the same {@link TaskList} and
+ * checks that every read sees a consistent list.
+ */
+public class TaskListConcurrencyTest {
+    private static final int WRITES = 20_000;
+    private static final int READERS = 3;
+
+    @Test
+    public void readsWhileWriting_alwaysSeeConsistentList() throws InterruptedException {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 500; i++) {
+            taskList.add(newTask(i));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            try {
+                write(taskList);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                writing.set(false);
+            }
+        }));
+        for (int r = 0; r < READERS; r++) {
+            int reader = r;
+            threads.add(new Thread(() -> {
+                try {
+                    while (writing.get() && failure.get() == null) {
+                        read(taskList, reader);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join(60_000);
+            assertFalse(t.isAlive(), "thread did not finish");
+        }
+        assertNull(failure.get(), "concurrent access failed");
+
+        List<Task> finalTasks = taskList.snapshot();
+        assertIncreasingIds(finalTasks);
+        assertEquals(finalTasks, taskList.filter(null, null));
+        for (int i = 0; i < finalTasks.size(); i++) {
+            assertSame(finalTasks.get(i), taskList.getById(finalTasks.get(i).getId()));
+            assertEquals(i, taskList.indexOf(finalTasks.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void snapshot_isSharedUntilNextChange() {
+        TaskList taskList = new TaskList();
+        taskList.add(newTask(0));
+        List<Task> first = taskList.snapshot();
+        assertSame(first, taskList.snapshot());
+
+        taskList.setDone(0, true);
+        assertSame(first, taskList.snapshot());
+        assertTrue(first.get(0).isDone());
+
+        taskList.add(newTask(1));
+        List<Task> second = taskList.snapshot();
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+    }
+
+    private static void write(TaskList taskList) {
+        Random random = new Random(7);
+        for (int i = 0; i < WRITES; i++) {
+            int size = taskList.size();
+            switch (random.nextInt(6)) {
+            case 0:
+                taskList.add(newTask(i));
+                break;
+            case 1:
+                if (size > 100) {
+                    taskList.remove(random.nextInt(size));
+                }
+                break;
+            case 2:
+                if (size > 100) {
+                    int[] indices = {random.nextInt(size / 2), size / 2 + random.nextInt(size / 2)};
+                    List<Task> removed = taskList.remove(indices);
+                    if (random.nextBoolean()) {
+                        taskList.insert(indices, removed);
+                    }
+                }
+                break;
+            case 3:
+                taskList.setDone(new int[] {random.nextInt(size), random.nextInt(size)}, random.nextBoolean());
+                break;
+            default:
+                taskList.setPriority(random.nextInt(size), Priority.values()[random.nextInt(3)]);
+                break;
+            }
+        }
+    }
+
+    private static void read(TaskList taskList, int reader) {
+        switch (reader) {
+        case 0:
+            assertIncreasingIds(taskList.snapshot());
+            int size = taskList.size();
+            try {
+                assertNotNull(taskList.get(size - 1));
+            } catch (IndexOutOfBoundsException e) {
+                // A task was removed after size() returned
+            }
+            break;
+        case 1:
+            assertIncreasingIds(taskList.filter(TaskStatus.DONE, null));
+            assertIncreasingIds(taskList.filter(null, Priority.HIGH));
+            assertIncreasingIds(taskList.findByKeyword("task 1"));
+            break;
+        default:
+            for (Task t : taskList.findEventsBetween(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))) {
+                assertNotNull(taskList.findConflicting((Event) t));
+            }
+            assertIncreasingIds(taskList.findDueBefore(LocalDate.of(2026, 6, 1)));
+            break;
+        }
+    }
+
+    private static Task newTask(int i) {
+        LocalDate date = LocalDate.of(2026, 1, 1).plusDays(i % 365);
+        switch (i % 3) {
+        case 0:
+            return new Todo("task " + i);
+        case 1:
+            return new Deadline("task " + i, date);
+        default:
+            return new Event("task " + i, date, date.plusDays(i % 4));
+        }
+    }
+
+    private static void assertIncreasingIds(List<Task> tasks) {
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(tasks.get(i - 1).getId() < tasks.get(i).getId(), "IDs out of order at " + i);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package chungus.model;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +57,25 @@ public class TaskListTest {
         assertEquals(todo2, list.get(1));
     }
 
+    @Test
+    public void getModCount_changesOnEveryChangeButNotOnReads() {
+        long before = taskList.getModCount();
+        taskList.add(todo1);
+        taskList.add(todo2);
+        long afterAdds = taskList.getModCount();
+        assertTrue(afterAdds > before);
+
+        taskList.filter(TaskStatus.DONE, null);
+        taskList.snapshot();
+        assertEquals(afterAdds, taskList.getModCount());
+
+        taskList.setDone(0, true);
+        long afterMark = taskList.getModCount();
+        assertTrue(afterMark > afterAdds);
+        taskList.setPriority(1, Priority.HIGH);
+        assertTrue(taskList.getModCount() > afterMark);
+    }
+
     @Test
     public void add_addsTaskToList() {
         taskList.add(todo1);
@@ -105,6 +131,256 @@ public class TaskListTest {
         assertThrows(IndexOutOfBoundsException.class, () -> taskList.remove(1));
     }
 
+    @Test
+    public void remove_indices_removesAllInOnePassAndKeepsOrder() {
+        for (int i = 0; i < 10; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+
+        List<Task> removed = taskList.remove(new int[] {0, 3, 4, 5, 9});
+        assertEquals(5, removed.size());
+        assertEquals("task 3", removed.get(1).getDescription());
+        assertEquals(5, taskList.size());
+        assertEquals("task 1", taskList.get(0).getDescription());
+        assertEquals("task 6", taskList.get(2).getDescription());
+        assertEquals("task 8", taskList.get(4).getDescription());
+        assertEquals(1, taskList.findByKeyword("task 8").size());
+        assertEquals(0, taskList.findByKeyword("task 4").size());
+    }
+
+    @Test
+    public void remove_indicesWithIndexesBuilt_keepsQueriesConsistent() throws ChungusException {
+        for (int i = 0; i < 2000; i++) {
+            taskList.add(i % 2 == 0 ? new Todo("report " + i) : new Deadline("report " + i, "2026-10-01"));
+        }
+        assertEquals(2000, taskList.findByKeyword("report").size());
+        assertEquals(2000, taskList.findByWordPrefix("rep").size());
+        assertEquals(1000, taskList.findDueBefore(LocalDate.of(2026, 10, 2)).size());
+        assertEquals(2000, taskList.filter(TaskStatus.NOT_DONE, null).size());
+
+        int[] everyOther = new int[1000];
+        for (int i = 0; i < everyOther.length; i++) {
+            everyOther[i] = 2 * i + 1;
+        }
+        taskList.remove(everyOther);
+
+        assertEquals(1000, taskList.findByKeyword("report").size());
+        assertEquals(1000, taskList.findByWordPrefix("rep").size());
+        assertTrue(taskList.findDueBefore(LocalDate.of(2026, 10, 2)).isEmpty());
+        assertEquals(1000, taskList.filter(TaskStatus.NOT_DONE, null).size());
+        assertTrue(taskList.findByKeyword("report 999").isEmpty());
+        assertEquals(List.of(taskList.get(500)), taskList.findByKeyword("report 1000"));
+
+        int[] everything = new int[taskList.size()];
+        for (int i = 0; i < everything.length; i++) {
+            everything[i] = i;
+        }
+        taskList.remove(everything);
+        assertTrue(taskList.findByKeyword("report").isEmpty());
+        assertTrue(taskList.findByWordPrefix("rep").isEmpty());
+    }
+
+    @Test
+    public void add_assignsIncreasingIdsThatSurviveRemoval() {
+        for (int i = 0; i < 1000; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        taskList.remove(0);
+        int[] everyThird = new int[333];
+        for (int i = 0; i < everyThird.length; i++) {
+            everyThird[i] = 3 * i;
+        }
+        taskList.remove(everyThird);
+
+        assertEquals(666, taskList.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            Task t = taskList.get(i);
+            assertSame(t, taskList.getById(t.getId()));
+            assertEquals(i, taskList.indexOf(t.getId()));
+        }
+        assertNull(taskList.getById(1));
+        assertNull(taskList.getById(2));
+        assertEquals(-1, taskList.indexOf(2));
+        assertEquals("task 2", taskList.get(0).getDescription());
+        assertEquals(3, taskList.get(0).getId());
+
+        Task added = new Todo("new task");
+        taskList.add(added);
+        assertEquals(1001, added.getId());
+    }
+
+    @Test
+    public void constructor_withOutOfOrderIds_reassignsThem() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(deadline1);
+        todo1.setId(5);
+        todo2.setId(5);
+        TaskList list = new TaskList(tasks);
+
+        assertEquals(5, todo1.getId());
+        assertEquals(6, todo2.getId());
+        assertEquals(7, deadline1.getId());
+        assertSame(todo2, list.getById(6));
+    }
+
+    @Test
+    public void filter_afterChanges_matchesLinearScan() throws ChungusException {
+        for (int i = 0; i < 300; i++) {
+            Task t = i % 3 == 0
+                    ? new Deadline("task " + i, LocalDate.of(2026, 1, 1).plusDays(i))
+                    : new Todo("task " + i);
+            t.setPriority(Priority.values()[i % Priority.values().length]);
+            taskList.add(t);
+        }
+        assertEquals(100, taskList.filter(null, Priority.HIGH).size());
+
+        taskList.setDone(new int[] {0, 3, 4, 10, 299}, true);
+        taskList.setPriority(new int[] {4, 5}, Priority.HIGH);
+        taskList.remove(new int[] {3, 6, 7});
+        taskList.remove(0);
+        taskList.add(new Todo("late addition"));
+        taskList.setDone(taskList.size() - 1, true);
+
+        for (TaskStatus status : new TaskStatus[] {null, TaskStatus.DONE, TaskStatus.NOT_DONE}) {
+            for (Priority priority : new Priority[] {null, Priority.HIGH, Priority.MEDIUM, Priority.LOW}) {
+                ArrayList<Task> expected = new ArrayList<>();
+                for (int i = 0; i < taskList.size(); i++) {
+                    Task t = taskList.get(i);
+                    if ((status == null || t.getStatus() == status)
+                            && (priority == null || t.getPriority() == priority)) {
+                        expected.add(t);
+                    }
+                }
+                assertEquals(expected, taskList.filter(status, priority));
+            }
+        }
+        assertEquals(4, taskList.filter(TaskStatus.DONE, null).size());
+    }
+
+    @Test
+    public void indicesOf_afterRemoveAndMark_returnsCurrentPositions() {
+        taskList.add(todo1);
+        taskList.add(todo2);
+        taskList.add(deadline1);
+        taskList.setDone(new int[] {0, 2}, true);
+        taskList.remove(0);
+
+        assertArrayEquals(new int[] {1}, taskList.indicesOf(TaskStatus.DONE));
+        assertArrayEquals(new int[] {0}, taskList.indicesOf(TaskStatus.NOT_DONE));
+    }
+
+    @Test
+    public void findDueBefore_returnsDeadlinesAndEventsInListOrder() throws ChungusException {
+        Task late = new Deadline("late", "2026-12-01");
+        Task early = new Deadline("early", "2026-10-01");
+        Task trip = new Event("trip", "2026-10-30", "2026-11-02");
+        Task later = new Event("later", "2026-11-01", "2026-11-03");
+        taskList.add(late);
+        taskList.add(todo1);
+        taskList.add(early);
+        taskList.add(trip);
+        taskList.add(later);
+
+        assertEquals(List.of(early, trip), taskList.findDueBefore(LocalDate.of(2026, 11, 1)));
+        taskList.remove(2);
+        assertEquals(List.of(trip), taskList.findDueBefore(LocalDate.of(2026, 11, 1)));
+        assertEquals(List.of(late, trip, later), taskList.findDueBefore(LocalDate.of(2027, 1, 1)));
+    }
+
+    @Test
+    public void insert_afterRemove_restoresPositionsIdsAndIndexes() {
+        for (int i = 0; i < 10; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        ArrayList<Task> before = new ArrayList<>(taskList.asArrayList());
+        int[] indices = {0, 4, 5, 9};
+        List<Task> removed = taskList.remove(indices);
+        assertEquals(0, taskList.findByKeyword("task 4").size());
+
+        taskList.insert(indices, removed);
+        assertEquals(before, taskList.asArrayList());
+        assertSame(removed.get(1), taskList.getById(5));
+        assertEquals(9, taskList.indexOf(10));
+        assertEquals(List.of(before.get(4)), taskList.findByKeyword("task 4"));
+        taskList.add(new Todo("next"));
+        assertEquals(11, taskList.get(10).getId());
+    }
+
+    @Test
+    public void findEventsBetween_includesEventsTouchingEitherEnd() throws ChungusException {
+        Event before = new Event("before", "2026-10-01", "2026-10-09");
+        Event touchingStart = new Event("touching start", "2026-10-05", "2026-10-10");
+        Event inside = new Event("inside", "2026-10-12", "2026-10-13");
+        Event touchingEnd = new Event("touching end", "2026-10-15", "2026-10-20");
+        Event spanning = new Event("spanning", "2026-09-01", "2026-12-01");
+        taskList.add(touchingEnd);
+        taskList.add(before);
+        taskList.add(new Deadline("deadline", "2026-10-12"));
+        taskList.add(inside);
+        taskList.add(spanning);
+        taskList.add(touchingStart);
+
+        LocalDate from = LocalDate.of(2026, 10, 10);
+        LocalDate to = LocalDate.of(2026, 10, 15);
+        assertEquals(List.of(spanning, touchingStart, inside, touchingEnd), taskList.findEventsBetween(from, to));
+        assertEquals(List.of(spanning, inside), taskList.findEventsBetween(LocalDate.of(2026, 10, 13),
+                LocalDate.of(2026, 10, 13)));
+        taskList.remove(4);
+        assertEquals(List.of(touchingStart, inside, touchingEnd), taskList.findEventsBetween(from, to));
+    }
+
+    @Test
+    public void findConflicting_afterChanges_matchesLinearScan() {
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 400; i++) {
+            LocalDate from = base.plusDays(random.nextInt(365));
+            taskList.add(new Event("event " + i, from, from.plusDays(random.nextInt(10))));
+            if (i % 7 == 0) {
+                taskList.add(new Todo("todo " + i));
+            }
+            if (i % 5 == 4) {
+                taskList.remove(random.nextInt(taskList.size()));
+            }
+        }
+        taskList.remove(new int[] {1, 2, 3, 50, 51});
+
+        for (int i = 0; i < taskList.size(); i++) {
+            if (!(taskList.get(i) instanceof Event event)) {
+                continue;
+            }
+            List<Task> expected = new ArrayList<>();
+            for (int j = 0; j < taskList.size(); j++) {
+                if (j != i && taskList.get(j) instanceof Event other && overlaps(event, other)) {
+                    expected.add(other);
+                }
+            }
+            List<Task> actual = taskList.findConflicting(event);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+
+        int expectedPairs = 0;
+        for (int i = 0; i < taskList.size(); i++) {
+            for (int j = i + 1; j < taskList.size(); j++) {
+                if (taskList.get(i) instanceof Event a && taskList.get(j) instanceof Event b && overlaps(a, b)) {
+                    expectedPairs++;
+                }
+            }
+        }
+        List<EventConflict> conflicts = taskList.findConflicts();
+        assertEquals(expectedPairs, conflicts.size());
+        for (EventConflict conflict : conflicts) {
+            assertTrue(overlaps(conflict.first(), conflict.second()));
+        }
+    }
+
+    private static boolean overlaps(Event a, Event b) {
+        return !a.getFromDate().isAfter(b.getToDate()) && !b.getFromDate().isAfter(a.getToDate());
+    }
+
     @Test
     public void size_returnsCorrectSize() {
         assertEquals(0, taskList.size());
@@ -209,4 +485,151 @@ public class TaskListTest {
         assertTrue(matches.contains(task1));
         assertTrue(matches.contains(task2));
     }
+
+    @Test
+    public void findByKeyword_afterRemove_doesNotReturnRemovedTask() {
+        Task task1 = new Todo("Read book about Java");
+        Task task2 = new Todo("Write book report");
+        taskList.add(task1);
+        taskList.add(task2);
+
+        taskList.remove(0);
+        ArrayList<Task> matches = taskList.findByKeyword("book");
+        assertEquals(1, matches.size());
+        assertEquals(task2, matches.get(0));
+    }
+
+    @Test
+    public void findByKeyword_substringAcrossWords_returnsMatchingTasks() {
+        taskList.add(new Todo("Write book report"));
+        taskList.add(todo1);
+
+        ArrayList<Task> matches = taskList.findByKeyword("OK REP");
+        assertEquals(1, matches.size());
+        assertEquals("Write book report", matches.get(0).getDescription());
+    }
+
+    @Test
+    public void findByKeyword_matchesLinearScanInListOrder() {
+        String[] words = {"alpha", "beta", "gamma", "delta", "alphabet", "bet"};
+        ArrayList<Task> all = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task t = new Todo(words[i % words.length] + " " + words[(i * 7) % words.length] + " " + i);
+            all.add(t);
+            taskList.add(t);
+        }
+        for (int i = 0; i < 50; i++) {
+            all.remove(taskList.remove(i));
+        }
+
+        for (String keyword : new String[] {"alpha", "bet", "a b", "ta g", "phabet", "1", "99", "zzz"}) {
+            ArrayList<Task> expected = new ArrayList<>();
+            for (Task t : all) {
+                if (t.getDescription().toLowerCase().contains(keyword)) {
+                    expected.add(t);
+                }
+            }
+            assertEquals(expected, taskList.findByKeyword(keyword));
+        }
+    }
+
+    @Test
+    public void findByWordPrefix_matchesWordStartsOnly() {
+        Task task1 = new Todo("Write book report");
+        Task task2 = new Todo("Prepare slides");
+        Task task3 = new Todo("Repair bike");
+        taskList.add(task1);
+        taskList.add(task2);
+        taskList.add(task3);
+
+        ArrayList<Task> matches = taskList.findByWordPrefix("REP");
+        assertEquals(2, matches.size());
+        assertEquals(task1, matches.get(0));
+        assertEquals(task3, matches.get(1));
+        assertTrue(taskList.findByWordPrefix("  ").isEmpty());
+    }
+
+    @Test
+    public void listeners_areNotifiedOfEachChange() {
+        ArrayList<String> events = new ArrayList<>();
+        taskList.addListener(new TaskListListener() {
+            @Override
+            public void onAdded(int index, Task task) {
+                events.add("added " + index + " " + task.getDescription());
+            }
+
+            @Override
+            public void onRemoved(int index, Task task) {
+                events.add("removed " + index + " " + task.getDescription());
+            }
+
+            @Override
+            public void onUpdated(int index, Task task) {
+                events.add("updated " + index + " " + task.getDescription());
+            }
+        });
+
+        taskList.add(todo1);
+        taskList.add(todo2);
+        taskList.setDone(1, true);
+        taskList.setPriority(0, Priority.HIGH);
+        taskList.remove(0);
+
+        assertEquals(5, events.size());
+        assertEquals("added 0 Read book", events.get(0));
+        assertEquals("added 1 Write report", events.get(1));
+        assertEquals("updated 1 Write report", events.get(2));
+        assertEquals("updated 0 Read book", events.get(3));
+        assertEquals("removed 0 Read book", events.get(4));
+        assertEquals("X", todo2.getStatusIcon());
+        assertEquals(Priority.HIGH, todo1.getPriority());
+    }
+
+    @Test
+    public void listeners_getOneCallbackPerBulkChange() {
+        for (int i = 0; i < 6; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        ArrayList<String> events = new ArrayList<>();
+        taskList.addListener(new TaskListListener() {
+            @Override
+            public void onAdded(int index, Task task) {
+                events.add("added " + index);
+            }
+
+            @Override
+            public void onAddedAll(int[] indices, List<Task> tasks) {
+                events.add("added all " + Arrays.toString(indices) + " " + tasks.size());
+            }
+
+            @Override
+            public void onRemoved(int index, Task task) {
+                events.add("removed " + index);
+            }
+
+            @Override
+            public void onRemovedAll(int[] indices, List<Task> tasks) {
+                events.add("removed all " + Arrays.toString(indices));
+            }
+
+            @Override
+            public void onUpdated(int index, Task task) {
+                events.add("updated " + index);
+            }
+
+            @Override
+            public void onUpdatedAll(int[] indices, List<Task> tasks) {
+                events.add("updated all " + Arrays.toString(indices) + " " + tasks.size());
+            }
+        });
+
+        taskList.setDone(new int[] {0, 2, 3}, true);
+        taskList.setPriority(new int[] {1, 5}, Priority.LOW);
+        List<Task> removed = taskList.remove(new int[] {1, 2, 4});
+        taskList.insert(new int[] {1, 2, 4}, removed);
+
+        assertEquals(List.of("updated all [0, 2, 3] 3", "updated all [1, 5] 2", "removed all [1, 2, 4]",
+                "added all [1, 2, 4] 3"), events);
+        assertEquals("task 4", taskList.get(4).getDescription());
+    }
 }
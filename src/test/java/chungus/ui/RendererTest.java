@@ -0,0 +1,72 @@
+package chungus.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chungus.logic.Command;
+import chungus.logic.CommandResult;
+import chungus.model.Deadline;
+import chungus.model.Priority;
+import chungus.model.Task;
+import chungus.model.TaskList;
+import chungus.model.Todo;
+
+public class RendererTest {
+    private static TaskList tasks(int count) {
+        TaskList list = new TaskList();
+        for (int i = 1; i <= count; i++) {
+            list.add(new Todo("task " + i));
+        }
+        return list;
+    }
+
+    @Test
+    public void textRenderer_unspecifiedLimit_showsFirstPage() {
+        String text = new TextRenderer().render(new CommandResult.Listing(tasks(60), 0,
+                Command.ListTasks.UNSPECIFIED));
+        assertTrue(text.contains("50. [T] [ ] [P:M] task 50"));
+        assertFalse(text.contains("51. "));
+        assertTrue(text.contains("Type 'list 2' for more."));
+    }
+
+    @Test
+    public void consoleRenderer_framesTextAndShowsAllTasks() {
+        String nl = System.lineSeparator();
+        String text = new ConsoleRenderer().render(new CommandResult.Listing(tasks(60), 0,
+                Command.ListTasks.UNSPECIFIED));
+        assertTrue(text.contains("60. [T] [ ] [P:M] task 60 (#60)" + nl + "____"));
+        assertTrue(text.endsWith("____" + "\n" + nl));
+
+        String failure = new ConsoleRenderer().render(new CommandResult.Failure("bad"));
+        assertTrue(failure.contains(nl + "OOPS!!! bad" + nl + "____"));
+    }
+
+    @Test
+    public void jsonRenderer_rendersTasksAndEscapesText() {
+        Task deadline = new Deadline("say \"hi\"\\now", LocalDate.of(2025, 12, 31));
+        deadline.markAsDone();
+        deadline.setPriority(Priority.HIGH);
+        assertEquals("{\"result\":\"added\",\"task\":{\"type\":\"deadline\",\"by\":\"2025-12-31\",\"done\":true,"
+                + "\"priority\":\"high\",\"description\":\"say \\\"hi\\\"\\\\now\"},\"size\":4}",
+                new JsonRenderer().render(new CommandResult.Added(deadline, 4, List.of())));
+        assertEquals("{\"result\":\"find\",\"tasks\":[{\"index\":1,\"type\":\"todo\",\"done\":false,"
+                + "\"priority\":\"medium\",\"description\":\"a\\tb\"}]}",
+                new JsonRenderer().render(new CommandResult.Matches(List.of(new Todo("a\tb")))));
+        assertEquals("{\"result\":\"error\",\"message\":\"line\\nbreak\"}",
+                new JsonRenderer().render(new CommandResult.Failure("line\nbreak")));
+    }
+
+    @Test
+    public void jsonRenderer_listingRange_includesTotalAndIndices() {
+        String json = new JsonRenderer().render(new CommandResult.Listing(tasks(5), 3, 10));
+        assertTrue(json.startsWith("{\"result\":\"list\",\"total\":5,\"tasks\":[{\"index\":4,"));
+        assertTrue(json.contains("\"index\":5,"));
+        assertTrue(json.endsWith("\"description\":\"task 5\"}]}"));
+    }
+}
@@ -12,15 +12,18 @@ then
     rm ACTUAL.TXT
 fi
 
+# start from an empty task list
+rm -rf ./data
+
 # compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/chungus/*.java
+if ! javac -encoding UTF-8 -cp ../src/main/java -Xlint:none -d ../bin $(find ../src/main/java/chungus -name '*.java')
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin chungus.Chungus < input.txt > ACTUAL.TXT
+java -classpath ../bin chungus.app.Chungus < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT